@@ -0,0 +1,175 @@
+package com.pacman.effects;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * ある時点のエフェクトの見た目（パーティクル・スコアポップアップ・フェード）を写し取ったもの
+ * EffectManager.captureで書き込み、描画スレッドはEffectManagerに触れずにこれだけを描画する
+ * 配列は使い回し、足りない時だけ広げる
+ */
+public final class EffectFrame {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Font POPUP_FONT = new Font("Arial", Font.BOLD, 14);
+
+    // 描画範囲の計算に使う文字の配置（アンチエイリアスあり）と、はみ出し分の余白
+    private static final FontRenderContext POPUP_CONTEXT = new FontRenderContext(null, true, false);
+    private static final int BOUNDS_PADDING = 2;
+
+    // パーティクル
+    int particleCount;
+    float[] particleX = new float[INITIAL_CAPACITY];
+    float[] particleY = new float[INITIAL_CAPACITY];
+    float[] particlePreviousX = new float[INITIAL_CAPACITY];
+    float[] particlePreviousY = new float[INITIAL_CAPACITY];
+    float[] particleSize = new float[INITIAL_CAPACITY];
+    float[] particleAlpha = new float[INITIAL_CAPACITY];
+    Color[] particleColors = new Color[INITIAL_CAPACITY];
+
+    // スコアポップアップ
+    int popupCount;
+    float[] popupX = new float[INITIAL_CAPACITY];
+    float[] popupY = new float[INITIAL_CAPACITY];
+    float[] popupPreviousY = new float[INITIAL_CAPACITY]; // ポップアップは縦にだけ動く
+    float[] popupAlpha = new float[INITIAL_CAPACITY];
+    String[] popupTexts = new String[INITIAL_CAPACITY];
+    Color[] popupColors = new Color[INITIAL_CAPACITY];
+
+    // 画面全体のフェード（0で透明）
+    float fadeAlpha;
+
+    /**
+     * パーティクルの配列を指定数以上に広げる
+     */
+    void ensureParticleCapacity(int count) {
+        if (particleX.length < count) {
+            int capacity = Math.max(count, particleX.length * 2);
+            particleX = Arrays.copyOf(particleX, capacity);
+            particleY = Arrays.copyOf(particleY, capacity);
+            particlePreviousX = Arrays.copyOf(particlePreviousX, capacity);
+            particlePreviousY = Arrays.copyOf(particlePreviousY, capacity);
+            particleSize = Arrays.copyOf(particleSize, capacity);
+            particleAlpha = Arrays.copyOf(particleAlpha, capacity);
+            particleColors = Arrays.copyOf(particleColors, capacity);
+        }
+    }
+
+    /**
+     * スコアポップアップの配列を指定数以上に広げる
+     */
+    void ensurePopupCapacity(int count) {
+        if (popupX.length < count) {
+            int capacity = Math.max(count, popupX.length * 2);
+            popupX = Arrays.copyOf(popupX, capacity);
+            popupY = Arrays.copyOf(popupY, capacity);
+            popupPreviousY = Arrays.copyOf(popupPreviousY, capacity);
+            popupAlpha = Arrays.copyOf(popupAlpha, capacity);
+            popupTexts = Arrays.copyOf(popupTexts, capacity);
+            popupColors = Arrays.copyOf(popupColors, capacity);
+        }
+    }
+
+    /**
+     * エフェクトの描画（写し取った時点の位置に描く）
+     */
+    public void render(Graphics2D g) {
+        render(g, 1.0f);
+    }
+
+    /**
+     * 前のフレームと写し取った時点の間を補間した位置にエフェクトを描画
+     *
+     * @param alpha 補間の割合（0で前のフレーム、1で写し取った時点）
+     */
+    public void render(Graphics2D g, float alpha) {
+        // パーティクルの描画
+        for (int i = 0; i < particleCount; i++) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, particleAlpha[i]));
+            g.setColor(particleColors[i]);
+            float size = particleSize[i];
+            float x = particlePreviousX[i] + (particleX[i] - particlePreviousX[i]) * alpha;
+            float y = particlePreviousY[i] + (particleY[i] - particlePreviousY[i]) * alpha;
+            g.fillOval((int) (x - size / 2), (int) (y - size / 2), (int) size, (int) size);
+        }
+
+        // スコアポップアップの描画（中央揃え）
+        if (popupCount > 0) {
+            g.setFont(POPUP_FONT);
+            FontMetrics fm = g.getFontMetrics();
+            for (int i = 0; i < popupCount; i++) {
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, popupAlpha[i]));
+                g.setColor(popupColors[i]);
+                int textWidth = fm.stringWidth(popupTexts[i]);
+                float y = popupPreviousY[i] + (popupY[i] - popupPreviousY[i]) * alpha;
+                g.drawString(popupTexts[i], (int) (popupX[i] - textWidth / 2), (int) y);
+            }
+        }
+        g.setComposite(AlphaComposite.SrcOver);
+
+        // フェード効果の描画
+        if (fadeAlpha > 0.0f) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, fadeAlpha));
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, 800, 600); // 画面サイズに応じて調整
+            g.setComposite(AlphaComposite.SrcOver);
+        }
+    }
+
+    /**
+     * パーティクルとスコアポップアップが描かれる範囲（前のフレームと写し取った時点の両方の位置を含む）
+     * フェードは画面全体にかかるため含めない
+     *
+     * @param bounds 範囲を書き込む矩形
+     * @return 描くものがない場合はfalse（boundsは変更しない）
+     */
+    public boolean computeBounds(Rectangle bounds) {
+        if (particleCount == 0 && popupCount == 0) {
+            return false;
+        }
+        float left = Float.MAX_VALUE;
+        float top = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE;
+        float bottom = -Float.MAX_VALUE;
+        for (int i = 0; i < particleCount; i++) {
+            float half = particleSize[i] / 2;
+            left = Math.min(left, Math.min(particleX[i], particlePreviousX[i]) - half);
+            top = Math.min(top, Math.min(particleY[i], particlePreviousY[i]) - half);
+            right = Math.max(right, Math.max(particleX[i], particlePreviousX[i]) + half);
+            bottom = Math.max(bottom, Math.max(particleY[i], particlePreviousY[i]) + half);
+        }
+        for (int i = 0; i < popupCount; i++) {
+            Rectangle2D text = POPUP_FONT.getStringBounds(popupTexts[i], POPUP_CONTEXT);
+            float half = (float) text.getWidth() / 2;
+            left = Math.min(left, popupX[i] - half);
+            right = Math.max(right, popupX[i] + half);
+            top = Math.min(top, Math.min(popupY[i], popupPreviousY[i]) + (float) text.getMinY());
+            bottom = Math.max(bottom, Math.max(popupY[i], popupPreviousY[i]) + (float) text.getMaxY());
+        }
+        int x = (int) Math.floor(left) - BOUNDS_PADDING;
+        int y = (int) Math.floor(top) - BOUNDS_PADDING;
+        bounds.setBounds(x, y, (int) Math.ceil(right) + BOUNDS_PADDING - x, (int) Math.ceil(bottom) + BOUNDS_PADDING - y);
+        return true;
+    }
+
+    /**
+     * 画面全体のフェードの濃さ（0で透明）
+     */
+    public float getFadeAlpha() {
+        return fadeAlpha;
+    }
+
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    public int getPopupCount() {
+        return popupCount;
+    }
+}
@@ -20,11 +20,19 @@ public class EffectManager {
     private boolean fadeOut = false;
     private float fadeSpeed = 0.02f;
 
+    // パーティクルのばらつき用（エフェクトごとに生成しない）
+    // 見た目の演出だけに使う乱数（ゲーム展開を決める乱数系列とは独立）
+    private final Random random = new Random();
+
+    // renderで使う写し（別スレッドで描画する場合はcaptureで各自のEffectFrameへ写す）
+    private EffectFrame renderFrame;
+
     /**
      * エフェクトの基底クラス
      */
     public abstract class Effect {
         protected float x, y;
+        protected float previousX, previousY; // 前のフレームの位置（描画の補間用）
         protected int lifeTime;
         protected int maxLifeTime;
         protected boolean alive = true;
@@ -32,10 +40,20 @@ public class EffectManager {
         public Effect(float x, float y, int lifeTime) {
             this.x = x;
             this.y = y;
+            this.previousX = x;
+            this.previousY = y;
             this.lifeTime = lifeTime;
             this.maxLifeTime = lifeTime;
         }
 
+        /**
+         * 現在の位置を前のフレームの位置として記録（updateの直前に呼ぶ）
+         */
+        void storePreviousPosition() {
+            previousX = x;
+            previousY = y;
+        }
+
         public abstract void update();
 
         public abstract void render(Graphics2D g);
@@ -169,8 +187,6 @@ public class EffectManager {
      * パーティクル爆発エフェクトの生成
      */
     public void createExplosion(float x, float y, Color color, int particleCount) {
-        Random random = new Random();
-
         for (int i = 0; i < particleCount; i++) {
             float angle = (float) (Math.PI * 2 * i / particleCount);
             float speed = 2.0f + random.nextFloat() * 2.0f;
@@ -191,7 +207,6 @@ public class EffectManager {
         createExplosion(x, y, Color.CYAN, 12);
 
         // 追加の白いスパークル
-        Random random = new Random();
         for (int i = 0; i < 6; i++) {
             float vx = (random.nextFloat() - 0.5f) * 4;
             float vy = (random.nextFloat() - 0.5f) * 4 - 2;
@@ -224,7 +239,6 @@ public class EffectManager {
         Color[] colors = { Color.RED, Color.ORANGE, Color.YELLOW,
                 Color.GREEN, Color.CYAN, Color.BLUE, Color.MAGENTA };
 
-        Random random = new Random();
         for (Color color : colors) {
             for (int i = 0; i < 5; i++) {
                 float angle = random.nextFloat() * (float) Math.PI * 2;
@@ -261,14 +275,14 @@ public class EffectManager {
      * エフェクトの更新
      */
     public void update() {
-        // エフェクトの更新と削除
-        Iterator<Effect> iterator = activeEffects.iterator();
-        while (iterator.hasNext()) {
-            Effect effect = iterator.next();
+        // エフェクトの更新と削除（イテレータを生成しないようインデックスで走査）
+        for (int i = 0; i < activeEffects.size(); i++) {
+            Effect effect = activeEffects.get(i);
+            effect.storePreviousPosition();
             effect.update();
 
             if (!effect.isAlive()) {
-                iterator.remove();
+                activeEffects.remove(i--);
                 if (effect instanceof ScorePopup) {
                     scorePopups.remove(effect);
                 } else if (effect instanceof Particle) {
@@ -297,23 +311,53 @@ public class EffectManager {
      * エフェクトの描画
      */
     public void render(Graphics2D g) {
-        // パーティクルの描画
-        for (Particle particle : particles) {
-            particle.render(g);
+        if (renderFrame == null) {
+            renderFrame = new EffectFrame();
         }
+        capture(renderFrame);
+        renderFrame.render(g);
+    }
 
-        // スコアポップアップの描画
-        for (ScorePopup popup : scorePopups) {
-            popup.render(g);
+    /**
+     * 現在のエフェクトの見た目を写し取る（別スレッドで描画するため、更新と同じスレッドから呼ぶ）
+     */
+    public void capture(EffectFrame frame) {
+        int particleCount = particles.size();
+        frame.ensureParticleCapacity(particleCount);
+        for (int i = 0; i < particleCount; i++) {
+            Particle particle = particles.get(i);
+            frame.particleX[i] = particle.x;
+            frame.particleY[i] = particle.y;
+            frame.particlePreviousX[i] = particle.previousX;
+            frame.particlePreviousY[i] = particle.previousY;
+            frame.particleSize[i] = particle.size;
+            frame.particleAlpha[i] = (float) particle.lifeTime / particle.maxLifeTime;
+            frame.particleColors[i] = particle.color;
         }
-
-        // フェード効果の描画
-        if (fadeAlpha > 0.0f) {
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, fadeAlpha));
-            g.setColor(Color.BLACK);
-            g.fillRect(0, 0, 800, 600); // 画面サイズに応じて調整
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        // 前回より減った分の参照を残さない
+        if (particleCount < frame.particleCount) {
+            Arrays.fill(frame.particleColors, particleCount, frame.particleCount, null);
         }
+        frame.particleCount = particleCount;
+
+        int popupCount = scorePopups.size();
+        frame.ensurePopupCapacity(popupCount);
+        for (int i = 0; i < popupCount; i++) {
+            ScorePopup popup = scorePopups.get(i);
+            frame.popupX[i] = popup.x;
+            frame.popupY[i] = popup.y;
+            frame.popupPreviousY[i] = popup.previousY;
+            frame.popupAlpha[i] = (float) popup.lifeTime / popup.maxLifeTime;
+            frame.popupTexts[i] = popup.scoreText;
+            frame.popupColors[i] = popup.color;
+        }
+        if (popupCount < frame.popupCount) {
+            Arrays.fill(frame.popupTexts, popupCount, frame.popupCount, null);
+            Arrays.fill(frame.popupColors, popupCount, frame.popupCount, null);
+        }
+        frame.popupCount = popupCount;
+
+        frame.fadeAlpha = fadeAlpha;
     }
 
     /**
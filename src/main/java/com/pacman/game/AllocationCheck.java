@@ -0,0 +1,91 @@
+package com.pacman.game;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * PLAYING状態の定常ティックがヒープ割り当てを行わないことを確認する回帰チェック
+ * スレッドごとの割り当てバイト数を計測し、予算を超えた場合は終了コード1で終了する
+ *
+ * 実行例: java -cp target/classes com.pacman.game.AllocationCheck [計測ティック数]
+ */
+public final class AllocationCheck {
+    // JITコンパイルを済ませるためのウォームアップティック数
+    private static final int WARMUP_TICKS = 300_000;
+    private static final int DEFAULT_MEASURED_TICKS = 20_000;
+
+    // 許容する1ティックあたりの平均割り当てバイト数
+    private static final double BYTES_PER_TICK_BUDGET = 1.0;
+
+    private static final Direction[] INPUTS = {
+            Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT
+    };
+
+    private AllocationCheck() {
+    }
+
+    public static void main(String[] args) {
+        int measuredTicks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEASURED_TICKS;
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            System.err.println("このJVMではスレッドごとの割り当て計測がサポートされていません");
+            return;
+        }
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        GameEngine engine = new GameEngine(1);
+        Random random = new Random(1);
+
+        // ウォームアップ（状態遷移を含めてすべての経路をコンパイルさせる）
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            driveOneTick(engine, random);
+        }
+
+        // PLAYING状態が続いている区間だけを計測する
+        long allocatedBytes = 0;
+        long ticks = 0;
+        while (ticks < measuredTicks) {
+            if (engine.getState() != GameState.PLAYING) {
+                driveOneTick(engine, random);
+                continue;
+            }
+
+            long before = threadBean.getCurrentThreadAllocatedBytes();
+            int run = 0;
+            while (run < 1000 && engine.getState() == GameState.PLAYING) {
+                engine.input(INPUTS[random.nextInt(INPUTS.length)]);
+                engine.step();
+                run++;
+            }
+            long after = threadBean.getCurrentThreadAllocatedBytes();
+
+            // 区間の途中で状態が変わった場合は遷移処理の割り当てを含むため除外
+            if (engine.getState() == GameState.PLAYING) {
+                allocatedBytes += after - before;
+                ticks += run;
+            }
+        }
+
+        double bytesPerTick = (double) allocatedBytes / ticks;
+        System.out.printf("PLAYING ticks: %d, allocated: %d bytes (%.3f bytes/tick, budget %.3f)%n",
+                ticks, allocatedBytes, bytesPerTick, BYTES_PER_TICK_BUDGET);
+
+        if (bytesPerTick > BYTES_PER_TICK_BUDGET) {
+            System.err.println("割り当て予算を超過しました");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * ランダムな入力で1ティック進める（ゲームオーバー時は新しいゲームを開始）
+     */
+    private static void driveOneTick(GameEngine engine, Random random) {
+        if (engine.isGameOver()) {
+            engine.reset();
+        }
+        engine.input(INPUTS[random.nextInt(INPUTS.length)]);
+        engine.step();
+    }
+}
@@ -0,0 +1,50 @@
+package com.pacman.game;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 独立した複数のヘッドレスゲームを並列に実行するユーティリティ
+ * 各ゲームは個別のコンテキスト（設定スナップショット・統計）を持つため、
+ * 共有状態を持たずにすべてのコアへスケールする
+ */
+public final class BatchSimulation {
+
+    private BatchSimulation() {
+    }
+
+    /**
+     * 共通のForkJoinPoolで複数のゲームを実行
+     *
+     * @param count          実行するゲーム数
+     * @param contextFactory ゲーム番号からコンテキストを作成する関数
+     * @param task           各エンジンを駆動して結果を返す処理
+     * @return ゲーム番号順の結果リスト
+     */
+    public static <R> List<R> run(int count, IntFunction<GameContext> contextFactory,
+            Function<GameEngine, R> task) {
+        return run(ForkJoinPool.commonPool(), count, contextFactory, task);
+    }
+
+    /**
+     * 指定したForkJoinPoolで複数のゲームを実行
+     *
+     * @param pool           実行に使用するプール
+     * @param count          実行するゲーム数
+     * @param contextFactory ゲーム番号からコンテキストを作成する関数
+     * @param task           各エンジンを駆動して結果を返す処理
+     * @return ゲーム番号順の結果リスト
+     */
+    public static <R> List<R> run(ForkJoinPool pool, int count,
+            IntFunction<GameContext> contextFactory, Function<GameEngine, R> task) {
+        return pool.submit(() -> IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> task.apply(new GameEngine(contextFactory.apply(i))))
+                .collect(Collectors.toList()))
+                .join();
+    }
+}
@@ -11,6 +11,9 @@ public enum Direction {
     RIGHT(1, 0),
     NONE(0, 0);
 
+    // 上下左右の4方向（values()の配列コピーを避けるためのキャッシュ）
+    private static final Direction[] CARDINALS = { UP, DOWN, LEFT, RIGHT };
+
     private final int dx;
     private final int dy;
 
@@ -27,6 +30,30 @@ public enum Direction {
         return dy;
     }
 
+    /**
+     * 出口ビットマスク用のビットを取得（NONEは0）
+     */
+    public int getMask() {
+        return this == NONE ? 0 : 1 << ordinal();
+    }
+
+    /**
+     * ビット番号（0〜3）に対応する方向を取得
+     */
+    public static Direction fromIndex(int index) {
+        return CARDINALS[index];
+    }
+
+    /**
+     * ビットマスクの最下位ビットに対応する方向を取得
+     *
+     * @param mask 出口ビットマスク
+     * @return 方向（マスクが0の場合はNONE）
+     */
+    public static Direction fromLowestBit(int mask) {
+        return mask == 0 ? NONE : CARDINALS[Integer.numberOfTrailingZeros(mask)];
+    }
+
     /**
      * 反対方向を取得
      */
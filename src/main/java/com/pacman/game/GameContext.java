@@ -0,0 +1,165 @@
+package com.pacman.game;
+
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.io.IOException;
+
+import com.pacman.model.MazeCache;
+import com.pacman.model.MazeLayout;
+import com.pacman.sound.NullSoundBackend;
+import com.pacman.sound.SoundBackend;
+import com.pacman.sound.SoundManager;
+import com.pacman.util.GameSettings;
+import com.pacman.util.GameStatistics;
+import com.pacman.util.HighScoreManager;
+
+/**
+ * ゲームが使用するマネージャー群をまとめたコンテキスト
+ * プロセス全体のシングルトンに依存せずにゲームを生成できるようにし、
+ * 複数のゲームを同一JVM内で独立して（並列に）動作させるために使用
+ */
+public final class GameContext {
+    private final GameSettings settings;
+    private final GameStatistics statistics;
+    private final HighScoreManager highScoreManager;
+    private final SoundBackend soundBackend;
+    private final boolean headless;
+    private final long seed;
+    private final MazeLayout layout;
+
+    private GameContext(GameSettings settings, GameStatistics statistics,
+            HighScoreManager highScoreManager, SoundBackend soundBackend, boolean headless, long seed,
+            MazeLayout layout) {
+        this.settings = settings;
+        this.statistics = statistics;
+        this.highScoreManager = highScoreManager;
+        this.soundBackend = soundBackend;
+        this.headless = headless;
+        this.seed = seed;
+        this.layout = layout;
+    }
+
+    /**
+     * 通常のゲーム用コンテキスト（共有の設定・統計・ハイスコア・サウンドを使用）
+     * 画面のない環境（java.awt.headless）ではサウンドデバイスを初期化せず、音を鳴らさない
+     */
+    public static GameContext interactive() {
+        GameSettings settings = GameSettings.getInstance();
+        return new GameContext(
+                settings,
+                GameStatistics.getInstance(),
+                HighScoreManager.getInstance(),
+                GraphicsEnvironment.isHeadless() ? NullSoundBackend.INSTANCE : SoundManager.getInstance(),
+                false,
+                System.nanoTime(),
+                loadLayout(settings.getMazeFile()));
+    }
+
+    /**
+     * 設定された迷路ファイルを読み込む（事前計算結果はキャッシュから復元）
+     *
+     * @param path 迷路ファイルのパス（空の場合はオリジナルの迷路）
+     * @return レイアウト（読み込めない場合はオリジナルの迷路）
+     */
+    private static MazeLayout loadLayout(String path) {
+        if (path.isEmpty()) {
+            return MazeLayout.classic();
+        }
+        try {
+            return MazeCache.getInstance().load(new File(path));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("迷路ファイルを読み込めません（オリジナルの迷路を使用します）: " + path + " " + e.getMessage());
+            return MazeLayout.classic();
+        }
+    }
+
+    /**
+     * ヘッドレス用コンテキスト（デフォルト設定、メモリ上の統計・ハイスコア、サウンドなし）
+     */
+    public static GameContext headless() {
+        return headless(GameSettings.createDefaults());
+    }
+
+    /**
+     * ヘッドレス用コンテキスト
+     *
+     * @param settings 使用する設定（スナップショットを取って保持する）
+     */
+    public static GameContext headless(GameSettings settings) {
+        return new GameContext(
+                settings.snapshot(),
+                GameStatistics.createInMemory(),
+                HighScoreManager.createInMemory(),
+                NullSoundBackend.INSTANCE,
+                true,
+                System.nanoTime(),
+                MazeLayout.classic());
+    }
+
+    /**
+     * シードだけを差し替えたコンテキストを作成
+     * 同じシードと同じ入力列からは常に同じゲーム展開が再現される
+     *
+     * @param seed ゲームの乱数シード
+     */
+    public GameContext withSeed(long seed) {
+        return new GameContext(settings, statistics, highScoreManager, soundBackend, headless, seed, layout);
+    }
+
+    /**
+     * 迷路のレイアウトだけを差し替えたコンテキストを作成
+     * リプレイには内容ハッシュしか記録されないため、再生時も同じレイアウトを指定する必要がある
+     *
+     * @param layout 使用する迷路（開始位置・ゴーストハウスなどはレイアウトの位置情報を使用する）
+     */
+    public GameContext withLayout(MazeLayout layout) {
+        return new GameContext(settings, statistics, highScoreManager, soundBackend, headless, seed, layout);
+    }
+
+    /**
+     * 音声出力だけを差し替えたコンテキストを作成
+     * RecordingSoundBackendを指定すると、ヘッドレスのゲームで鳴るはずだった音を確認できる
+     *
+     * @param soundBackend 使用する音声出力
+     */
+    public GameContext withSoundBackend(SoundBackend soundBackend) {
+        return new GameContext(settings, statistics, highScoreManager, soundBackend, headless, seed, layout);
+    }
+
+    // ゲッターメソッド
+    public GameSettings getSettings() {
+        return settings;
+    }
+
+    public GameStatistics getStatistics() {
+        return statistics;
+    }
+
+    public HighScoreManager getHighScoreManager() {
+        return highScoreManager;
+    }
+
+    /**
+     * 音声出力を取得
+     *
+     * @return 音声出力（ヘッドレス時はNullSoundBackend）
+     */
+    public SoundBackend getSoundBackend() {
+        return soundBackend;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public MazeLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * ゲームの乱数シード（ゴーストごとの乱数系列はここから派生する）
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,154 @@
+package com.pacman.game;
+
+import com.pacman.model.Game;
+import com.pacman.model.GameSnapshot;
+
+/**
+ * ヘッドレスで動作する固定タイムステップのシミュレーションエンジン
+ * Swingタイマーや描画、サウンドに依存せず、壁時計と無関係に
+ * 任意の速度でゲームの状態遷移を進める（ボット、回帰テスト、一括解析用）
+ */
+public class GameEngine {
+    private final Game game;
+
+    /**
+     * コンストラクタ（デフォルト設定のヘッドレスなゲームを新規作成）
+     */
+    public GameEngine() {
+        this(GameContext.headless());
+    }
+
+    /**
+     * コンストラクタ（デフォルト設定・指定シードのヘッドレスなゲームを新規作成）
+     *
+     * @param seed ゲームの乱数シード
+     */
+    public GameEngine(long seed) {
+        this(GameContext.headless().withSeed(seed));
+    }
+
+    /**
+     * コンストラクタ（指定したコンテキストでヘッドレスなゲームを新規作成）
+     *
+     * @param context ヘッドレス用のコンテキスト
+     */
+    public GameEngine(GameContext context) {
+        this(new Game(context));
+    }
+
+    /**
+     * 既存のゲームをラップするコンストラクタ
+     *
+     * @param game 駆動するゲーム
+     */
+    public GameEngine(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * 1ティック進め、発行されたイベントを統計などへ反映する
+     */
+    public void step() {
+        game.step();
+        game.dispatchEvents();
+    }
+
+    /**
+     * 指定したティック数だけ進める
+     *
+     * @param ticks 進めるティック数
+     */
+    public void runTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * 指定した状態になるか、最大ティック数に達するまで進める
+     *
+     * @param target   目標の状態
+     * @param maxTicks 最大ティック数
+     * @return 実際に進めたティック数
+     */
+    public int runUntil(GameState target, int maxTicks) {
+        int ticks = 0;
+        while (ticks < maxTicks && game.getState() != target) {
+            step();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    /**
+     * パックマンの方向入力
+     */
+    public void input(Direction direction) {
+        game.handleKeyPress(direction);
+    }
+
+    /**
+     * 一時停止/再開の入力
+     */
+    public void togglePause() {
+        game.togglePause();
+    }
+
+    /**
+     * 新しいゲームに戻す
+     */
+    public void reset() {
+        game.newGame();
+    }
+
+    /**
+     * 指定シードで新しいゲームに戻す
+     *
+     * @param seed ゲームの乱数シード
+     */
+    public void reset(long seed) {
+        game.newGame(seed);
+    }
+
+    /**
+     * 現在の状態のスナップショットを作成
+     */
+    public GameSnapshot snapshot() {
+        return game.createSnapshot();
+    }
+
+    /**
+     * 現在の状態を既存のスナップショットへ上書き保存
+     */
+    public void saveSnapshot(GameSnapshot snapshot) {
+        game.saveSnapshot(snapshot);
+    }
+
+    /**
+     * スナップショットの状態に戻す
+     */
+    public void restore(GameSnapshot snapshot) {
+        game.restoreSnapshot(snapshot);
+    }
+
+    // ゲッターメソッド
+    public Game getGame() {
+        return game;
+    }
+
+    public GameState getState() {
+        return game.getState();
+    }
+
+    public long getTick() {
+        return game.getTickCount();
+    }
+
+    public long getSeed() {
+        return game.getSeed();
+    }
+
+    public boolean isGameOver() {
+        return game.getState() == GameState.GAME_OVER;
+    }
+}
@@ -0,0 +1,166 @@
+package com.pacman.game;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * シミュレーションが発行するゲームイベントのリングバッファ（単一生産者・ロックフリー）
+ * イベントは種類と3つのint引数だけを事前確保した配列へ書き込むため、発行時に割り当ても待機も発生しない
+ * 効果音・エフェクト・統計・UIはそれぞれ自分のカーソルを持ち、都合の良いタイミングで読み出す
+ *
+ * 読み出しが追いつかずに容量を超えたイベントは上書きされ、カーソルは取りこぼした数を数えて先へ進む
+ * （生産者が消費者を待つことはないため、ティックの処理時間と結果は消費側に左右されない）
+ */
+public final class GameEventBuffer {
+    /** ペレットを食べた（a: パワーペレットなら1、b, c: パックマンの固定小数点座標） */
+    public static final int PELLET_EATEN = 1;
+    /** ゴーストを食べた（a: 得点、b, c: ゴーストの固定小数点座標） */
+    public static final int GHOST_EATEN = 2;
+    /** パックマンが捕まった（a: 残りライフ） */
+    public static final int PACMAN_DIED = 3;
+    /** フルーツを取った（a: 得点、b: Fruit.FruitTypeの序数、c: Maze.packTileで詰めた位置） */
+    public static final int FRUIT_COLLECTED = 4;
+    /** 全ペレットを食べた（a: レベル、b, c: パックマンの固定小数点座標） */
+    public static final int LEVEL_CLEAR = 5;
+    /** 次のレベルが始まった（a: 新しいレベル） */
+    public static final int NEXT_LEVEL = 6;
+    /** READY状態が始まった */
+    public static final int READY = 7;
+    /** ゲームオーバー（a: 最終スコア、b: 到達レベル） */
+    public static final int GAME_OVER = 8;
+    /** 効果音（a: SoundManager.SoundTypeの序数） */
+    public static final int SOUND = 9;
+    /** BGMの切り替え（a: SoundManager.SoundTypeの序数、-1は停止） */
+    public static final int BGM = 10;
+    /** サイレンの状態が変わった（a: 食べたペレットの割合（千分率）、b: BlinkyのElroy段階） */
+    public static final int SIREN = 11;
+
+    // 1イベントのint数（種類, a, b, c）
+    private static final int SLOT_SIZE = 4;
+
+    private final int[] slots;
+    private final int mask;
+
+    // 生産者だけが書き換える次の書き込み位置
+    private long writeSequence;
+
+    // 消費者に公開済みの位置（この値未満のイベントは書き込みが完了している）
+    private final AtomicLong published = new AtomicLong();
+
+    /**
+     * イベントを1つずつ受け取るハンドラー（引数はすべてプリミティブのため呼び出しで割り当てなし）
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void onEvent(int type, int a, int b, int c);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param capacity 保持するイベント数（2の累乗）
+     */
+    public GameEventBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("容量は2の累乗である必要があります: " + capacity);
+        }
+        slots = new int[capacity * SLOT_SIZE];
+        mask = capacity - 1;
+    }
+
+    /**
+     * イベントを発行（生産者スレッドからのみ呼び出すこと）
+     */
+    public void publish(int type, int a, int b, int c) {
+        long sequence = writeSequence;
+        int index = (int) (sequence & mask) * SLOT_SIZE;
+        // 前回の公開より先にこのスロットの上書きが見えないようにする（消費者の上書き検出の前提）
+        VarHandle.storeStoreFence();
+        slots[index] = type;
+        slots[index + 1] = a;
+        slots[index + 2] = b;
+        slots[index + 3] = c;
+        writeSequence = sequence + 1;
+        published.lazySet(sequence + 1); // 書き込んだ内容より後に公開される（順序付き書き込み）
+    }
+
+    public void publish(int type) {
+        publish(type, 0, 0, 0);
+    }
+
+    public void publish(int type, int a) {
+        publish(type, a, 0, 0);
+    }
+
+    /**
+     * 現在の書き込み位置から読み始めるカーソルを作成
+     */
+    public Cursor newCursor() {
+        return new Cursor(published.get());
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 1つの消費者の読み出し位置（カーソルごとに1つのスレッドから使用すること）
+     */
+    public final class Cursor {
+        private long sequence;
+        private long droppedCount;
+
+        private Cursor(long sequence) {
+            this.sequence = sequence;
+        }
+
+        /**
+         * 公開済みのイベントをすべて読み出す
+         *
+         * @return 読み出したイベント数
+         */
+        public int drain(Handler handler) {
+            long end = published.get();
+            int count = 0;
+            while (sequence < end) {
+                if (end - sequence > mask + 1) {
+                    // 追い越されたイベントは読み飛ばす
+                    droppedCount += end - sequence - (mask + 1);
+                    sequence = end - (mask + 1);
+                }
+                int index = (int) (sequence & mask) * SLOT_SIZE;
+                int type = slots[index];
+                int a = slots[index + 1];
+                int b = slots[index + 2];
+                int c = slots[index + 3];
+                // スロットの読み出しを公開位置の再読み込みより前に確定させる
+                VarHandle.acquireFence();
+                // 読んでいる間に生産者が同じ位置へ書き込み始めていれば、内容は壊れている可能性がある
+                end = published.get();
+                if (end - sequence >= mask + 1) {
+                    droppedCount++;
+                    sequence++;
+                    continue;
+                }
+                sequence++;
+                count++;
+                handler.onEvent(type, a, b, c);
+            }
+            return count;
+        }
+
+        /**
+         * 未読のイベントを読まずに捨てる
+         */
+        public void skipAll() {
+            sequence = published.get();
+        }
+
+        /**
+         * 読み出しが追いつかずに失われたイベント数
+         */
+        public long getDroppedCount() {
+            return droppedCount;
+        }
+    }
+}
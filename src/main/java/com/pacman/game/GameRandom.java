@@ -0,0 +1,86 @@
+package com.pacman.game;
+
+/**
+ * シミュレーション用の決定的な乱数生成器（SplitMix64）
+ * 同じシードからは常に同じ系列を生成し、split()で独立した子系列を派生できる
+ * 内部状態は1つのlong値のみのため、スナップショットやリプレイで保存・復元できる
+ * スレッドセーフではない（ゲームインスタンスごと・エンティティごとに分けて使用する）
+ */
+public final class GameRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * コンストラクタ
+     *
+     * @param seed シード値
+     */
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * 次の64ビット乱数
+     */
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * 0以上bound未満の乱数
+     *
+     * @param bound 上限（正の値）
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        // 上位32ビットを範囲へ写像（除算を使わず偏りも十分小さい）
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * 配列に並べた状態の1つを進めて、0以上bound未満の乱数を得る
+     * 大量のエンティティの乱数状態をオブジェクトを作らずにlong配列で保持する場合に使用する
+     * （同じ状態から始めればGameRandomのnextInt()と同じ系列になる）
+     *
+     * @param states 状態の配列
+     * @param index  使用する状態の位置
+     * @param bound  上限（正の値）
+     */
+    public static int nextInt(long[] states, int index, int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        long value = mix(states[index] += GOLDEN_GAMMA);
+        return (int) (((value >>> 32) * bound) >>> 32);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * この系列から独立した子系列を派生させる
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    /**
+     * 内部状態を取得（スナップショット用）
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * 内部状態を復元（スナップショット用）
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
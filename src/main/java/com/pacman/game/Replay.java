@@ -0,0 +1,227 @@
+package com.pacman.game;
+
+import java.io.*;
+import java.util.Arrays;
+
+import com.pacman.model.MazeLayout;
+import com.pacman.util.GameSettings;
+
+/**
+ * 1ゲーム分の入力記録（リプレイ）
+ * シード・難易度・ゴーストAI・スウォーム数・迷路の内容ハッシュと、ティック番号付きの入力列だけを保持する
+ * シミュレーションは決定的なため、同じ迷路でこれを同じ順序で再投入すればゲーム展開が完全に再現される
+ * 迷路そのものは含まないため、再生時は内容ハッシュが一致するレイアウトを指定する
+ *
+ * ファイル形式（ビッグエンディアン）:
+ * マジック(4) バージョン(1) シード(8) 難易度(1) ゴーストAI(1) スウォーム数(4) 迷路の内容ハッシュ(8)
+ * 総ティック数(4) 入力数(4)
+ * （バージョン1にはゴーストAIがなくARCADE、バージョン2以前にはスウォーム数がなく0、
+ * バージョン3以前には内容ハッシュがなくオリジナルの迷路として扱う）
+ * 入力ごとに 可変長整数((前の入力からのティック差 << 3) | 入力コード)
+ */
+public final class Replay {
+    // ファイル識別子 "PMRP"
+    private static final int MAGIC = 0x504D5250;
+    private static final int VERSION = 4;
+
+    /** 入力コード: 0〜4はDirectionの序数、5は一時停止の切り替え */
+    public static final int CODE_PAUSE = 5;
+    private static final int CODE_BITS = 3;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final long seed;
+    private final GameSettings.Difficulty difficulty;
+    private final GameSettings.GhostAI ghostAI;
+    private final int swarmSize;
+    private final long layoutHash;
+    private final int totalTicks;
+    private final int[] ticks; // ゲーム開始からのティック番号（昇順）
+    private final byte[] codes;
+
+    Replay(long seed, GameSettings.Difficulty difficulty, GameSettings.GhostAI ghostAI, int swarmSize,
+            long layoutHash, int totalTicks, int[] ticks, byte[] codes, int count) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.ghostAI = ghostAI;
+        this.swarmSize = swarmSize;
+        this.layoutHash = layoutHash;
+        this.totalTicks = totalTicks;
+        this.ticks = Arrays.copyOf(ticks, count);
+        this.codes = Arrays.copyOf(codes, count);
+    }
+
+    /**
+     * 入力コードに対応する方向を取得
+     */
+    static Direction directionOf(int code) {
+        return DIRECTIONS[code];
+    }
+
+    /**
+     * リプレイをストリームへ書き出す
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeLong(seed);
+        data.writeByte(difficulty.ordinal());
+        data.writeByte(ghostAI.ordinal());
+        data.writeInt(swarmSize);
+        data.writeLong(layoutHash);
+        data.writeInt(totalTicks);
+        data.writeInt(ticks.length);
+
+        int previousTick = 0;
+        for (int i = 0; i < ticks.length; i++) {
+            writeVarInt(data, ((ticks[i] - previousTick) << CODE_BITS) | codes[i]);
+            previousTick = ticks[i];
+        }
+        data.flush();
+    }
+
+    /**
+     * ストリームからリプレイを読み込む
+     *
+     * @throws IOException 形式が不正な場合を含む
+     */
+    public static Replay read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("リプレイファイルではありません");
+        }
+        int version = data.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("未対応のリプレイバージョンです: " + version);
+        }
+        long seed = data.readLong();
+        int difficultyIndex = data.readUnsignedByte();
+        GameSettings.Difficulty[] difficulties = GameSettings.Difficulty.values();
+        if (difficultyIndex >= difficulties.length) {
+            throw new IOException("不正な難易度です: " + difficultyIndex);
+        }
+        GameSettings.GhostAI ghostAI = GameSettings.GhostAI.ARCADE;
+        if (version >= 2) {
+            int aiIndex = data.readUnsignedByte();
+            GameSettings.GhostAI[] modes = GameSettings.GhostAI.values();
+            if (aiIndex >= modes.length) {
+                throw new IOException("不正なゴーストAIモードです: " + aiIndex);
+            }
+            ghostAI = modes[aiIndex];
+        }
+        int swarmSize = version >= 3 ? data.readInt() : 0;
+        long layoutHash = version >= 4 ? data.readLong() : MazeLayout.classic().getContentHash();
+        int totalTicks = data.readInt();
+        int count = data.readInt();
+        if (count < 0 || totalTicks < 0 || swarmSize < 0) {
+            throw new IOException("不正なリプレイヘッダーです");
+        }
+
+        int[] ticks = new int[count];
+        byte[] codes = new byte[count];
+        int tick = 0;
+        for (int i = 0; i < count; i++) {
+            int value = readVarInt(data);
+            int code = value & ((1 << CODE_BITS) - 1);
+            if (code > CODE_PAUSE) {
+                throw new IOException("不正な入力コードです: " + code);
+            }
+            tick += value >>> CODE_BITS;
+            ticks[i] = tick;
+            codes[i] = (byte) code;
+        }
+        return new Replay(seed, difficulties[difficultyIndex], ghostAI, swarmSize, layoutHash, totalTicks, ticks, codes,
+                count);
+    }
+
+    /**
+     * ファイルへ保存
+     */
+    public void save(File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(out);
+        }
+    }
+
+    /**
+     * ファイルから読み込み
+     */
+    public static Replay load(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("可変長整数が長すぎます");
+    }
+
+    // ゲッターメソッド
+    public long getSeed() {
+        return seed;
+    }
+
+    public GameSettings.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public GameSettings.GhostAI getGhostAI() {
+        return ghostAI;
+    }
+
+    /**
+     * スウォームモードのゴースト数（0は無効）
+     */
+    public int getSwarmSize() {
+        return swarmSize;
+    }
+
+    /**
+     * 記録した迷路の内容ハッシュ（MazeLayout.getContentHash）
+     */
+    public long getLayoutHash() {
+        return layoutHash;
+    }
+
+    /**
+     * 記録したティック数（再生はこのティック数で終了する）
+     */
+    public int getTotalTicks() {
+        return totalTicks;
+    }
+
+    public int getInputCount() {
+        return ticks.length;
+    }
+
+    /**
+     * 指定番号の入力のティック番号（ゲーム開始から）
+     */
+    public int getInputTick(int index) {
+        return ticks[index];
+    }
+
+    /**
+     * 指定番号の入力コード
+     */
+    public int getInputCode(int index) {
+        return codes[index];
+    }
+}
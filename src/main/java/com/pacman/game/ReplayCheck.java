@@ -0,0 +1,179 @@
+package com.pacman.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import com.pacman.model.Game;
+import com.pacman.model.GameSnapshot;
+import com.pacman.model.Ghost;
+import com.pacman.model.Maze;
+import com.pacman.model.MazeGenerator;
+import com.pacman.model.MazeLayout;
+
+/**
+ * 記録したリプレイをReplayPlayerで再生すると、記録時と同じ状態になることを確認する回帰チェック
+ * 1つのエンジンで新しいゲームを何度か始め直しながら、ゲームごとにランダムな入力と一時停止を記録し、
+ * ファイル形式へ書き出して読み戻したリプレイの再生結果を記録時の状態と比べる
+ * 生成した迷路で記録したリプレイは、同じ迷路では一致し、オリジナルの迷路では再生を拒否されることも確認する
+ * スナップショットで巻き戻した後のリプレイが一致することと、違う迷路のスナップショットを拒否することも確認する
+ * 一致しないゲームがあった場合は終了コード1で終了する
+ *
+ * 実行例: java -cp target/classes com.pacman.game.ReplayCheck [ゲーム数] [1ゲームのティック数]
+ */
+public final class ReplayCheck {
+    private static final int DEFAULT_GAMES = 3;
+    private static final int DEFAULT_TICKS = 3_000;
+
+    // 方向入力と一時停止の間隔（ティック）
+    private static final int INPUT_INTERVAL = 17;
+    private static final int PAUSE_INTERVAL = 700;
+    private static final int PAUSE_TICKS = 40;
+
+    // 巻き戻しの確認でスナップショットを保存するティックと、巻き戻した後に進めるティック数
+    private static final int REWIND_SAVE_TICK = 800;
+    private static final int REWIND_TICKS = 600;
+
+    private static final Direction[] INPUTS = {
+            Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT
+    };
+
+    private ReplayCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+
+        GameEngine engine = new GameEngine(42);
+        engine.getGame().setReplayRecorder(new ReplayRecorder());
+        Random random = new Random(1);
+
+        int mismatches = 0;
+        for (int i = 0; i < games; i++) {
+            // 2ゲーム目以降は前のゲームのティック数が残った状態から始め直す
+            if (i > 0) {
+                engine.reset();
+            }
+            for (int tick = 0; tick < ticks; tick++) {
+                drive(engine, random, tick);
+            }
+            if (!verify("game " + i, engine.getGame(), MazeLayout.classic())) {
+                mismatches++;
+            }
+        }
+
+        // オリジナル以外の迷路
+        MazeLayout generated = new MazeGenerator(Maze.WIDTH, Maze.HEIGHT).generate(1);
+        GameEngine custom = new GameEngine(GameContext.headless().withLayout(generated).withSeed(42));
+        custom.getGame().setReplayRecorder(new ReplayRecorder());
+        for (int tick = 0; tick < ticks; tick++) {
+            drive(custom, random, tick);
+        }
+        if (!verify("generated maze", custom.getGame(), generated)) {
+            mismatches++;
+        }
+        try {
+            new ReplayPlayer(roundTrip(custom.getGame().getReplay()));
+            System.out.println("generated maze on classic: accepted, MISMATCH");
+            mismatches++;
+        } catch (IllegalArgumentException e) {
+            System.out.println("generated maze on classic: rejected, ok");
+        }
+
+        // 途中で保存したスナップショットへ巻き戻してから別の入力で進める
+        GameEngine rewound = new GameEngine(7);
+        rewound.getGame().setReplayRecorder(new ReplayRecorder());
+        GameSnapshot snapshot = null;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick == REWIND_SAVE_TICK) {
+                snapshot = rewound.snapshot();
+            }
+            drive(rewound, random, tick);
+        }
+        rewound.restore(snapshot);
+        for (int tick = REWIND_SAVE_TICK; tick < REWIND_SAVE_TICK + REWIND_TICKS; tick++) {
+            drive(rewound, random, tick);
+        }
+        if (!verify("rewound", rewound.getGame(), MazeLayout.classic())) {
+            mismatches++;
+        }
+        try {
+            rewound.restore(custom.snapshot());
+            System.out.println("generated maze snapshot on classic: accepted, MISMATCH");
+            mismatches++;
+        } catch (IllegalArgumentException e) {
+            System.out.println("generated maze snapshot on classic: rejected, ok");
+        }
+
+        if (mismatches > 0) {
+            System.err.println("リプレイの再生結果が記録時の状態と一致しません（" + mismatches + "件）");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * ゲームのここまでのリプレイを書き出して読み戻し、指定した迷路で再生した結果を記録時の状態と比べる
+     *
+     * @return 一致した場合true
+     */
+    private static boolean verify(String label, Game recorded, MazeLayout layout) throws IOException {
+        Replay replay = roundTrip(recorded.getReplay());
+        ReplayPlayer player = new ReplayPlayer(replay, layout);
+        player.playToEnd();
+
+        Game played = player.getEngine().getGame();
+        boolean matched = stateHash(recorded) == stateHash(played);
+        System.out.printf("%s: seed %d, ticks %d, inputs %d, score %d/%d, state %s/%s, %s%n",
+                label, replay.getSeed(), replay.getTotalTicks(), replay.getInputCount(),
+                recorded.getScore(), played.getScore(), recorded.getState(), played.getState(),
+                matched ? "ok" : "MISMATCH");
+        return matched;
+    }
+
+    /**
+     * 1ティック分の入力を与えて進める（ゲームオーバー後は画面版のタイマーと同じく進めない）
+     */
+    private static void drive(GameEngine engine, Random random, int tick) {
+        if (engine.isGameOver()) {
+            return;
+        }
+        if (tick % INPUT_INTERVAL == 0) {
+            engine.input(INPUTS[random.nextInt(INPUTS.length)]);
+        }
+        int phase = tick % PAUSE_INTERVAL;
+        if ((phase == PAUSE_INTERVAL - PAUSE_TICKS || phase == 0) && tick > 0
+                && (engine.getState() == GameState.PLAYING || engine.getState() == GameState.PAUSED)) {
+            engine.togglePause();
+        }
+        engine.step();
+    }
+
+    /**
+     * リプレイをファイル形式へ書き出して読み戻す
+     */
+    private static Replay roundTrip(Replay replay) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        replay.write(out);
+        return Replay.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    /**
+     * 比較に使うゲームの状態（ティック数・状態・スコア・残機・全キャラクターの位置）のハッシュ
+     */
+    private static long stateHash(Game game) {
+        long hash = game.getTickCount();
+        hash = hash * 31 + game.getState().ordinal();
+        hash = hash * 31 + game.getScore();
+        hash = hash * 31 + game.getLevel();
+        hash = hash * 31 + game.getPacman().getLives();
+        hash = hash * 31 + game.getPacman().getFixedX();
+        hash = hash * 31 + game.getPacman().getFixedY();
+        for (Ghost ghost : game.getGhosts()) {
+            hash = hash * 31 + ghost.getFixedX();
+            hash = hash * 31 + ghost.getFixedY();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,178 @@
+package com.pacman.game;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.pacman.model.Game;
+import com.pacman.model.MazeCache;
+import com.pacman.model.MazeLayout;
+import com.pacman.util.GameSettings;
+
+/**
+ * リプレイをヘッドレスのシミュレーションで再生するプレイヤー
+ * 最大速度での再生（回帰確認・解析用）と、実時間での再生の両方に対応する
+ *
+ * 実行例: java -cp target/classes com.pacman.game.ReplayPlayer replay.pmr [--realtime] [--maze 迷路ファイル]
+ */
+public class ReplayPlayer {
+    private final Replay replay;
+    private final GameEngine engine;
+    private int nextInput;
+
+    /**
+     * コンストラクタ（オリジナルの迷路で記録したリプレイを再生）
+     *
+     * @param replay 再生するリプレイ
+     * @throws IllegalArgumentException リプレイがオリジナル以外の迷路で記録されている場合
+     */
+    public ReplayPlayer(Replay replay) {
+        this(replay, MazeLayout.classic());
+    }
+
+    /**
+     * コンストラクタ（リプレイのシード・難易度・ゴーストAI・スウォーム数と指定した迷路で新しいヘッドレスなゲームを作成）
+     *
+     * @param replay 再生するリプレイ
+     * @param layout 記録時と同じ迷路
+     * @throws IllegalArgumentException 迷路の内容ハッシュがリプレイの記録と一致しない場合
+     */
+    public ReplayPlayer(Replay replay, MazeLayout layout) {
+        if (layout.getContentHash() != replay.getLayoutHash()) {
+            // 別の迷路では入力列が同じでも展開が変わり、記録と無関係な結果になる
+            throw new IllegalArgumentException("リプレイを記録した迷路と一致しません（記録時の迷路ファイルを指定してください）");
+        }
+        this.replay = replay;
+
+        GameSettings settings = GameSettings.createDefaults();
+        settings.setDifficulty(replay.getDifficulty());
+        settings.setGhostAI(replay.getGhostAI());
+        settings.setSwarmSize(replay.getSwarmSize());
+        this.engine = new GameEngine(GameContext.headless(settings).withLayout(layout).withSeed(replay.getSeed()));
+    }
+
+    /**
+     * 1ティック再生する（そのティックの入力を適用してから進める）
+     *
+     * @return まだ続きがある場合true
+     */
+    public boolean step() {
+        if (isFinished()) {
+            return false;
+        }
+
+        long tick = engine.getTick();
+        while (nextInput < replay.getInputCount() && replay.getInputTick(nextInput) == tick) {
+            int code = replay.getInputCode(nextInput++);
+            if (code == Replay.CODE_PAUSE) {
+                engine.togglePause();
+            } else {
+                engine.input(Replay.directionOf(code));
+            }
+        }
+
+        engine.step();
+        return !isFinished();
+    }
+
+    /**
+     * 最大速度で最後まで再生
+     */
+    public void playToEnd() {
+        while (step()) {
+            // 記録されたティック数に達するまで進める
+        }
+    }
+
+    /**
+     * 実時間（1ティック = Game.GAME_SPEED）で最後まで再生
+     *
+     * @param onTick 各ティックの後に呼ばれる処理（描画の更新など、不要ならnull）
+     */
+    public void playRealTime(Runnable onTick) throws InterruptedException {
+        long tickNanos = Game.GAME_SPEED * 1_000_000L;
+        long nextTickTime = System.nanoTime();
+        while (step()) {
+            if (onTick != null) {
+                onTick.run();
+            }
+            // 処理時間の揺らぎが蓄積しないよう、開始時刻からの予定時刻に合わせて待つ
+            nextTickTime += tickNanos;
+            long wait = nextTickTime - System.nanoTime();
+            if (wait > 0) {
+                Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+            }
+        }
+    }
+
+    public boolean isFinished() {
+        return engine.getTick() >= replay.getTotalTicks();
+    }
+
+    // ゲッターメソッド
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /**
+     * リプレイファイルを再生し、結果を表示する
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("使い方: ReplayPlayer <リプレイファイル> [--realtime] [--maze 迷路ファイル]");
+            System.exit(2);
+        }
+        boolean realTime = false;
+        String mazePath = null;
+        for (int i = 1; i < args.length; i++) {
+            if ("--realtime".equals(args[i])) {
+                realTime = true;
+            } else if ("--maze".equals(args[i]) && i + 1 < args.length) {
+                mazePath = args[++i];
+            } else {
+                System.err.println("不明な引数です: " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        Replay replay;
+        MazeLayout layout;
+        try {
+            replay = Replay.load(new File(args[0]));
+            layout = mazePath != null ? MazeCache.getInstance().load(new File(mazePath)) : MazeLayout.classic();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("リプレイ読み込みエラー: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        ReplayPlayer player;
+        try {
+            player = new ReplayPlayer(replay, layout);
+        } catch (IllegalArgumentException e) {
+            System.err.println("リプレイ再生エラー: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        long startTime = System.nanoTime();
+        try {
+            if (realTime) {
+                player.playRealTime(null);
+            } else {
+                player.playToEnd();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - startTime);
+
+        GameEngine engine = player.getEngine();
+        System.out.printf("ticks=%d inputs=%d state=%s score=%d level=%d (%.0f ticks/s)%n",
+                engine.getTick(), replay.getInputCount(), engine.getState(),
+                engine.getGame().getScore(), engine.getGame().getLevel(),
+                engine.getTick() * 1e9 / elapsed);
+    }
+}
@@ -0,0 +1,123 @@
+package com.pacman.game;
+
+import java.util.Arrays;
+
+import com.pacman.util.GameSettings;
+
+/**
+ * ゲームへの入力をティック番号付きで記録するレコーダー
+ * Gameに設定すると、ゲーム開始ごとに記録をやり直し、方向入力と一時停止を記録する
+ * 入力はプリミティブ配列に追記するため、記録中もオブジェクトを生成しない（配列拡張時を除く）
+ */
+public class ReplayRecorder {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long seed;
+    private GameSettings.Difficulty difficulty = GameSettings.Difficulty.NORMAL;
+    private GameSettings.GhostAI ghostAI = GameSettings.GhostAI.ARCADE;
+    private int swarmSize;
+    private long layoutHash;
+    private long startTick;
+
+    private int[] ticks = new int[INITIAL_CAPACITY];
+    private byte[] codes = new byte[INITIAL_CAPACITY];
+    private int count;
+
+    // 記録がゲーム開始から途切れていないか（違うゲームの時点へ巻き戻すと途切れる）
+    private boolean complete = true;
+
+    /**
+     * 新しいゲームの記録を開始（それまでの記録は破棄）
+     *
+     * @param seed       ゲームの乱数シード
+     * @param difficulty ゲームの難易度
+     * @param ghostAI    ゴーストAIモード
+     * @param swarmSize  スウォームモードのゴースト数（0は無効）
+     * @param layoutHash 迷路の内容ハッシュ（MazeLayout.getContentHash）
+     * @param startTick  ゲーム開始時点のティック数
+     */
+    public void begin(long seed, GameSettings.Difficulty difficulty, GameSettings.GhostAI ghostAI,
+            int swarmSize, long layoutHash, long startTick) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.ghostAI = ghostAI;
+        this.swarmSize = swarmSize;
+        this.layoutHash = layoutHash;
+        this.startTick = startTick;
+        this.count = 0;
+        this.complete = true;
+    }
+
+    /**
+     * 方向入力を記録
+     *
+     * @param tick      入力時点のティック数（次のstep()の前に適用される）
+     * @param direction 入力された方向
+     */
+    public void recordDirection(long tick, Direction direction) {
+        append(tick, direction.ordinal());
+    }
+
+    /**
+     * 一時停止の切り替えを記録
+     */
+    public void recordPause(long tick) {
+        append(tick, Replay.CODE_PAUSE);
+    }
+
+    /**
+     * スナップショットを保存した時点まで記録を巻き戻す（それ以降の入力を破棄）
+     * 記録中のゲームの時点でない場合は巻き戻せないため、次のbegin()まで記録を途切れたものとして扱う
+     *
+     * @param seed      巻き戻し先のゲームの乱数シード
+     * @param startTick 巻き戻し先のゲームの開始時点のティック数
+     * @param count     巻き戻し先の時点までの入力数
+     * @return 巻き戻せた場合true
+     */
+    public boolean rewind(long seed, long startTick, int count) {
+        if (!complete || seed != this.seed || startTick != this.startTick || count < 0 || count > this.count) {
+            complete = false;
+            return false;
+        }
+        this.count = count;
+        return true;
+    }
+
+    private void append(long tick, int code) {
+        if (!complete) {
+            return;
+        }
+        if (count == ticks.length) {
+            ticks = Arrays.copyOf(ticks, count * 2);
+            codes = Arrays.copyOf(codes, count * 2);
+        }
+        ticks[count] = (int) (tick - startTick);
+        codes[count] = (byte) code;
+        count++;
+    }
+
+    /**
+     * ここまでの記録をリプレイとして取り出す
+     *
+     * @param currentTick 現在のティック数（再生の終了位置になる）
+     * @throws IllegalStateException 記録が途切れている場合（isComplete()がfalse）
+     */
+    public Replay toReplay(long currentTick) {
+        if (!complete) {
+            throw new IllegalStateException("記録が途中で途切れているため、リプレイを作成できません");
+        }
+        return new Replay(seed, difficulty, ghostAI, swarmSize, layoutHash, (int) (currentTick - startTick), ticks,
+                codes, count);
+    }
+
+    public int getInputCount() {
+        return count;
+    }
+
+    /**
+     * 記録がゲーム開始から途切れていないか
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
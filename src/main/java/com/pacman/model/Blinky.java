@@ -1,7 +1,6 @@
 package com.pacman.model;
 
 import java.awt.Color;
-import java.awt.Point;
 
 import com.pacman.game.Direction;
 
@@ -14,22 +13,13 @@ public class Blinky extends Ghost {
 
     private int elroyDotsLeft1 = 20; // 第1段階高速化のペレット残数
     private int elroyDotsLeft2 = 10; // 第2段階高速化のペレット残数
+    private int elroyStage; // 現在の高速化段階（0: 通常）
 
     public Blinky(int startX, int startY) {
         super("Blinky", Color.RED, startX, startY);
         // Blinkyは最初からゴーストハウスの外にいる（修正：適切な位置に配置）
         this.state = GhostState.SCATTER;
         this.currentDirection = Direction.LEFT; // 初期方向を左に設定
-
-        // 安全な初期位置に配置（ゴーストハウスの真上の通路）
-        if (startY == 14) {
-            // 既に適切な位置にいる場合はそのまま
-            this.y = startY;
-        } else {
-            // ゴーストハウス入口の上に配置
-            this.y = 11; // 迷路の通路部分
-        }
-        this.x = 14; // 中央の通路
     }
 
     /**
@@ -37,8 +27,8 @@ public class Blinky extends Ghost {
      * Blinkyは右上コーナーを目指す
      */
     @Override
-    protected Point getScatterTarget() {
-        return new Point(Maze.WIDTH - 2, 0);
+    protected int getScatterTarget() {
+        return Maze.packTile(mazeWidth - 2, 0);
     }
 
     /**
@@ -46,9 +36,9 @@ public class Blinky extends Ghost {
      * Blinkyは常にパックマンの現在位置を直接狙う
      */
     @Override
-    protected Point getChaseTarget(Pacman pacman) {
+    protected int getChaseTarget(Pacman pacman) {
         // パックマンの現在位置をそのまま目標とする
-        return pacman.getGridPosition();
+        return Maze.packTile(pacman.getGridX(), pacman.getGridY());
     }
 
     /**
@@ -72,13 +62,23 @@ public class Blinky extends Ghost {
 
         if (remainingPellets <= elroyDotsLeft2) {
             // 第2段階：さらに高速
-            speed = NORMAL_SPEED * 1.05;
+            speed = FixedPoint.scale(NORMAL_SPEED, 1.05);
+            elroyStage = 2;
         } else if (remainingPellets <= elroyDotsLeft1) {
             // 第1段階：少し高速
-            speed = NORMAL_SPEED * 1.025;
+            speed = FixedPoint.scale(NORMAL_SPEED, 1.025);
+            elroyStage = 1;
         } else {
             // 通常速度
             speed = NORMAL_SPEED;
+            elroyStage = 0;
         }
     }
+
+    /**
+     * 現在の"Cruise Elroy"段階（0: 通常、1: 第1段階、2: 第2段階）
+     */
+    public int getElroyStage() {
+        return elroyStage;
+    }
 }
\ No newline at end of file
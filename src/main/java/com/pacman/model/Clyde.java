@@ -1,7 +1,6 @@
 package com.pacman.model;
 
 import java.awt.Color;
-import java.awt.Point;
 
 /**
  * Clyde（オレンジゴースト）- "Pokey"
@@ -10,7 +9,7 @@ import java.awt.Point;
  */
 public class Clyde extends Ghost {
 
-    private static final double FLEE_DISTANCE = 8.0; // 逃走を開始する距離
+    private static final int FLEE_DISTANCE = 8; // 逃走を開始する距離
 
     public Clyde(int startX, int startY) {
         super("Clyde", Color.ORANGE, startX, startY);
@@ -21,8 +20,8 @@ public class Clyde extends Ghost {
      * Clydeは左下コーナーを目指す
      */
     @Override
-    protected Point getScatterTarget() {
-        return new Point(0, Maze.HEIGHT - 1);
+    protected int getScatterTarget() {
+        return Maze.packTile(0, mazeHeight - 1); // 左下コーナー
     }
 
     /**
@@ -30,21 +29,17 @@ public class Clyde extends Ghost {
      * パックマンとの距離に応じて行動を変える
      */
     @Override
-    protected Point getChaseTarget(Pacman pacman) {
-        Point pacmanPos = pacman.getGridPosition();
-        Point myPos = getGridPosition();
+    protected int getChaseTarget(Pacman pacman) {
+        int pacmanX = pacman.getGridX();
+        int pacmanY = pacman.getGridY();
 
-        // パックマンとの距離を計算
-        double distance = Math.sqrt(
-                Math.pow(pacmanPos.x - myPos.x, 2) +
-                        Math.pow(pacmanPos.y - myPos.y, 2));
-
-        if (distance < FLEE_DISTANCE) {
+        // パックマンとの距離を判定（経路探索モードでは経路長）
+        if (isWithinDistance(pacmanX, pacmanY, FLEE_DISTANCE)) {
             // 8タイル未満：散開モードの目標（左下コーナー）へ逃げる
             return getScatterTarget();
         } else {
             // 8タイル以上：パックマンを直接追跡
-            return pacmanPos;
+            return Maze.packTile(pacmanX, pacmanY);
         }
     }
 
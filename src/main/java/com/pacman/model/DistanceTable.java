@@ -0,0 +1,302 @@
+package com.pacman.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * ゴーストが通れる全タイル間の最短経路長テーブル（トンネル考慮）
+ * 分岐点グラフ上で分岐点間の最短経路長だけを事前計算し、通路上のタイルは
+ * 通路の両端の分岐点までのタイル数を足して求める
+ * 経路探索型のゴーストAIが平方根などの計算なしに定数時間で距離を引けるようにする
+ * 28×31の迷路では分岐点数の2乗分のshort配列（数KB）とタイルごとのint配列になる
+ * 大きさが分岐点数の2乗で増えるため、構築するのはsupports()を満たす迷路に限る
+ */
+public final class DistanceTable {
+    /** 到達できない場合の距離 */
+    public static final int UNREACHABLE = Short.MAX_VALUE;
+
+    /** 構築する最大の分岐点数（距離配列は最大32MB） */
+    public static final int MAX_NODES = 4096;
+
+    /** 構築する最大の迷路の面積（タイル数） */
+    public static final int MAX_TILES = 256 * 256;
+
+    private final int width;
+    private final int height;
+
+    private final JunctionGraph junctions;
+    private final int nodeCount;
+    private final short[] distances; // [始点分岐点 * 分岐点数 + 終点分岐点]
+
+    // タイルごとの分岐点グラフ上の位置（通路番号 << 16 | 通路の始点の分岐点からのタイル数）
+    // 分岐点自身は 分岐点 * 4 << 16、壁や迷路端のタイルは直線距離で最も近い通行可能タイルと同じ値（迷路外の目標を扱うため）
+    private final int[] position;
+
+    /**
+     * 指定レイアウトの距離テーブルを構築できるか（大きな迷路ではメモリと構築時間が過大になる）
+     */
+    static boolean supports(MazeLayout layout) {
+        return layout.getWidth() * layout.getHeight() <= MAX_TILES
+                && layout.getOpenTileCount() < UNREACHABLE
+                && layout.getJunctionGraph().getJunctionCount() <= MAX_NODES;
+    }
+
+    /**
+     * レイアウトから距離テーブルを構築
+     */
+    DistanceTable(MazeLayout layout) {
+        width = layout.getWidth();
+        height = layout.getHeight();
+        junctions = layout.getJunctionGraph();
+        MazeGraph graph = layout.getGraph();
+        int count = junctions.getJunctionCount();
+        nodeCount = count;
+
+        // 各分岐点から通路長を重みとしてダイクストラ法で探索
+        distances = new short[count * count];
+        Arrays.fill(distances, (short) UNREACHABLE);
+        long[] heap = new long[count * 4 + 1]; // 距離 << 32 | 分岐点（更新のたびに追加するため最大で通路数 + 1）
+        for (int source = 0; source < count; source++) {
+            int base = source * count;
+            distances[base + source] = 0;
+            int size = push(heap, 0, source);
+            while (size > 0) {
+                long top = heap[0];
+                size = pop(heap, size);
+                int node = (int) top;
+                int distance = (int) (top >>> 32);
+                if (distance > distances[base + node]) {
+                    continue;
+                }
+                for (int corridor = node * 4; corridor < node * 4 + 4; corridor++) {
+                    int next = junctions.getNeighbor(corridor);
+                    if (next < 0) {
+                        continue;
+                    }
+                    int nextDistance = distance + junctions.getLength(corridor);
+                    if (nextDistance < distances[base + next]) {
+                        distances[base + next] = (short) nextDistance;
+                        size = push(heap, size, (long) nextDistance << 32 | next);
+                    }
+                }
+            }
+        }
+
+        // 分岐点から各方向に通路をたどり、通路上のタイルに位置を記録（両端からたどるため先に記録した方を使う）
+        position = new int[width * height];
+        Arrays.fill(position, -1);
+        for (int j = 0; j < count; j++) {
+            position[junctions.getJunctionTile(j)] = j * 4 << 16;
+        }
+        for (int corridor = 0; corridor < count * 4; corridor++) {
+            if (junctions.getNeighbor(corridor) < 0) {
+                continue;
+            }
+            int tile = junctions.getJunctionTile(corridor >> 2);
+            int dir = corridor & 3;
+            for (int offset = 1; offset < junctions.getLength(corridor); offset++) {
+                tile = junctions.step(tile, dir);
+                if (position[tile] >= 0) {
+                    break;
+                }
+                position[tile] = corridor << 16 | offset;
+                int exits = graph.getGhostExits(tile % width, tile / width);
+                dir = Integer.numberOfTrailingZeros(exits & ~(1 << (dir ^ 1)));
+            }
+        }
+
+        // 壁や迷路端の目標は、直線距離で最も近い通行可能タイルに置き換える
+        int[] nearest = new int[width * height];
+        for (int i = 0; i < position.length; i++) {
+            nearest[i] = position[i] >= 0 ? i : findNearestOpenTile(layout, i % width, i / width);
+        }
+        for (int i = 0; i < position.length; i++) {
+            if (nearest[i] < 0) {
+                throw new IllegalStateException("通行可能なタイルがありません");
+            }
+            position[i] = position[nearest[i]];
+        }
+    }
+
+    /**
+     * キャッシュに保存した内容から復元（分岐点グラフは先に読み込んでおくこと）
+     *
+     * @throws IllegalStateException 内容がレイアウトと一致しない場合
+     */
+    DistanceTable(MazeLayout layout, ByteBuffer data) {
+        width = layout.getWidth();
+        height = layout.getHeight();
+        junctions = layout.getJunctionGraph();
+        nodeCount = data.getInt();
+        if (nodeCount != junctions.getJunctionCount()) {
+            throw new IllegalStateException("距離テーブルの分岐点数が一致しません: " + nodeCount);
+        }
+        distances = new short[nodeCount * nodeCount];
+        position = new int[width * height];
+        data.asShortBuffer().get(distances);
+        data.position(data.position() + distances.length * Short.BYTES);
+        data.asIntBuffer().get(position);
+        data.position(data.position() + position.length * Integer.BYTES);
+    }
+
+    /**
+     * キャッシュへ書き出す（DistanceTable(MazeLayout, ByteBuffer)で読み込める形式）
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(nodeCount);
+        ByteBuffer buffer = ByteBuffer.allocate(distances.length * Short.BYTES);
+        buffer.asShortBuffer().put(distances);
+        out.write(buffer.array());
+        buffer = ByteBuffer.allocate(position.length * Integer.BYTES);
+        buffer.asIntBuffer().put(position);
+        out.write(buffer.array());
+    }
+
+    /**
+     * 直線距離で最も近い通行可能タイル（同じ距離なら行優先で先のタイル）を、近い順に正方形の輪を広げて探す
+     *
+     * @return タイル番号（通行可能なタイルがなければ-1）
+     */
+    private static int findNearestOpenTile(MazeLayout layout, int x, int y) {
+        int width = layout.getWidth();
+        int height = layout.getHeight();
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int maxRadius = Math.max(width, height);
+        // 半径rの輪の上のタイルは直線距離の2乗がr * r以上なので、それが最良値を超えたら打ち切る
+        for (int r = 1; r <= maxRadius && r * r <= bestDistance; r++) {
+            for (int ty = Math.max(0, y - r); ty <= Math.min(height - 1, y + r); ty++) {
+                int stride = ty == y - r || ty == y + r ? 1 : 2 * r;
+                for (int tx = x - r; tx <= x + r; tx += stride) {
+                    if (tx < 0 || tx >= width || layout.getTile(tx, ty) == Maze.WALL) {
+                        continue;
+                    }
+                    int distance = (tx - x) * (tx - x) + (ty - y) * (ty - y);
+                    int tile = ty * width + tx;
+                    if (distance < bestDistance || (distance == bestDistance && tile < best)) {
+                        best = tile;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 2つのタイル間の最短経路長
+     * トンネルを抜けた座標は反対側へ折り返し、目標が迷路外・壁の場合は最も近い通行可能タイルまでの距離を返す
+     *
+     * @return 経路長（到達できない場合はUNREACHABLE）
+     */
+    public int getDistance(int fromX, int fromY, int toX, int toY) {
+        int from = position[tileIndex(Math.floorMod(fromX, width), Math.floorMod(fromY, height))];
+        int to = position[tileIndex(toX, toY)];
+        int fromCorridor = from >>> 16;
+        int fromOffset = from & 0xFFFF;
+
+        // 同じ通路上ならそのまま通路を進む
+        int best = fromCorridor == to >>> 16 ? Math.abs(fromOffset - (to & 0xFFFF)) : UNREACHABLE;
+
+        // 通路のどちらかの端の分岐点を経由する
+        best = Math.min(best, fromOffset + getDistanceFromJunction(fromCorridor >> 2, to));
+        if (fromOffset != 0) {
+            int end = junctions.getNeighbor(fromCorridor);
+            if (end >= 0) {
+                best = Math.min(best, junctions.getLength(fromCorridor) - fromOffset
+                        + getDistanceFromJunction(end, to));
+            }
+        }
+        return Math.min(best, UNREACHABLE);
+    }
+
+    /**
+     * 分岐点から、位置（positionの値）で指定したタイルまでの最短経路長
+     *
+     * @return 経路長（到達できない場合はUNREACHABLE以上）
+     */
+    private int getDistanceFromJunction(int junction, int to) {
+        int corridor = to >>> 16;
+        int offset = to & 0xFFFF;
+        int base = junction * nodeCount;
+        int best = distances[base + (corridor >> 2)] + offset;
+        if (offset != 0) {
+            int end = junctions.getNeighbor(corridor);
+            if (end >= 0) {
+                best = Math.min(best, distances[base + end] + junctions.getLength(corridor) - offset);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 迷路外の座標を端に寄せたタイル番号
+     */
+    private int tileIndex(int x, int y) {
+        int cx = Math.max(0, Math.min(width - 1, x));
+        int cy = Math.max(0, Math.min(height - 1, y));
+        return cy * width + cx;
+    }
+
+    /**
+     * 二分ヒープへ追加
+     *
+     * @return 追加後の要素数
+     */
+    private static int push(long[] heap, int size, long value) {
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        return size + 1;
+    }
+
+    /**
+     * 二分ヒープの先頭（最小値）を取り除く
+     *
+     * @return 取り除いた後の要素数
+     */
+    private static int pop(long[] heap, int size) {
+        size--;
+        long last = heap[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return size;
+    }
+
+    /**
+     * 分岐点数
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * テーブルのメモリ使用量（バイト）
+     */
+    public int getSizeInBytes() {
+        return distances.length * Short.BYTES + position.length * Integer.BYTES;
+    }
+}
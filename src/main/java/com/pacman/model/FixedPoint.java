@@ -0,0 +1,92 @@
+package com.pacman.model;
+
+import com.pacman.game.Direction;
+
+/**
+ * エンティティ座標の固定小数点表現（1タイル = 256単位）
+ * 座標値がONEの倍数のときタイルの中心にいる
+ * 整数演算のみで移動を計算するため、プラットフォームに依存せず結果が再現できる
+ */
+public final class FixedPoint {
+    /** 1タイルあたりの単位数 */
+    public static final int ONE = 256;
+
+    /** 半タイル */
+    public static final int HALF = ONE / 2;
+
+    private static final int SHIFT = 8;
+    private static final int MASK = ONE - 1;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * タイル座標（中心）を固定小数点座標に変換
+     */
+    public static int fromTile(int tile) {
+        return tile << SHIFT;
+    }
+
+    /**
+     * 固定小数点座標を最も近いタイル座標に変換（半タイル境界は正方向へ丸める）
+     */
+    public static int toTile(int value) {
+        return (value + HALF) >> SHIFT;
+    }
+
+    /**
+     * 最も近いタイル中心に丸める
+     */
+    public static int snap(int value) {
+        return fromTile(toTile(value));
+    }
+
+    /**
+     * 描画用にタイル単位の実数へ変換
+     */
+    public static double toDouble(int value) {
+        return value / (double) ONE;
+    }
+
+    /**
+     * 速度などに倍率を掛けて整数に丸める
+     */
+    public static int scale(int value, double factor) {
+        return (int) Math.round(value * factor);
+    }
+
+    /**
+     * 進行方向に沿って次のタイル中心までの距離（中心にいる場合は0）
+     */
+    public static int distanceToCenter(int x, int y, Direction direction) {
+        switch (direction) {
+            case LEFT:
+                return x & MASK;
+            case RIGHT:
+                return -x & MASK;
+            case UP:
+                return y & MASK;
+            case DOWN:
+                return -y & MASK;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * トンネルを抜けた座標を反対側へ折り返す（横方向・縦方向共通）
+     *
+     * @param value 固定小数点の座標
+     * @param size  その方向の迷路の大きさ（タイル数）
+     */
+    public static int wrap(int value, int size) {
+        int span = fromTile(size);
+        if (value < -HALF) {
+            return value + span;
+        }
+        if (value >= span - HALF) {
+            return value - span;
+        }
+        return value;
+    }
+}
@@ -63,6 +63,15 @@ public class Fruit {
         this.animationTimer = 0; // animationOffsetからanimationTimerに変更
     }
 
+    /**
+     * 出現前の状態に戻す
+     */
+    public void reset() {
+        this.visible = false;
+        this.displayTimer = 0;
+        this.animationTimer = 0;
+    }
+
     /**
      * フルーツを出現させる
      * 
@@ -131,54 +140,69 @@ public class Fruit {
      * フルーツの描画
      */
     public void render(Graphics2D g, int tileSize) {
-        if (!visible)
+        if (!isShown())
             return;
 
-        // animationOffsetをsin波で計算
-        float animationOffset = (float) Math.sin(animationTimer) * 3;
-
         int screenX = x * tileSize + tileSize / 2;
-        int screenY = (int) (y * tileSize + tileSize / 2 + animationOffset);
+        int screenY = (int) (y * tileSize + tileSize / 2 + getAnimationOffset());
+        drawShape(g, type, screenX, screenY, tileSize);
+    }
 
+    /**
+     * 表示中で、点滅で消えているタイミングでもないか
+     */
+    public boolean isShown() {
         // 点滅効果（残り時間が少ない時）
-        if (displayTimer < 120 && (displayTimer / 10) % 2 == 0) {
-            return; // 点滅のため描画をスキップ
-        }
+        return visible && !(displayTimer < 120 && (displayTimer / 10) % 2 == 0);
+    }
 
-        // フルーツの形を描画（簡略化したシンボル）
+    /**
+     * 上下に揺れる量（ピクセル）
+     */
+    public float getAnimationOffset() {
+        return (float) Math.sin(animationTimer) * 3;
+    }
+
+    /**
+     * フルーツの形を描画（簡略化したシンボル）
+     *
+     * @param x 中心（ピクセル）
+     * @param y 中心（ピクセル）
+     */
+    public static void drawShape(Graphics2D g, FruitType type, int x, int y, int tileSize) {
         g.setColor(type.getColor());
 
         switch (type) {
             case CHERRY:
-                drawCherry(g, screenX, screenY, tileSize);
+                drawCherry(g, x, y, tileSize);
                 break;
             case STRAWBERRY:
-                drawStrawberry(g, screenX, screenY, tileSize);
+                drawStrawberry(g, x, y, tileSize);
                 break;
             case ORANGE:
-                drawOrange(g, screenX, screenY, tileSize);
+                drawOrange(g, x, y, tileSize);
                 break;
             case APPLE:
-                drawApple(g, screenX, screenY, tileSize);
+                drawApple(g, x, y, tileSize);
                 break;
             case MELON:
-                drawMelon(g, screenX, screenY, tileSize);
+                drawMelon(g, x, y, tileSize);
                 break;
             case GALAXIAN:
-                drawGalaxian(g, screenX, screenY, tileSize);
+                drawGalaxian(g, x, y, tileSize);
                 break;
             case BELL:
-                drawBell(g, screenX, screenY, tileSize);
+                drawBell(g, x, y, tileSize);
                 break;
             case KEY:
-                drawKey(g, screenX, screenY, tileSize);
+                drawKey(g, x, y, tileSize);
                 break;
         }
     }
 
     // 各フルーツの描画メソッド（簡略化したシンボル）
 
-    private void drawCherry(Graphics2D g, int x, int y, int size) {
+    private static void drawCherry(Graphics2D g, int x, int y, int size) {
         // チェリーの実
         g.fillOval(x - size / 4, y - size / 4, size / 2, size / 2);
         g.fillOval(x + size / 6, y - size / 4, size / 2, size / 2);
@@ -189,7 +213,7 @@ public class Fruit {
         g.drawLine(x + size / 3, y - size / 4, x, y - size / 2);
     }
 
-    private void drawStrawberry(Graphics2D g, int x, int y, int size) {
+    private static void drawStrawberry(Graphics2D g, int x, int y, int size) {
         // イチゴの形（逆三角形）
         int[] xPoints = { x, x - size / 3, x + size / 3 };
         int[] yPoints = { y + size / 3, y - size / 3, y - size / 3 };
@@ -199,18 +223,18 @@ public class Fruit {
         g.fillRect(x - size / 4, y - size / 3 - 3, size / 2, 3);
     }
 
-    private void drawOrange(Graphics2D g, int x, int y, int size) {
+    private static void drawOrange(Graphics2D g, int x, int y, int size) {
         g.fillOval(x - size / 3, y - size / 3, size * 2 / 3, size * 2 / 3);
     }
 
-    private void drawApple(Graphics2D g, int x, int y, int size) {
+    private static void drawApple(Graphics2D g, int x, int y, int size) {
         g.fillOval(x - size / 3, y - size / 3, size * 2 / 3, size * 2 / 3);
         // 茎
         g.setColor(new Color(139, 69, 19));
         g.fillRect(x - 1, y - size / 2, 2, size / 6);
     }
 
-    private void drawMelon(Graphics2D g, int x, int y, int size) {
+    private static void drawMelon(Graphics2D g, int x, int y, int size) {
         g.fillOval(x - size / 3, y - size / 3, size * 2 / 3, size / 2);
         // 縞模様
         g.setColor(g.getColor().darker());
@@ -219,14 +243,14 @@ public class Fruit {
         }
     }
 
-    private void drawGalaxian(Graphics2D g, int x, int y, int size) {
+    private static void drawGalaxian(Graphics2D g, int x, int y, int size) {
         // 宇宙船の形
         int[] xPoints = { x, x - size / 3, x + size / 3 };
         int[] yPoints = { y - size / 3, y + size / 3, y + size / 3 };
         g.fillPolygon(xPoints, yPoints, 3);
     }
 
-    private void drawBell(Graphics2D g, int x, int y, int size) {
+    private static void drawBell(Graphics2D g, int x, int y, int size) {
         // ベルの形
         g.fillArc(x - size / 3, y - size / 3, size * 2 / 3, size * 2 / 3, 0, 180);
         g.fillRect(x - size / 3, y, size * 2 / 3, size / 4);
@@ -234,12 +258,12 @@ public class Fruit {
         g.fillOval(x - size / 12, y + size / 4, size / 6, size / 6);
     }
 
-    private void drawKey(Graphics2D g, int x, int y, int size) {
+    private static void drawKey(Graphics2D g, int x, int y, int size) {
         // 鍵の持ち手
         g.fillOval(x - size / 4, y - size / 3, size / 3, size / 3);
         g.setColor(Color.BLACK);
         g.fillOval(x - size / 6, y - size / 4, size / 6, size / 6);
-        g.setColor(type.getColor());
+        g.setColor(FruitType.KEY.getColor());
         // 鍵の歯
         g.fillRect(x - 2, y - size / 6, 4, size / 2);
         g.fillRect(x - 4, y + size / 4, 8, 4);
@@ -266,6 +290,44 @@ public class Fruit {
         return type.getPoints();
     }
 
+    /**
+     * スナップショットに保存する状態のサイズ（int数）
+     */
+    static final int STATE_SIZE = 6;
+
+    /**
+     * 状態をスナップショットへ書き込む
+     *
+     * @return 次の書き込み位置
+     */
+    int writeState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        data[offset++] = type != null ? type.ordinal() : -1;
+        data[offset++] = x;
+        data[offset++] = y;
+        data[offset++] = visible ? 1 : 0;
+        data[offset++] = displayTimer;
+        data[offset++] = Float.floatToRawIntBits(animationTimer);
+        return offset;
+    }
+
+    /**
+     * スナップショットから状態を復元する
+     *
+     * @return 次の読み込み位置
+     */
+    int readState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        int typeIndex = data[offset++];
+        type = typeIndex >= 0 ? GameSnapshot.FRUIT_TYPES[typeIndex] : null;
+        x = data[offset++];
+        y = data[offset++];
+        visible = data[offset++] != 0;
+        displayTimer = data[offset++];
+        animationTimer = Float.intBitsToFloat(data[offset++]);
+        return offset;
+    }
+
     // ゲッターメソッド
     public boolean isVisible() {
         return visible;
@@ -2,14 +2,24 @@ package com.pacman.model;
 
 import java.awt.Point;
 import java.awt.event.ActionEvent;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.Timer;
 
 import com.pacman.effects.EffectManager;
 import com.pacman.game.Direction;
+import com.pacman.game.GameContext;
+import com.pacman.game.GameEventBuffer;
+import com.pacman.game.GameRandom;
 import com.pacman.game.GameState;
+import com.pacman.game.Replay;
+import com.pacman.game.ReplayRecorder;
+import com.pacman.sound.SirenSynth;
+import com.pacman.sound.SoundBackend;
 import com.pacman.sound.SoundManager;
 import com.pacman.util.GameSettings;
 import com.pacman.util.GameStatistics;
@@ -25,14 +35,19 @@ public class Game {
     private Maze maze;
     private Pacman pacman;
     private List<Ghost> ghosts;
+    private GhostSwarm swarm; // スウォームモードの追加ゴースト（無効時はnull）
     private Fruit fruit;
 
     // マネージャー
-    private SoundManager soundManager;
+    private SoundBackend soundBackend;
     private EffectManager effectManager;
     private HighScoreManager highScoreManager;
     private GameSettings settings;
     private GameStatistics statistics;
+    private GameSettings.Difficulty difficulty;
+    private GameSettings.GhostAI ghostAI;
+    private GameSettings.GhostAI effectiveGhostAI; // 迷路の大きさによる切り替え後に実際に使うAI
+    private int swarmSize;
 
     // ゲーム状態
     private GameState state;
@@ -40,6 +55,21 @@ public class Game {
     private int highScore;
     private int level;
 
+    // 使用する迷路のレイアウト（新しいゲームごとにここから迷路を作る）
+    private final MazeLayout mazeLayout;
+
+    // ヘッドレス実行（Swingタイマー・サウンドなし）
+    private final boolean headless;
+    private long tickCount;
+
+    // 乱数シード（現在のゲームと、次の新しいゲーム用）
+    private long seed;
+    private long nextGameSeed;
+
+    // 入力の記録（リプレイ用、記録しない場合はnull）
+    private ReplayRecorder replayRecorder;
+    private long gameStartTick;
+
     // タイマーとカウンター
     private Timer gameTimer;
     private int stateTimer;
@@ -48,13 +78,18 @@ public class Game {
     private int pelletsEatenThisLevel;
     private int consecutiveGhostsEaten;
 
+    // 最後に通知したサイレンの状態（進行度とElroy段階、変化した時だけイベントを発行する）
+    private int sirenState = -1;
+
     // FPS計測用
     private long lastFrameTime;
     private int frameCount;
     private int currentFPS;
 
     // 定数
-    private static final int GAME_SPEED = 16; // 約60FPS
+    private static final SoundManager.SoundType[] SOUND_TYPES = SoundManager.SoundType.values();
+    private static final Fruit.FruitType[] FRUIT_TYPES = Fruit.FruitType.values();
+    public static final int GAME_SPEED = 16; // 1ティックの長さ（ミリ秒、約60FPS）
     private static final int PELLET_SCORE = 10;
     private static final int POWER_PELLET_SCORE = 50;
     private static final int GHOST_EATEN_BASE_SCORE = 200;
@@ -62,9 +97,24 @@ public class Game {
     private static final int DEATH_ANIMATION_DURATION = 120; // 2秒
     private static final int FRUIT_SPAWN_PELLET_COUNT = 70; // 70個目と170個目で出現
 
+    // スナップショット先頭のゲーム全体の状態のサイズ（int数）
+    private static final int SNAPSHOT_HEADER_SIZE = 22;
+
+    // 直前のゲームのリプレイ保存先（不具合報告の再現用）
+    private static final String LAST_REPLAY_FILE = "pacman_last_replay.pmr";
+
+    // 最短経路AIが使えない迷路での切り替えを通知済みか（一括実行でゲームごとに出さないよう、プロセスで1回だけ表示）
+    private static final AtomicBoolean SHORTEST_PATH_FALLBACK_REPORTED = new AtomicBoolean();
+
     // ゲーム更新リスナー（UIへの通知用）
     private GameUpdateListener updateListener;
 
+    // ティック内で発生した出来事（効果音・エフェクト・統計・UIへの通知はここから読み出して処理する）
+    private static final int EVENT_BUFFER_CAPACITY = 4096;
+    private final GameEventBuffer events = new GameEventBuffer(EVENT_BUFFER_CAPACITY);
+    private final GameEventBuffer.Cursor eventCursor = events.newCursor();
+    private final GameEventBuffer.Handler eventHandler = this::handleEvent;
+
     /**
      * ゲーム更新リスナーインターフェース
      */
@@ -84,18 +134,39 @@ public class Game {
      * コンストラクタ
      */
     public Game() {
+        this(GameContext.interactive());
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param context 使用するマネージャー群。ヘッドレスの場合はSwingタイマー・サウンドを使用せず、
+     *                {@link #step()} の呼び出しでのみゲームを進める
+     */
+    public Game(GameContext context) {
+        this.headless = context.isHeadless();
+        this.seed = context.getSeed();
+        this.mazeLayout = context.getLayout();
+
         // マネージャーの初期化
-        soundManager = SoundManager.getInstance();
         effectManager = new EffectManager();
-        highScoreManager = HighScoreManager.getInstance();
-        settings = GameSettings.getInstance();
-        statistics = GameStatistics.getInstance();
+        highScoreManager = context.getHighScoreManager();
+        settings = context.getSettings();
+        statistics = context.getStatistics();
+        soundBackend = context.getSoundBackend();
 
         // 仮想サウンドの生成（実際のサウンドファイルがない場合）
-        soundManager.generateVirtualSounds();
+        soundBackend.generateVirtualSounds();
+
+        // 通常のゲームでは常に入力を記録し、ゲームオーバー時に保存する
+        if (!headless) {
+            replayRecorder = new ReplayRecorder();
+        }
 
         initializeGame();
-        setupGameTimer();
+        if (!headless) {
+            setupGameTimer();
+        }
     }
 
     /**
@@ -103,14 +174,23 @@ public class Game {
      */
     private void initializeGame() {
         // 迷路の作成
-        maze = new Maze();
+        maze = new Maze(mazeLayout);
 
         // パックマンの作成
         Point pacmanStart = maze.getPacmanStartPosition();
         pacman = new Pacman(pacmanStart.x, pacmanStart.y);
 
-        // 難易度設定の適用
-        GameSettings.Difficulty difficulty = settings.getDifficulty();
+        // 難易度設定の適用（ゲーム中は開始時の値を使用）
+        difficulty = settings.getDifficulty();
+        ghostAI = settings.getGhostAI();
+        swarmSize = settings.getSwarmSize();
+
+        // 入力記録の開始（ティック数はゲームごとに0から数え直し、その時点を記録の基準にする）
+        tickCount = 0;
+        gameStartTick = tickCount;
+        if (replayRecorder != null) {
+            replayRecorder.begin(seed, difficulty, ghostAI, swarmSize, mazeLayout.getContentHash(), gameStartTick);
+        }
         pacman.setLives(difficulty.getStartingLives());
 
         // ゴーストの作成
@@ -120,11 +200,49 @@ public class Game {
         ghosts.add(new Pinky(ghostPositions.get(1).x, ghostPositions.get(1).y));
         ghosts.add(new Inky(ghostPositions.get(2).x, ghostPositions.get(2).y));
         ghosts.add(new Clyde(ghostPositions.get(3).x, ghostPositions.get(3).y));
+        ((Inky) ghosts.get(2)).setBlinky(ghosts.get(0));
+        for (Ghost ghost : ghosts) {
+            ghost.setHouse(maze.getMarkers());
+        }
+
+        // ゴーストごとに独立した乱数系列をシードから派生
+        GameRandom seedRandom = new GameRandom(seed);
+        for (Ghost ghost : ghosts) {
+            ghost.setRandom(seedRandom.split());
+        }
+
+        // ゴーストAIモードの適用（最短経路テーブルはレイアウトごとに共有）
+        DistanceTable distanceTable = ghostAI == GameSettings.GhostAI.SHORTEST_PATH
+                ? maze.getLayout().getDistanceTable()
+                : null;
+        effectiveGhostAI = ghostAI;
+        if (ghostAI == GameSettings.GhostAI.SHORTEST_PATH && distanceTable == null) {
+            effectiveGhostAI = GameSettings.GhostAI.ARCADE;
+            if (SHORTEST_PATH_FALLBACK_REPORTED.compareAndSet(false, true)) {
+                System.err.println("迷路が大きすぎるため最短経路AIは使用できません（アーケードAIで動作します）");
+            }
+        }
+        for (Ghost ghost : ghosts) {
+            ghost.setDistanceTable(distanceTable);
+        }
+        nextGameSeed = seedRandom.nextLong();
+
+        // スウォームモード：開始位置から離れた通路に大量のゴーストを追加
+        swarm = null;
+        if (swarmSize > 0) {
+            swarm = new GhostSwarm(maze, swarmSize, seedRandom.nextLong(), maze.getMarkers().getGhostHouse(),
+                    Maze.packTile(pacmanStart.x, pacmanStart.y));
+            swarm.setDistanceTable(distanceTable);
+            swarm.setParallel(settings.isSwarmParallel());
+        }
 
         // ゴースト速度の調整
         float speedMultiplier = difficulty.getSpeedMultiplier();
         for (Ghost ghost : ghosts) {
-            ghost.speed *= speedMultiplier;
+            ghost.speed = FixedPoint.scale(ghost.speed, speedMultiplier);
+        }
+        if (swarm != null) {
+            swarm.setSpeed(FixedPoint.scale(Ghost.NORMAL_SPEED, speedMultiplier));
         }
 
         // フルーツの作成
@@ -156,7 +274,8 @@ public class Game {
         frameCount = 0;
 
         gameTimer = new Timer(GAME_SPEED, (ActionEvent e) -> {
-            updateGame();
+            step();
+            dispatchEvents();
             updateFPS();
 
             if (updateListener != null) {
@@ -178,15 +297,124 @@ public class Game {
         }
     }
 
+    /**
+     * ゲームを1ティック（約16ms相当）進める
+     * Swingタイマーからも、ヘッドレス実行時の呼び出し側からも同じ状態遷移を通る
+     * ティック内では効果音・エフェクト・統計などを直接呼ばず、イベントを発行するだけにとどめる
+     */
+    public void step() {
+        tickCount++;
+        storePreviousPositions();
+        updateGame();
+    }
+
+    /**
+     * 各エンティティの現在の位置を前のティックの位置として記録（描画時の補間用）
+     * 動かなかったティックでも記録し直し、前のティックの移動を繰り返し補間しないようにする
+     */
+    private void storePreviousPositions() {
+        pacman.storePreviousPosition();
+        for (int i = 0; i < ghosts.size(); i++) {
+            ghosts.get(i).storePreviousPosition();
+        }
+        if (swarm != null) {
+            swarm.storePreviousPositions();
+        }
+    }
+
+    /**
+     * 発行済みのイベントを効果音・エフェクト・統計・UIへ反映し、エフェクトを1フレーム進める
+     * ティックの外（Swingタイマーではstepの直後、ヘッドレス実行ではGameEngine）から呼び出す
+     */
+    public void dispatchEvents() {
+        eventCursor.drain(eventHandler);
+        effectManager.update();
+    }
+
+    /**
+     * 1つのイベントの反映
+     */
+    private void handleEvent(int type, int a, int b, int c) {
+        switch (type) {
+            case GameEventBuffer.PELLET_EATEN:
+                statistics.recordPelletEaten(a != 0);
+                if (a != 0 && isParticleEffectsEnabled()) {
+                    effectManager.createPowerPelletEffect(toScreenX(b), toScreenY(c));
+                }
+                break;
+            case GameEventBuffer.GHOST_EATEN:
+                if (!headless) {
+                    effectManager.addScorePopup(toScreenX(b), toScreenY(c), a);
+                }
+                if (isParticleEffectsEnabled()) {
+                    effectManager.createGhostEatenEffect(toScreenX(b), toScreenY(c));
+                }
+                statistics.recordGhostEaten();
+                break;
+            case GameEventBuffer.PACMAN_DIED:
+                statistics.recordDeath();
+                break;
+            case GameEventBuffer.FRUIT_COLLECTED:
+                if (!headless) {
+                    effectManager.addScorePopup(Maze.tileX(c) * 20, Maze.tileY(c) * 20 + 40, a);
+                }
+                statistics.recordFruitCollected(FRUIT_TYPES[b].getName());
+                break;
+            case GameEventBuffer.LEVEL_CLEAR:
+                if (isParticleEffectsEnabled()) {
+                    // 画面より大きな迷路ではパックマンの位置（表示範囲の中心付近）に出す
+                    MazeLayout layout = maze.getLayout();
+                    boolean fitsScreen = layout.getWidth() <= Maze.WIDTH && layout.getHeight() <= Maze.HEIGHT;
+                    effectManager.createLevelClearEffect(
+                            fitsScreen ? layout.getWidth() * 10 : toScreenX(b),
+                            fitsScreen ? layout.getHeight() * 10 : toScreenY(c));
+                }
+                break;
+            case GameEventBuffer.NEXT_LEVEL:
+                if (updateListener != null) {
+                    updateListener.onLevelComplete();
+                }
+                break;
+            case GameEventBuffer.READY:
+                // 復活・次のレベルでは前の場面のエフェクトを消してからフェードイン
+                effectManager.clear();
+                effectManager.startFadeIn();
+                break;
+            case GameEventBuffer.GAME_OVER:
+                onGameOver(a, b);
+                break;
+            case GameEventBuffer.SOUND:
+                soundBackend.playSound(SOUND_TYPES[a]);
+                break;
+            case GameEventBuffer.SIREN:
+                soundBackend.setSirenProgress(a, b);
+                break;
+            case GameEventBuffer.BGM:
+                if (a < 0) {
+                    soundBackend.stopBGM();
+                } else {
+                    soundBackend.playBGM(SOUND_TYPES[a]);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static float toScreenX(int fixedX) {
+        return (float) (FixedPoint.toDouble(fixedX) * 20);
+    }
+
+    private static float toScreenY(int fixedY) {
+        return (float) (FixedPoint.toDouble(fixedY) * 20 + 40);
+    }
+
     /**
      * ゲームの更新処理（メインゲームループ）
      */
     private void updateGame() {
         stateTimer++;
 
-        // エフェクトの更新（すべての状態で更新）
-        effectManager.update();
-
         switch (state) {
             case READY:
                 handleReadyState();
@@ -215,15 +443,15 @@ public class Game {
     private void handleReadyState() {
         if (stateTimer == 1) {
             // ゲーム開始音
-            soundManager.playSound(SoundManager.SoundType.GAME_START);
-            effectManager.startFadeIn();
+            playSound(SoundManager.SoundType.GAME_START);
+            events.publish(GameEventBuffer.READY);
         }
 
         if (stateTimer >= READY_STATE_DURATION) {
             state = GameState.PLAYING;
             stateTimer = 0;
             // BGM開始
-            soundManager.playBGM(SoundManager.SoundType.SIREN);
+            playBGM(SoundManager.SoundType.SIREN);
         }
     }
 
@@ -242,8 +470,8 @@ public class Game {
             incrementGhostDotCounters();
 
             // 効果音
-            soundManager.playSound(SoundManager.SoundType.PELLET_EAT);
-            statistics.recordPelletEaten(false);
+            playSound(SoundManager.SoundType.PELLET_EAT);
+            events.publish(GameEventBuffer.PELLET_EATEN, 0, pacman.getFixedX(), pacman.getFixedY());
 
             // フルーツ出現チェック
             checkFruitSpawn();
@@ -255,13 +483,8 @@ public class Game {
             incrementGhostDotCounters();
 
             // 効果音とエフェクト
-            soundManager.playSound(SoundManager.SoundType.POWER_PELLET);
-            if (settings.isParticleEffectsEnabled()) {
-                effectManager.createPowerPelletEffect(
-                        (float) (pacman.getX() * 20),
-                        (float) (pacman.getY() * 20 + 40));
-            }
-            statistics.recordPelletEaten(true);
+            playSound(SoundManager.SoundType.POWER_PELLET);
+            events.publish(GameEventBuffer.PELLET_EATEN, 1, pacman.getFixedX(), pacman.getFixedY());
         }
 
         // フルーツの更新と衝突判定
@@ -271,9 +494,13 @@ public class Game {
         updateGhosts();
 
         // Blinkyの速度調整（Elroyモード）
+        int elroyStage = 0;
         if (ghosts.get(0) instanceof Blinky) {
-            ((Blinky) ghosts.get(0)).checkElroyMode(maze.getRemainingPellets());
+            Blinky blinky = (Blinky) ghosts.get(0);
+            blinky.checkElroyMode(maze.getRemainingPellets());
+            elroyStage = blinky.getElroyStage();
         }
+        updateSiren(elroyStage);
 
         // 衝突判定
         checkCollisions();
@@ -285,7 +512,7 @@ public class Game {
                 ghostEatenMultiplier = 1;
                 consecutiveGhostsEaten = 0;
                 // BGMを通常に戻す
-                soundManager.playBGM(SoundManager.SoundType.SIREN);
+                playBGM(SoundManager.SoundType.SIREN);
             }
         }
 
@@ -293,15 +520,11 @@ public class Game {
         if (maze.isAllPelletsConsumed()) {
             state = GameState.LEVEL_CLEAR;
             stateTimer = 0;
-            soundManager.stopBGM();
-            soundManager.playSound(SoundManager.SoundType.LEVEL_CLEAR);
+            stopBGM();
+            playSound(SoundManager.SoundType.LEVEL_CLEAR);
 
             // レベルクリアエフェクト
-            if (settings.isParticleEffectsEnabled()) {
-                effectManager.createLevelClearEffect(
-                        Maze.WIDTH * 10,
-                        Maze.HEIGHT * 10);
-            }
+            events.publish(GameEventBuffer.LEVEL_CLEAR, level, pacman.getFixedX(), pacman.getFixedY());
         }
 
         // ハイスコア更新チェック
@@ -317,8 +540,9 @@ public class Game {
         if ((pelletsEatenThisLevel == FRUIT_SPAWN_PELLET_COUNT ||
                 pelletsEatenThisLevel == FRUIT_SPAWN_PELLET_COUNT * 2) &&
                 !fruit.isVisible()) {
-            // 迷路の中央付近に出現
-            fruit.spawn(level, 14, 19);
+            // 迷路ごとに決まった位置（オリジナルでは中央付近）に出現
+            int tile = maze.getMarkers().getFruit();
+            fruit.spawn(level, Maze.tileX(tile), Maze.tileY(tile));
         }
     }
 
@@ -329,21 +553,15 @@ public class Game {
         fruit.update();
 
         // パワーペレットと同様に、整数に丸めた座標で判定するように修正
-        if (fruit.isVisible() && fruit.checkCollision(
-                (int) Math.round(pacman.getX()),
-                (int) Math.round(pacman.getY()))) {
+        if (fruit.isVisible() && fruit.checkCollision(pacman.getGridX(), pacman.getGridY())) {
 
             int fruitScore = fruit.collect();
             score += fruitScore;
 
             // エフェクトと効果音
-            soundManager.playSound(SoundManager.SoundType.EXTRA_LIFE);
-            effectManager.addScorePopup(
-                    fruit.getX() * 20,
-                    fruit.getY() * 20 + 40,
-                    fruitScore);
-
-            statistics.recordFruitCollected(fruit.getType().getName());
+            playSound(SoundManager.SoundType.EXTRA_LIFE);
+            events.publish(GameEventBuffer.FRUIT_COLLECTED, fruitScore, fruit.getType().ordinal(),
+                    Maze.packTile(fruit.getX(), fruit.getY()));
         }
     }
 
@@ -351,35 +569,34 @@ public class Game {
      * ゴーストの更新処理
      */
     private void updateGhosts() {
-        // Inkyの特殊処理（Blinkyの位置を使用）
+        // InkyはBlinkyの位置を使って目標を計算する（initializeGameで関連付け済み）
         for (int i = 0; i < ghosts.size(); i++) {
             Ghost ghost = ghosts.get(i);
 
-            if (ghost instanceof Inky && ghost.getState() == Ghost.GhostState.CHASE) {
-                // InkyはBlinkyの位置を使って目標を計算
-                Point target = ((Inky) ghost).getChaseTargetWithBlinky(pacman, ghosts.get(0));
-            }
-
             ghost.update(maze, pacman, ghosts);
 
             // 食べられたゴーストがゴーストハウスに到達したかチェック
             if (ghost.getState() == Ghost.GhostState.EATEN) {
-                Point ghostPos = ghost.getGridPosition();
-                if (ghostPos.x == 14 && ghostPos.y == 14) {
+                int house = maze.getMarkers().getGhostHouse();
+                if (ghost.getGridX() == Maze.tileX(house) && ghost.getGridY() == Maze.tileY(house)) {
                     // ゴーストハウスに到達したらリスポーン
                     ghost.state = Ghost.GhostState.EXITING_HOUSE;
-                    ghost.speed = Ghost.NORMAL_SPEED * settings.getDifficulty().getSpeedMultiplier();
+                    ghost.speed = FixedPoint.scale(Ghost.NORMAL_SPEED, difficulty.getSpeedMultiplier());
                 }
             }
         }
+
+        if (swarm != null) {
+            swarm.update(maze, pacman);
+        }
     }
 
     /**
      * ゴーストのドットカウンターを増加
      */
     private void incrementGhostDotCounters() {
-        for (Ghost ghost : ghosts) {
-            ghost.incrementDotCounter();
+        for (int i = 0; i < ghosts.size(); i++) {
+            ghosts.get(i).incrementDotCounter();
         }
     }
 
@@ -391,68 +608,93 @@ public class Game {
         ghostEatenMultiplier = 1;
         consecutiveGhostsEaten = 0;
 
-        for (Ghost ghost : ghosts) {
-            ghost.startFrightened();
+        for (int i = 0; i < ghosts.size(); i++) {
+            ghosts.get(i).startFrightened();
+        }
+        if (swarm != null) {
+            swarm.startFrightened(Ghost.FRIGHTENED_DURATION);
         }
 
         // BGM切り替え
-        soundManager.playBGM(SoundManager.SoundType.POWER_MODE);
+        playBGM(SoundManager.SoundType.POWER_MODE);
     }
 
     /**
      * 衝突判定
      */
     private void checkCollisions() {
-        Point pacmanPos = pacman.getGridPosition();
+        int pacmanX = pacman.getGridX();
+        int pacmanY = pacman.getGridY();
 
-        for (Ghost ghost : ghosts) {
-            Point ghostPos = ghost.getGridPosition();
+        for (int i = 0; i < ghosts.size(); i++) {
+            Ghost ghost = ghosts.get(i);
 
             // 同じグリッドにいるかチェック
-            if (pacmanPos.equals(ghostPos)) {
+            if (ghost.getGridX() == pacmanX && ghost.getGridY() == pacmanY) {
                 if (ghost.getState() == Ghost.GhostState.FRIGHTENED) {
                     // ゴーストを食べる
                     ghost.setEaten();
-                    int ghostScore = GHOST_EATEN_BASE_SCORE * ghostEatenMultiplier;
-                    score += ghostScore;
-                    ghostEatenMultiplier *= 2; // 200, 400, 800, 1600
-                    consecutiveGhostsEaten++;
-
-                    // エフェクトと効果音
-                    soundManager.playSound(SoundManager.SoundType.GHOST_EAT);
-                    effectManager.addScorePopup(
-                            (float) (ghost.getX() * 20),
-                            (float) (ghost.getY() * 20 + 40),
-                            ghostScore);
-
-                    if (settings.isParticleEffectsEnabled()) {
-                        effectManager.createGhostEatenEffect(
-                                (float) (ghost.getX() * 20),
-                                (float) (ghost.getY() * 20 + 40));
-                    }
-
-                    statistics.recordGhostEaten();
-
-                    // 4体連続で食べた場合の実績
-                    if (consecutiveGhostsEaten == 4) {
-                        // Ghost Combo実績のチェック（GameStatistics内で処理）
-                    }
-
+                    onGhostEaten(ghost.getFixedX(), ghost.getFixedY());
                 } else if (ghost.getState() != Ghost.GhostState.EATEN) {
                     // パックマンが捕まった
-                    pacman.die();
-                    state = GameState.PACMAN_DIED;
-                    stateTimer = 0;
-
-                    // 効果音
-                    soundManager.stopBGM();
-                    soundManager.playSound(SoundManager.SoundType.PACMAN_DEATH);
-                    statistics.recordDeath();
+                    onPacmanCaught();
+                }
+            }
+        }
+
+        // スウォームのゴーストはパックマンのいるタイルの占有リストだけを調べる
+        if (swarm != null && state == GameState.PLAYING) {
+            for (int i = swarm.firstAt(pacmanX, pacmanY); i >= 0; i = swarm.nextAt(i)) {
+                byte ghostState = swarm.getState(i);
+                if (ghostState == GhostSwarm.FRIGHTENED) {
+                    swarm.setEaten(i);
+                    onGhostEaten(swarm.getFixedX(i), swarm.getFixedY(i));
+                } else if (ghostState != GhostSwarm.EATEN) {
+                    onPacmanCaught();
+                    break;
                 }
             }
         }
     }
 
+    /**
+     * ゴーストを食べた時の得点・演出
+     *
+     * @param ghostX ゴーストのX座標（固定小数点）
+     * @param ghostY ゴーストのY座標（固定小数点）
+     */
+    private void onGhostEaten(int ghostX, int ghostY) {
+        int ghostScore = GHOST_EATEN_BASE_SCORE * ghostEatenMultiplier;
+        score += ghostScore;
+        if (ghostEatenMultiplier < 8) {
+            ghostEatenMultiplier *= 2; // 200, 400, 800, 1600（スウォームモードでは以降1600のまま）
+        }
+        consecutiveGhostsEaten++;
+
+        // エフェクトと効果音
+        playSound(SoundManager.SoundType.GHOST_EAT);
+        events.publish(GameEventBuffer.GHOST_EATEN, ghostScore, ghostX, ghostY);
+
+        // 4体連続で食べた場合の実績
+        if (consecutiveGhostsEaten == 4) {
+            // Ghost Combo実績のチェック（GameStatistics内で処理）
+        }
+    }
+
+    /**
+     * パックマンがゴーストに捕まった時の処理
+     */
+    private void onPacmanCaught() {
+        pacman.die();
+        state = GameState.PACMAN_DIED;
+        stateTimer = 0;
+
+        // 効果音
+        stopBGM();
+        playSound(SoundManager.SoundType.PACMAN_DEATH);
+        events.publish(GameEventBuffer.PACMAN_DIED, pacman.getLives());
+    }
+
     /**
      * PACMAN_DIED状態の処理
      */
@@ -475,16 +717,28 @@ public class Game {
      */
     private void handleGameOver() {
         state = GameState.GAME_OVER;
-        gameTimer.stop();
-        soundManager.stopBGM();
+        stopBGM();
+        events.publish(GameEventBuffer.GAME_OVER, score, level, 0);
+    }
+
+    /**
+     * ゲームオーバーの反映（統計・ハイスコアの保存、UIへの通知、リプレイの保存）
+     *
+     * @param finalScore 最終スコア
+     * @param finalLevel 到達レベル
+     */
+    private void onGameOver(int finalScore, int finalLevel) {
+        if (gameTimer != null) {
+            gameTimer.stop();
+        }
 
         // 統計の記録
-        statistics.endGameSession(false, score, level);
+        statistics.endGameSession(false, finalScore, finalLevel);
 
         // ハイスコアチェック
-        if (highScoreManager.isHighScore(score)) {
+        if (highScoreManager.isHighScore(finalScore)) {
             String playerName = settings.getPlayerName();
-            int rank = highScoreManager.addScore(playerName, score, level);
+            int rank = highScoreManager.addScore(playerName, finalScore, finalLevel);
 
             if (updateListener != null && rank > 0) {
                 updateListener.onHighScore(rank);
@@ -497,6 +751,24 @@ public class Game {
 
         // フェードアウト効果
         effectManager.startFadeOut();
+
+        if (!headless) {
+            saveLastReplay();
+        }
+    }
+
+    /**
+     * 直前のゲームのリプレイをファイルへ保存
+     */
+    private void saveLastReplay() {
+        if (replayRecorder == null || !replayRecorder.isComplete()) {
+            return;
+        }
+        try {
+            replayRecorder.toReplay(tickCount).save(new File(LAST_REPLAY_FILE));
+        } catch (IOException e) {
+            System.err.println("リプレイ保存エラー: " + e.getMessage());
+        }
     }
 
     /**
@@ -522,12 +794,15 @@ public class Game {
         // ゴースト速度の増加（レベルが上がるごとに少しずつ速くなる）
         float levelSpeedBonus = 1.0f + (level - 1) * 0.02f;
         for (Ghost ghost : ghosts) {
-            ghost.speed = Ghost.NORMAL_SPEED * settings.getDifficulty().getSpeedMultiplier() * levelSpeedBonus;
+            ghost.speed = FixedPoint.scale(Ghost.NORMAL_SPEED,
+                    difficulty.getSpeedMultiplier() * levelSpeedBonus);
         }
-
-        if (updateListener != null) {
-            updateListener.onLevelComplete();
+        if (swarm != null) {
+            swarm.setSpeed(FixedPoint.scale(Ghost.NORMAL_SPEED,
+                    difficulty.getSpeedMultiplier() * levelSpeedBonus));
         }
+
+        events.publish(GameEventBuffer.NEXT_LEVEL, level);
     }
 
     /**
@@ -545,14 +820,13 @@ public class Game {
             Point pos = ghostPositions.get(i);
 
             // 基本位置の設定
-            ghost.x = pos.x;
-            ghost.y = pos.y;
+            ghost.setTilePosition(pos.x, pos.y);
 
             // ゴーストごとの初期設定
             if (i == 0) { // Blinky
-                // Blinkyは最初から外にいて、適切な通路に配置
-                ghost.x = 14;
-                ghost.y = 11; // 安全な通路位置
+                // Blinkyは最初から外にいて、ゴーストハウスの出口に配置
+                int exit = maze.getMarkers().getHouseExit();
+                ghost.setTilePosition(Maze.tileX(exit), Maze.tileY(exit));
                 ghost.state = Ghost.GhostState.SCATTER;
                 ghost.currentDirection = Direction.LEFT;
             } else { // Pinky, Inky, Clyde
@@ -563,20 +837,23 @@ public class Game {
 
             ghost.stateTimer = 0;
             ghost.dotCounter = 0;
-            ghost.speed = Ghost.NORMAL_SPEED * settings.getDifficulty().getSpeedMultiplier();
+            ghost.speed = FixedPoint.scale(Ghost.NORMAL_SPEED, difficulty.getSpeedMultiplier());
+        }
+        if (swarm != null) {
+            swarm.reset();
         }
 
-        // フルーツのリセット
-        fruit = new Fruit();
-
-        // エフェクトのクリア
-        effectManager.clear();
+        // フルーツのリセット（エフェクトは続くREADY状態の開始時に消す）
+        fruit.reset();
     }
 
     /**
      * キー入力の処理
      */
     public void handleKeyPress(Direction direction) {
+        if (replayRecorder != null) {
+            replayRecorder.recordDirection(tickCount, direction);
+        }
         if (state == GameState.PLAYING) {
             pacman.setRequestedDirection(direction);
         }
@@ -586,7 +863,7 @@ public class Game {
      * ゲームの開始
      */
     public void start() {
-        if (!gameTimer.isRunning()) {
+        if (gameTimer != null && !gameTimer.isRunning()) {
             gameTimer.start();
         }
     }
@@ -595,35 +872,53 @@ public class Game {
      * ゲームの一時停止/再開
      */
     public void togglePause() {
+        if (replayRecorder != null) {
+            replayRecorder.recordPause(tickCount);
+        }
         if (state == GameState.PLAYING) {
             state = GameState.PAUSED;
-            soundManager.stopBGM();
+            stopBGM();
         } else if (state == GameState.PAUSED) {
             state = GameState.PLAYING;
             if (powerPelletTimer > 0) {
-                soundManager.playBGM(SoundManager.SoundType.POWER_MODE);
+                playBGM(SoundManager.SoundType.POWER_MODE);
             } else {
-                soundManager.playBGM(SoundManager.SoundType.SIREN);
+                playBGM(SoundManager.SoundType.SIREN);
             }
         }
     }
 
     /**
-     * 新しいゲームの開始
+     * 新しいゲームの開始（シードは現在のシードから決定的に派生）
      */
     public void newGame() {
-        gameTimer.stop();
+        newGame(nextGameSeed);
+    }
 
-        // 前回のゲーム終了処理
+    /**
+     * 指定シードで新しいゲームを開始
+     *
+     * @param seed ゲームの乱数シード
+     */
+    public void newGame(long seed) {
+        this.seed = seed;
+        if (gameTimer != null) {
+            gameTimer.stop();
+        }
+
+        // 前回のゲームで発行済みのイベントを反映してから終了処理
+        dispatchEvents();
         if (state == GameState.PLAYING) {
             statistics.endGameSession(false, score, level);
         }
 
-        soundManager.stopAllSounds();
+        soundBackend.stopAllSounds();
         effectManager.clear();
 
         initializeGame();
-        gameTimer.start();
+        if (gameTimer != null) {
+            gameTimer.start();
+        }
     }
 
     /**
@@ -639,7 +934,48 @@ public class Game {
             statistics.endGameSession(false, score, level);
         }
 
-        soundManager.dispose();
+        soundBackend.dispose();
+    }
+
+    /**
+     * 効果音の再生を要求（イベント処理時に音声出力へ渡される）
+     */
+    private void playSound(SoundManager.SoundType soundType) {
+        events.publish(GameEventBuffer.SOUND, soundType.ordinal());
+    }
+
+    /**
+     * BGMの再生を要求（イベント処理時に音声出力へ渡される）
+     */
+    private void playBGM(SoundManager.SoundType bgmType) {
+        events.publish(GameEventBuffer.BGM, bgmType.ordinal());
+    }
+
+    /**
+     * サイレンの状態（食べたペレットの割合とElroy段階）が変わったら通知
+     */
+    private void updateSiren(int elroyStage) {
+        int total = maze.getTotalPellets();
+        int progress = total > 0 ? (total - maze.getRemainingPellets()) * SirenSynth.MAX_PROGRESS / total : 0;
+        int current = (progress << 2) | elroyStage;
+        if (current != sirenState) {
+            sirenState = current;
+            events.publish(GameEventBuffer.SIREN, progress, elroyStage, 0);
+        }
+    }
+
+    /**
+     * BGMの停止を要求（イベント処理時に音声出力へ渡される）
+     */
+    private void stopBGM() {
+        events.publish(GameEventBuffer.BGM, -1);
+    }
+
+    /**
+     * パーティクルエフェクトが有効か（ヘッドレス時は常に無効）
+     */
+    private boolean isParticleEffectsEnabled() {
+        return !headless && settings.isParticleEffectsEnabled();
     }
 
     // ゲッターメソッド
@@ -663,6 +999,155 @@ public class Game {
         return currentFPS;
     }
 
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * ゲームイベントのバッファ（独自の消費者はnewCursorで読み出し位置を作る）
+     */
+    public GameEventBuffer getEvents() {
+        return events;
+    }
+
+    /**
+     * 現在の状態を保存した新しいスナップショットを作成
+     */
+    public GameSnapshot createSnapshot() {
+        GameSnapshot snapshot = new GameSnapshot(getSnapshotSize());
+        saveSnapshot(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 現在の状態を既存のスナップショットへ上書き保存（サイズが足りていれば割り当てなし）
+     */
+    public void saveSnapshot(GameSnapshot snapshot) {
+        snapshot.ensureCapacity(getSnapshotSize());
+        int[] data = snapshot.data;
+        int offset = 0;
+        data[offset++] = state.ordinal();
+        data[offset++] = difficulty.ordinal();
+        data[offset++] = score;
+        data[offset++] = highScore;
+        data[offset++] = level;
+        data[offset++] = stateTimer;
+        data[offset++] = powerPelletTimer;
+        data[offset++] = ghostEatenMultiplier;
+        data[offset++] = pelletsEatenThisLevel;
+        data[offset++] = consecutiveGhostsEaten;
+        offset = GameSnapshot.putLong(data, offset, tickCount);
+        offset = GameSnapshot.putLong(data, offset, gameStartTick);
+        offset = GameSnapshot.putLong(data, offset, seed);
+        offset = GameSnapshot.putLong(data, offset, nextGameSeed);
+        offset = GameSnapshot.putLong(data, offset, mazeLayout.getContentHash());
+        data[offset++] = swarmSize;
+        data[offset++] = replayRecorder != null ? replayRecorder.getInputCount() : 0;
+
+        offset = maze.writeState(snapshot, offset);
+        offset = pacman.writeState(snapshot, offset);
+        for (int i = 0; i < ghosts.size(); i++) {
+            offset = ghosts.get(i).writeState(snapshot, offset);
+        }
+        if (swarm != null) {
+            offset = swarm.writeState(snapshot, offset);
+        }
+        fruit.writeState(snapshot, offset);
+    }
+
+    /**
+     * スナップショットの状態に戻す
+     * 統計・ハイスコア・サウンド・エフェクトは巻き戻さない
+     * 入力の記録も保存時点まで巻き戻す（記録中と違うゲームの時点に戻した場合は、そのゲームのリプレイは取り出せなくなる）
+     *
+     * @throws IllegalArgumentException 迷路やスウォームのゴースト数が現在のゲームと違う場合
+     */
+    public void restoreSnapshot(GameSnapshot snapshot) {
+        int[] data = snapshot.data;
+        int offset = 0;
+        if (data.length < SNAPSHOT_HEADER_SIZE
+                || GameSnapshot.getLong(data, 18) != mazeLayout.getContentHash()
+                || data[20] != swarmSize
+                || data.length < getSnapshotSize()) {
+            throw new IllegalArgumentException("スナップショットが現在のゲームの迷路・ゴースト数と一致しません");
+        }
+        state = GameSnapshot.GAME_STATES[data[offset++]];
+        difficulty = GameSnapshot.DIFFICULTIES[data[offset++]];
+        score = data[offset++];
+        highScore = data[offset++];
+        level = data[offset++];
+        stateTimer = data[offset++];
+        powerPelletTimer = data[offset++];
+        ghostEatenMultiplier = data[offset++];
+        pelletsEatenThisLevel = data[offset++];
+        consecutiveGhostsEaten = data[offset++];
+        tickCount = GameSnapshot.getLong(data, offset);
+        gameStartTick = GameSnapshot.getLong(data, offset + 2);
+        seed = GameSnapshot.getLong(data, offset + 4);
+        nextGameSeed = GameSnapshot.getLong(data, offset + 6);
+        offset += 11; // 迷路の内容ハッシュとゴースト数は確認済み
+        int inputCount = data[offset++];
+        if (replayRecorder != null) {
+            replayRecorder.rewind(seed, gameStartTick, inputCount);
+        }
+
+        offset = maze.readState(snapshot, offset);
+        offset = pacman.readState(snapshot, offset);
+        for (int i = 0; i < ghosts.size(); i++) {
+            offset = ghosts.get(i).readState(snapshot, offset);
+        }
+        if (swarm != null) {
+            offset = swarm.readState(snapshot, offset);
+        }
+        fruit.readState(snapshot, offset);
+    }
+
+    private int getSnapshotSize() {
+        return SNAPSHOT_HEADER_SIZE + maze.getStateSize() + Pacman.STATE_SIZE
+                + ghosts.size() * Ghost.STATE_SIZE + (swarm != null ? swarm.getStateSize() : 0)
+                + Fruit.STATE_SIZE;
+    }
+
+    /**
+     * 入力を記録するレコーダーを設定（現在のゲームの開始時点を基準に記録を始める。設定前の入力は含まれない）
+     *
+     * @param recorder レコーダー（記録をやめる場合はnull）
+     */
+    public void setReplayRecorder(ReplayRecorder recorder) {
+        this.replayRecorder = recorder;
+        if (recorder != null) {
+            recorder.begin(seed, difficulty, ghostAI, swarmSize, mazeLayout.getContentHash(), gameStartTick);
+        }
+    }
+
+    /**
+     * 現在のゲームのここまでのリプレイを取得
+     *
+     * @return リプレイ（記録していない場合や、記録中と違うゲームのスナップショットに戻した後はnull）
+     */
+    public Replay getReplay() {
+        return replayRecorder != null && replayRecorder.isComplete() ? replayRecorder.toReplay(tickCount) : null;
+    }
+
+    /**
+     * 現在のゲームの乱数シード
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * 現在のゲームで実際に使っているゴーストAI
+     * 設定が最短経路でも、迷路が大きすぎて距離テーブルを作らない場合はアーケードになる
+     */
+    public GameSettings.GhostAI getEffectiveGhostAI() {
+        return effectiveGhostAI;
+    }
+
     public Maze getMaze() {
         return maze;
     }
@@ -675,6 +1160,13 @@ public class Game {
         return ghosts;
     }
 
+    /**
+     * スウォームモードのゴースト（無効時はnull）
+     */
+    public GhostSwarm getSwarm() {
+        return swarm;
+    }
+
     public Fruit getFruit() {
         return fruit;
     }
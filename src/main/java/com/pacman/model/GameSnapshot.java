@@ -0,0 +1,56 @@
+package com.pacman.model;
+
+import com.pacman.game.Direction;
+import com.pacman.game.GameState;
+import com.pacman.util.GameSettings;
+
+/**
+ * ゲーム状態のスナップショット
+ * シミュレーションに関わる全状態をint配列1本に平坦化して保持する（数百バイト程度）
+ * 同じインスタンスへ繰り返し保存できるため、巻き戻しや探索AIの分岐でもオブジェクトを生成しない
+ *
+ * 統計・ハイスコア・サウンド・エフェクトなどゲーム展開に影響しない状態は含まない
+ */
+public final class GameSnapshot {
+    // 列挙型の復元用（values()の配列コピーを避けるためのキャッシュ）
+    static final Direction[] DIRECTIONS = Direction.values();
+    static final GameState[] GAME_STATES = GameState.values();
+    static final Ghost.GhostState[] GHOST_STATES = Ghost.GhostState.values();
+    static final Fruit.FruitType[] FRUIT_TYPES = Fruit.FruitType.values();
+    static final GameSettings.Difficulty[] DIFFICULTIES = GameSettings.Difficulty.values();
+
+    int[] data;
+
+    // 迷路の不変なレイアウト（共有されるため参照のみ保持）
+    MazeLayout layout;
+
+    GameSnapshot(int size) {
+        data = new int[size];
+    }
+
+    /**
+     * 必要なサイズを確保（不足する場合のみ再確保）
+     */
+    void ensureCapacity(int size) {
+        if (data.length < size) {
+            data = new int[size];
+        }
+    }
+
+    /**
+     * スナップショットのデータサイズ（バイト）
+     */
+    public int getSizeInBytes() {
+        return data.length * Integer.BYTES;
+    }
+
+    static int putLong(int[] data, int offset, long value) {
+        data[offset] = (int) (value >>> 32);
+        data[offset + 1] = (int) value;
+        return offset + 2;
+    }
+
+    static long getLong(int[] data, int offset) {
+        return ((long) data[offset] << 32) | (data[offset + 1] & 0xFFFFFFFFL);
+    }
+}
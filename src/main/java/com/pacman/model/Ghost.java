@@ -2,15 +2,14 @@ package com.pacman.model;
 
 import java.awt.Color;
 import java.awt.Point;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 import com.pacman.game.Direction;
+import com.pacman.game.GameRandom;
 
 /**
- * ゴーストの基底クラス（滑らかな移動制御付き）
- * 位置補正の競合を防止し、安定した移動を実現
+ * ゴーストの基底クラス
+ * 固定小数点座標で移動し、進行方向の決定はタイル中心に到達した時のみ行う
  */
 public abstract class Ghost {
     // ゴーストの状態
@@ -18,15 +17,23 @@ public abstract class Ghost {
         SCATTER, CHASE, FRIGHTENED, EATEN, IN_HOUSE, EXITING_HOUSE
     }
 
-    // 位置情報
-    public double x;
-    public double y;
+    // 位置情報（固定小数点、FixedPoint.ONEが1タイル）
+    protected int x;
+    protected int y;
     protected Point homePosition;
 
+    // 前のティックの位置（描画の補間用、固定小数点）
+    private int previousX;
+    private int previousY;
+
     // 移動関連
     public Direction currentDirection;
-    public double speed;
-    protected Point targetTile;
+    public int speed; // 1フレームあたりの移動量（固定小数点）
+    protected int targetTile = NO_TARGET; // Maze.packTileで詰めた目標タイル
+
+    // 現在の迷路のサイズ（散開目標の計算用、移動のたびに更新）
+    protected int mazeWidth = Maze.WIDTH;
+    protected int mazeHeight = Maze.HEIGHT;
 
     // 状態管理
     public GhostState state;
@@ -38,29 +45,30 @@ public abstract class Ghost {
     protected Color normalColor;
     protected String name;
 
-    // 定数
-    protected static final double NORMAL_SPEED = 0.125;
-    protected static final double FRIGHTENED_SPEED = 0.0625;
-    protected static final double EATEN_SPEED = 0.25;
+    // 定数（速度は1フレームあたりの固定小数点移動量）
+    protected static final int NORMAL_SPEED = FixedPoint.ONE / 8;
+    protected static final int FRIGHTENED_SPEED = FixedPoint.ONE / 16;
+    protected static final int EATEN_SPEED = FixedPoint.ONE / 4;
     protected static final int FRIGHTENED_DURATION = 400;
 
-    // 改善された位置補正用定数
-    private static final double GRID_ALIGNMENT_THRESHOLD = 0.125; // グリッド整列判定の閾値
-    private static final double INTERSECTION_THRESHOLD = 0.1; // 交差点判定の閾値
-    private static final double CORRECTION_STRENGTH = 0.05; // 補正強度を弱める
+    // 目標タイルなし（怯えモード）を表す値
+    protected static final int NO_TARGET = Integer.MIN_VALUE;
+
+    // 食べられたゴーストが戻る位置（ゴーストハウス内、迷路ごとに設定）
+    private int houseTarget = MazeMarkers.classic().getGhostHouse();
+
+    // ゴーストハウスの出口（この位置に到達すると通常移動へ移る）
+    private int exitX = FixedPoint.fromTile(Maze.tileX(MazeMarkers.classic().getHouseExit()));
+    private int exitY = FixedPoint.fromTile(Maze.tileY(MazeMarkers.classic().getHouseExit()));
 
-    // ランダム要素用
-    protected Random random = new Random();
+    // ゴーストハウス内で上下に揺れる振幅の基準（固定小数点）
+    private static final int HOUSE_BOB_STEP = 2;
 
-    // 移動制御用（改善）
-    private boolean needsDirectionChange = false;
-    private int stuckCounter = 0;
-    private static final int MAX_STUCK_FRAMES = 60;
+    // 最短経路長テーブル（nullの場合は直線距離で目標へ向かう）
+    protected DistanceTable distanceTable;
 
-    // 位置補正制御用
-    private boolean isChangingDirection = false;
-    private int directionChangeTimer = 0;
-    private static final int DIRECTION_CHANGE_FREEZE_TIME = 5;
+    // 怯えモードの方向選択用（ゲームのシードから派生した個別の系列）
+    protected GameRandom random = new GameRandom(0);
 
     /**
      * コンストラクタ
@@ -68,8 +76,10 @@ public abstract class Ghost {
     public Ghost(String name, Color color, int startX, int startY) {
         this.name = name;
         this.normalColor = color;
-        this.x = startX;
-        this.y = startY;
+        this.x = FixedPoint.fromTile(startX);
+        this.y = FixedPoint.fromTile(startY);
+        this.previousX = x;
+        this.previousY = y;
         this.homePosition = new Point(startX, startY);
         this.currentDirection = Direction.UP;
         this.speed = NORMAL_SPEED;
@@ -84,14 +94,13 @@ public abstract class Ghost {
      */
     public void update(Maze maze, Pacman pacman, List<Ghost> otherGhosts) {
         updateTimers();
-        checkIfStuck(maze);
 
         switch (state) {
             case IN_HOUSE:
                 updateInHouse();
                 break;
             case EXITING_HOUSE:
-                updateExitingHouse(maze);
+                updateExitingHouse();
                 break;
             case SCATTER:
             case CHASE:
@@ -100,45 +109,6 @@ public abstract class Ghost {
                 updateMovement(maze, pacman);
                 break;
         }
-
-        // 方向変更タイマーの更新
-        if (directionChangeTimer > 0) {
-            directionChangeTimer--;
-            if (directionChangeTimer == 0) {
-                isChangingDirection = false;
-            }
-        }
-    }
-
-    /**
-     * 穏やかな位置調整（競合を防ぐため）
-     */
-    private void performGentleAlignment() {
-        // 水平移動時の垂直位置調整
-        if (currentDirection == Direction.LEFT || currentDirection == Direction.RIGHT) {
-            double targetY = Math.round(y);
-            double diff = Math.abs(y - targetY);
-
-            if (diff > GRID_ALIGNMENT_THRESHOLD) {
-                double correction = Math.signum(targetY - y) * CORRECTION_STRENGTH;
-                y += correction;
-            } else if (diff < 0.01) {
-                y = targetY; // 十分近い場合は正確に設定
-            }
-        }
-
-        // 垂直移動時の水平位置調整
-        if (currentDirection == Direction.UP || currentDirection == Direction.DOWN) {
-            double targetX = Math.round(x);
-            double diff = Math.abs(x - targetX);
-
-            if (diff > GRID_ALIGNMENT_THRESHOLD) {
-                double correction = Math.signum(targetX - x) * CORRECTION_STRENGTH;
-                x += correction;
-            } else if (diff < 0.01) {
-                x = targetX; // 十分近い場合は正確に設定
-            }
-        }
     }
 
     /**
@@ -158,100 +128,87 @@ public abstract class Ghost {
         // チェイス/スキャッターモードの切り替え
         if (state == GhostState.CHASE || state == GhostState.SCATTER) {
             int cycle = stateTimer % 2000;
-            if (cycle < 420) {
-                if (state != GhostState.SCATTER) {
-                    state = GhostState.SCATTER;
-                    needsDirectionChange = true;
-                }
-            } else if (cycle < 1620) {
-                if (state != GhostState.CHASE) {
-                    state = GhostState.CHASE;
-                    needsDirectionChange = true;
-                }
+            // 新しいモードの目標は次のタイル中心での方向決定から反映される
+            if (cycle < 420 || cycle >= 1620) {
+                state = GhostState.SCATTER;
             } else {
-                if (state != GhostState.SCATTER) {
-                    state = GhostState.SCATTER;
-                    needsDirectionChange = true;
-                }
+                state = GhostState.CHASE;
             }
         }
     }
 
     /**
-     * 動作停止状態のチェック
+     * 目標への進み方を設定
+     *
+     * @param table 最短経路長テーブル（直線距離で選ぶ場合はnull）
      */
-    private void checkIfStuck(Maze maze) {
-        double nextX = x + currentDirection.getDx() * speed;
-        double nextY = y + currentDirection.getDy() * speed;
-
-        if (!canMoveTo(maze, nextX, nextY)) {
-            stuckCounter++;
-            if (stuckCounter > MAX_STUCK_FRAMES) {
-                forceDirectionChange(maze);
-                stuckCounter = 0;
-            }
-        } else {
-            stuckCounter = 0;
-        }
+    void setDistanceTable(DistanceTable table) {
+        this.distanceTable = table;
     }
 
     /**
-     * 強制的な方向変更
+     * 指定タイルまでの距離が閾値未満かどうか（AIモードに応じて直線距離または経路長で判定）
      */
-    private void forceDirectionChange(Maze maze) {
-        List<Direction> validDirections = getValidDirections(maze);
-        if (!validDirections.isEmpty()) {
-            currentDirection = validDirections.get(random.nextInt(validDirections.size()));
-            needsDirectionChange = false;
-            executeDirectionChange();
+    protected boolean isWithinDistance(int tileX, int tileY, int distance) {
+        if (distanceTable != null) {
+            return distanceTable.getDistance(getGridX(), getGridY(), tileX, tileY) < distance;
         }
+        int dx = tileX - getGridX();
+        int dy = tileY - getGridY();
+        return dx * dx + dy * dy < distance * distance;
     }
 
     /**
-     * 方向変更の実行
+     * ゴーストハウスの位置を設定（迷路の位置情報から）
      */
-    private void executeDirectionChange() {
-        // 方向変更時に位置をグリッドに調整
-        x = Math.round(x);
-        y = Math.round(y);
+    void setHouse(MazeMarkers markers) {
+        houseTarget = markers.getGhostHouse();
+        exitX = FixedPoint.fromTile(Maze.tileX(markers.getHouseExit()));
+        exitY = FixedPoint.fromTile(Maze.tileY(markers.getHouseExit()));
+    }
 
-        // 方向変更中フラグを設定
-        isChangingDirection = true;
-        directionChangeTimer = DIRECTION_CHANGE_FREEZE_TIME;
+    /**
+     * 乱数系列を設定（ゲーム開始時にゲームのシードから派生させたものを渡す）
+     */
+    void setRandom(GameRandom random) {
+        this.random = random;
     }
 
     /**
-     * 移動可能な方向のリストを取得
+     * ビットマスクに含まれる方向から1つをランダムに選択
      */
-    private List<Direction> getValidDirections(Maze maze) {
-        List<Direction> validDirections = new ArrayList<>();
-        int gridX = (int) Math.round(x);
-        int gridY = (int) Math.round(y);
-
-        for (Direction dir : Direction.values()) {
-            if (dir != Direction.NONE) {
-                if (maze.isGhostWalkable(gridX + dir.getDx(), gridY + dir.getDy())) {
-                    validDirections.add(dir);
-                }
-            }
+    private Direction pickRandomDirection(int directions) {
+        int skip = random.nextInt(Integer.bitCount(directions));
+        for (int i = 0; i < skip; i++) {
+            directions &= directions - 1; // 最下位ビットを除去
         }
-        return validDirections;
+        return Direction.fromLowestBit(directions);
     }
 
     /**
      * ゴーストハウス内での動作
      */
     private void updateInHouse() {
-        y += Math.sin(stateTimer * 0.1) * 0.02;
+        // 三角波で上下に揺れる（振幅は1/8タイル、揺れ始めは中心から）
+        int phase = (stateTimer + 16) & 63;
+        int offset = ((phase < 32 ? phase : 64 - phase) - 16) * HOUSE_BOB_STEP;
+        y = FixedPoint.snap(y) + offset;
 
         if (shouldExitHouse()) {
             state = GhostState.EXITING_HOUSE;
             currentDirection = Direction.UP;
-            x = Math.round(x);
-            y = Math.round(y);
+            snapToTileCenter();
         }
     }
 
+    /**
+     * 最も近いタイルの中心に位置を合わせる
+     */
+    private void snapToTileCenter() {
+        x = FixedPoint.snap(x);
+        y = FixedPoint.snap(y);
+    }
+
     /**
      * ゴーストハウスから出る条件
      */
@@ -262,22 +219,26 @@ public abstract class Ghost {
     /**
      * ゴーストハウスから出る処理
      */
-    private void updateExitingHouse(Maze maze) {
-        double targetX = 14;
-        double targetY = 11;
-
-        double dx = targetX - x;
-        double dy = targetY - y;
-        double distance = Math.sqrt(dx * dx + dy * dy);
+    private void updateExitingHouse() {
+        // 横方向に出口の列へ揃えてから、真上へ出口まで移動する
+        int budget = speed;
+        int dx = exitX - x;
+        if (dx != 0) {
+            int step = Math.min(budget, Math.abs(dx));
+            currentDirection = dx < 0 ? Direction.LEFT : Direction.RIGHT;
+            x += Integer.signum(dx) * step;
+            budget -= step;
+        }
+        int dy = exitY - y;
+        if (dy != 0 && budget > 0) {
+            int step = Math.min(budget, Math.abs(dy));
+            currentDirection = dy < 0 ? Direction.UP : Direction.DOWN;
+            y += Integer.signum(dy) * step;
+        }
 
-        if (distance < 0.5) {
-            x = targetX;
-            y = targetY;
+        if (x == exitX && y == exitY) {
             state = GhostState.SCATTER;
             currentDirection = Direction.LEFT;
-        } else {
-            x += (dx / distance) * speed;
-            y += (dy / distance) * speed;
         }
     }
 
@@ -285,29 +246,37 @@ public abstract class Ghost {
      * 通常の移動処理
      */
     private void updateMovement(Maze maze, Pacman pacman) {
-        updateTargetTile(maze, pacman);
-
-        // 交差点での方向決定（改善された判定）
-        if (isAtGridCenter() || needsDirectionChange) {
-            Direction newDirection = chooseDirection(maze);
-            if (newDirection != Direction.NONE && newDirection != currentDirection) {
-                // グリッドの中心で方向転換を実行
-                x = Math.round(x);
-                y = Math.round(y);
+        updateTargetTile(maze.getLayout(), pacman);
+
+        // 移動量をタイル中心ごとに区切って消費し、中心に到達した時だけ方向を決める
+        MazeGraph graph = maze.getGraph();
+        int width = maze.getLayout().getWidth();
+        int height = maze.getLayout().getHeight();
+        int budget = speed;
+        while (budget > 0) {
+            int toCenter = FixedPoint.distanceToCenter(x, y, currentDirection);
+            if (toCenter == 0) {
+                Direction newDirection = chooseDirection(graph);
+                if (newDirection == Direction.NONE) {
+                    break;
+                }
                 currentDirection = newDirection;
-                needsDirectionChange = false;
+                toCenter = FixedPoint.ONE;
             }
-        }
 
-        // 移動実行
-        move(maze);
-        handleTunnel(maze);
+            int step = Math.min(budget, toCenter);
+            x = FixedPoint.wrap(x + currentDirection.getDx() * step, width);
+            y = FixedPoint.wrap(y + currentDirection.getDy() * step, height);
+            budget -= step;
+        }
     }
 
     /**
      * 目標タイルの更新
      */
-    private void updateTargetTile(Maze maze, Pacman pacman) {
+    private void updateTargetTile(MazeLayout layout, Pacman pacman) {
+        mazeWidth = layout.getWidth();
+        mazeHeight = layout.getHeight();
         switch (state) {
             case SCATTER:
                 targetTile = getScatterTarget();
@@ -316,97 +285,72 @@ public abstract class Ghost {
                 targetTile = getChaseTarget(pacman);
                 break;
             case FRIGHTENED:
-                targetTile = null;
+                targetTile = NO_TARGET;
                 break;
             case EATEN:
-                targetTile = new Point(14, 14);
+                targetTile = houseTarget;
                 break;
         }
     }
 
     /**
      * 散開モードの目標位置
+     *
+     * @return Maze.packTileで詰めたタイル座標
      */
-    protected abstract Point getScatterTarget();
+    protected abstract int getScatterTarget();
 
     /**
      * 追跡モードの目標位置
+     *
+     * @return Maze.packTileで詰めたタイル座標
      */
-    protected abstract Point getChaseTarget(Pacman pacman);
-
-    /**
-     * ゴーストがグリッドの中心にいるかを判定する
-     */
-    private boolean isAtGridCenter() {
-        // 座標が整数（グリッドの中心）に十分近いかをチェック
-        return Math.abs(x - Math.round(x)) < 0.01 &&
-                Math.abs(y - Math.round(y)) < 0.01;
-    }
-
-    /**
-     * 滑らかな交差点判定
-     */
-    private boolean isAtSmoothIntersection(Maze maze) {
-        // より厳格な交差点判定
-        if (Math.abs(x - Math.round(x)) < INTERSECTION_THRESHOLD &&
-                Math.abs(y - Math.round(y)) < INTERSECTION_THRESHOLD) {
-
-            int gridX = (int) Math.round(x);
-            int gridY = (int) Math.round(y);
-
-            int possibleDirections = 0;
-            for (Direction dir : Direction.values()) {
-                if (dir != Direction.NONE && dir != currentDirection.opposite()) {
-                    if (maze.isGhostWalkable(gridX + dir.getDx(), gridY + dir.getDy())) {
-                        possibleDirections++;
-                    }
-                }
-            }
-            return possibleDirections > 1;
-        }
-        return false;
-    }
+    protected abstract int getChaseTarget(Pacman pacman);
 
     /**
-     * 方向選択
+     * タイル中心での方向選択
+     *
+     * @return 進む方向（出口がない場合はNONE）
      */
-    private Direction chooseDirection(Maze maze) {
-        int gridX = (int) Math.round(x);
-        int gridY = (int) Math.round(y);
-
-        List<Direction> possibleDirections = new ArrayList<>();
-
-        for (Direction dir : Direction.values()) {
-            if (dir != Direction.NONE) {
-                if (maze.isGhostWalkable(gridX + dir.getDx(), gridY + dir.getDy())) {
-                    if (dir != currentDirection.opposite() || possibleDirections.isEmpty()) {
-                        possibleDirections.add(dir);
-                    }
-                }
-            }
-        }
+    private Direction chooseDirection(MazeGraph graph) {
+        int gridX = getGridX();
+        int gridY = getGridY();
 
-        if (possibleDirections.isEmpty()) {
-            return currentDirection.opposite();
+        int exits = graph.getGhostExits(gridX, gridY);
+        if (exits == 0) {
+            return Direction.NONE;
         }
 
-        if (possibleDirections.size() > 1) {
-            possibleDirections.remove(currentDirection.opposite());
+        // 逆走は他に選択肢がない場合のみ許可
+        int possibleDirections = exits & ~currentDirection.opposite().getMask();
+        if (possibleDirections == 0) {
+            possibleDirections = exits;
         }
 
         if (state == GhostState.FRIGHTENED) {
-            return possibleDirections.get(random.nextInt(possibleDirections.size()));
+            return pickRandomDirection(possibleDirections);
         }
 
-        if (targetTile != null) {
-            Direction bestDirection = possibleDirections.get(0);
-            double minDistance = Double.MAX_VALUE;
-
-            for (Direction dir : possibleDirections) {
-                double nextX = gridX + dir.getDx();
-                double nextY = gridY + dir.getDy();
-                double distance = Math.sqrt(Math.pow(nextX - targetTile.x, 2) +
-                        Math.pow(nextY - targetTile.y, 2));
+        if (targetTile != NO_TARGET) {
+            int targetX = Maze.tileX(targetTile);
+            int targetY = Maze.tileY(targetTile);
+
+            // 距離の大小比較のみなので平方根は不要（同距離の場合は UP, DOWN, LEFT, RIGHT の順で優先）
+            Direction bestDirection = Direction.fromLowestBit(possibleDirections);
+            long minDistance = Long.MAX_VALUE;
+
+            for (int remaining = possibleDirections; remaining != 0; remaining &= remaining - 1) {
+                Direction dir = Direction.fromLowestBit(remaining);
+                long distance;
+                if (distanceTable != null) {
+                    // 経路探索モード：隣接タイルから目標までの最短経路長
+                    distance = distanceTable.getDistance(gridX + dir.getDx(), gridY + dir.getDy(),
+                            targetX, targetY);
+                } else {
+                    long dx = gridX + dir.getDx() - targetX;
+                    long dy = gridY + dir.getDy() - targetY;
+                    distance = dx * dx + dy * dy;
+                }
 
                 if (distance < minDistance) {
                     minDistance = distance;
@@ -416,52 +360,7 @@ public abstract class Ghost {
             return bestDirection;
         }
 
-        return possibleDirections.get(0);
-    }
-
-    /**
-     * 移動可能性チェック
-     */
-    private boolean canMoveTo(Maze maze, double nextX, double nextY) {
-        int gridX = (int) Math.round(nextX);
-        int gridY = (int) Math.round(nextY);
-        return maze.isGhostWalkable(gridX, gridY);
-    }
-
-    /**
-     * 移動処理
-     */
-    private void move(Maze maze) {
-        double nextX = x + currentDirection.getDx() * speed;
-        double nextY = y + currentDirection.getDy() * speed;
-
-        if (canMoveTo(maze, nextX, nextY)) {
-            x = nextX;
-            y = nextY;
-
-            // パックマンと同様の位置補正
-            if (currentDirection == Direction.LEFT || currentDirection == Direction.RIGHT) {
-                y = Math.round(y);
-            } else if (currentDirection == Direction.UP || currentDirection == Direction.DOWN) {
-                x = Math.round(x);
-            }
-
-        } else {
-            needsDirectionChange = true;
-        }
-    }
-
-    /**
-     * トンネル処理
-     */
-    private void handleTunnel(Maze maze) {
-        if (maze.isTunnel((int) x, (int) y)) {
-            if (x < 0) {
-                x = Maze.WIDTH - 1;
-            } else if (x >= Maze.WIDTH) {
-                x = 0;
-            }
-        }
+        return Direction.fromLowestBit(possibleDirections);
     }
 
     /**
@@ -469,12 +368,15 @@ public abstract class Ghost {
      */
     public void startFrightened() {
         if (state != GhostState.EATEN) {
+            // ゴーストハウス内のゴーストは通路上にいないため、タイル中心に揃えてから動かす
+            if (state == GhostState.IN_HOUSE || state == GhostState.EXITING_HOUSE) {
+                snapToTileCenter();
+            }
             state = GhostState.FRIGHTENED;
             frightenedTimer = FRIGHTENED_DURATION;
             speed = FRIGHTENED_SPEED;
+            // 進行方向の反転はタイルの途中でも座標を変えずに行える
             currentDirection = currentDirection.opposite();
-            needsDirectionChange = true;
-            executeDirectionChange();
         }
     }
 
@@ -484,7 +386,60 @@ public abstract class Ghost {
     public void setEaten() {
         state = GhostState.EATEN;
         speed = EATEN_SPEED;
-        executeDirectionChange();
+    }
+
+    /**
+     * スナップショットに保存する状態のサイズ（int数）
+     */
+    static final int STATE_SIZE = 11;
+
+    /**
+     * 状態をスナップショットへ書き込む
+     *
+     * @return 次の書き込み位置
+     */
+    int writeState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        data[offset++] = x;
+        data[offset++] = y;
+        data[offset++] = currentDirection.ordinal();
+        data[offset++] = speed;
+        data[offset++] = targetTile;
+        data[offset++] = state.ordinal();
+        data[offset++] = stateTimer;
+        data[offset++] = frightenedTimer;
+        data[offset++] = dotCounter;
+        return GameSnapshot.putLong(data, offset, random.getState());
+    }
+
+    /**
+     * スナップショットから状態を復元する
+     *
+     * @return 次の読み込み位置
+     */
+    int readState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        x = data[offset++];
+        y = data[offset++];
+        currentDirection = GameSnapshot.DIRECTIONS[data[offset++]];
+        speed = data[offset++];
+        targetTile = data[offset++];
+        state = GameSnapshot.GHOST_STATES[data[offset++]];
+        stateTimer = data[offset++];
+        frightenedTimer = data[offset++];
+        dotCounter = data[offset++];
+        random.setState(GameSnapshot.getLong(data, offset));
+        previousX = x;
+        previousY = y;
+        return offset + 2;
+    }
+
+    /**
+     * 現在の位置を前のティックの位置として記録（ティックの最初に呼ぶ）
+     */
+    void storePreviousPosition() {
+        previousX = x;
+        previousY = y;
     }
 
     /**
@@ -506,23 +461,79 @@ public abstract class Ghost {
 
     // ゲッターメソッド
     public double getX() {
-        return x;
+        return FixedPoint.toDouble(x);
     }
 
     public double getY() {
+        return FixedPoint.toDouble(y);
+    }
+
+    /**
+     * 前のティックのX座標（描画の補間用）
+     */
+    public double getPreviousX() {
+        return FixedPoint.toDouble(previousX);
+    }
+
+    /**
+     * 前のティックのY座標（描画の補間用）
+     */
+    public double getPreviousY() {
+        return FixedPoint.toDouble(previousY);
+    }
+
+    /**
+     * 固定小数点のX座標
+     */
+    public int getFixedX() {
+        return x;
+    }
+
+    /**
+     * 固定小数点のY座標
+     */
+    public int getFixedY() {
         return y;
     }
 
+    /**
+     * 指定タイルの中心に配置
+     */
+    public void setTilePosition(int tileX, int tileY) {
+        x = FixedPoint.fromTile(tileX);
+        y = FixedPoint.fromTile(tileY);
+        previousX = x;
+        previousY = y;
+    }
+
     public GhostState getState() {
         return state;
     }
 
+    public Direction getCurrentDirection() {
+        return currentDirection;
+    }
+
     public String getName() {
         return name;
     }
 
     public Point getGridPosition() {
-        return new Point((int) Math.round(x), (int) Math.round(y));
+        return new Point(getGridX(), getGridY());
+    }
+
+    /**
+     * 現在のグリッドX座標（オブジェクトを生成しない）
+     */
+    public int getGridX() {
+        return FixedPoint.toTile(x);
+    }
+
+    /**
+     * 現在のグリッドY座標（オブジェクトを生成しない）
+     */
+    public int getGridY() {
+        return FixedPoint.toTile(y);
     }
 
     public void incrementDotCounter() {
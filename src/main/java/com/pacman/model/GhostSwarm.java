@@ -0,0 +1,573 @@
+package com.pacman.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.pacman.game.Direction;
+import com.pacman.game.GameRandom;
+
+/**
+ * スウォームモード用の大量ゴースト
+ * ゴーストをオブジェクトではなく並列なプリミティブ配列（Structure of Arrays）で保持し、
+ * 数千体規模でも1ティックの更新をキャッシュ効率よく行う
+ * パックマンとの衝突判定はタイルごとの占有リストで行い、ゴースト数に依存しない
+ *
+ * 各ゴーストは4体のオリジナルゴーストのいずれかの性格（追跡目標の決め方）を持つ
+ * 更新は各ゴースト自身の状態と更新前に固定した共有値だけを参照するため、並列に更新しても結果は決定的
+ */
+public final class GhostSwarm {
+    /** 状態: 通常（散開・追跡） */
+    public static final byte ROAMING = 0;
+    /** 状態: 怯え */
+    public static final byte FRIGHTENED = 1;
+    /** 状態: 食べられてゴーストハウスへ戻る途中 */
+    public static final byte EATEN = 2;
+
+    /** 性格（追跡目標の決め方）の種類数 */
+    public static final int PERSONALITY_COUNT = 4;
+
+    // 並列更新で1タスクが受け持つゴースト数
+    private static final int PARALLEL_CHUNK = 4096;
+
+    // 開始時にパックマンから離しておく距離（タイル）
+    private static final int SPAWN_CLEARANCE = 8;
+
+    // 開始位置を探す際の1体あたりの試行回数の目安
+    private static final int SPAWN_ATTEMPTS_PER_GHOST = 64;
+
+    // Clydeの性格が逃げ始める距離（タイル）
+    private static final int FLEE_DISTANCE = 8;
+
+    private final int count;
+    private final int width;
+    private final int height;
+    private final long seed;
+
+    // ゴーストごとの状態（インデックスがゴースト番号）
+    private final int[] x; // 固定小数点
+    private final int[] y;
+    private final byte[] direction; // Directionの序数
+    private final byte[] state;
+    private final byte[] personality;
+    private final int[] frightenedTimer;
+    private final long[] randomState; // 怯えモードの方向選択用の乱数状態
+    private final int[] spawnTile; // Maze.packTileで詰めた開始位置
+
+    // 前のティックの位置（描画の補間用）
+    private final int[] previousX;
+    private final int[] previousY;
+
+    // 性格ごとの散開目標
+    private final int[] scatterTarget;
+
+    // 食べられたゴーストの戻り先
+    private final int houseTile;
+
+    // タイルごとの占有リスト（タイル番号のハッシュで振り分け、バケット数はゴースト数に比例し迷路の大きさに依存しない）
+    // cellHead[バケット] → 先頭のゴースト、cellNext[ゴースト] → 同じバケットの次のゴースト
+    private final int[] cellHead;
+    private final int[] cellNext;
+    private final int[] cellTile; // ゴーストごとの現在のタイル番号（y * width + x）
+    private final int bucketShift;
+
+    // 全体で共通の状態
+    private int speed;
+    private int modeTimer;
+    private boolean parallel;
+    private DistanceTable distanceTable;
+
+    // 1ティックの更新中に全ゴーストが参照する値（更新前に固定する）
+    private MazeGraph graph;
+    private int pacmanX;
+    private int pacmanY;
+    private Direction pacmanDirection;
+    private int leaderX;
+    private int leaderY;
+    private boolean scatterMode;
+
+    /**
+     * コンストラクタ
+     *
+     * @param maze      迷路
+     * @param count     ゴースト数
+     * @param seed      配置と乱数系列のシード
+     * @param houseTile 食べられたゴーストの戻り先（Maze.packTile）
+     * @param avoidTile 開始時に近づけないタイル（パックマンの開始位置、Maze.packTile）
+     */
+    public GhostSwarm(Maze maze, int count, long seed, int houseTile, int avoidTile) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("ゴースト数は1以上を指定してください: " + count);
+        }
+        MazeLayout layout = maze.getLayout();
+        this.count = count;
+        this.width = layout.getWidth();
+        this.height = layout.getHeight();
+        this.seed = seed;
+        this.houseTile = houseTile;
+
+        x = new int[count];
+        y = new int[count];
+        direction = new byte[count];
+        state = new byte[count];
+        personality = new byte[count];
+        frightenedTimer = new int[count];
+        randomState = new long[count];
+        spawnTile = new int[count];
+        previousX = new int[count];
+        previousY = new int[count];
+        int bucketBits = 32 - Integer.numberOfLeadingZeros(Math.max(64, count * 2) - 1);
+        bucketShift = 32 - bucketBits;
+        cellHead = new int[1 << bucketBits];
+        cellNext = new int[count];
+        cellTile = new int[count];
+
+        scatterTarget = new int[] {
+                Maze.packTile(width - 2, 0),
+                Maze.packTile(2, 0),
+                Maze.packTile(width - 1, height - 1),
+                Maze.packTile(0, height - 1)
+        };
+
+        // 通路上の、パックマンから十分離れたタイルに分散して配置
+        // 迷路全体を走査せずに済むよう、ランダムなタイルを引いて条件を満たすものを採用する
+        GameRandom random = new GameRandom(seed);
+        int avoidX = Maze.tileX(avoidTile);
+        int avoidY = Maze.tileY(avoidTile);
+        int attempts = 0;
+        int maxAttempts = count * SPAWN_ATTEMPTS_PER_GHOST + width * height;
+        for (int i = 0; i < count; i++) {
+            int tx;
+            int ty;
+            do {
+                if (++attempts > maxAttempts) {
+                    throw new IllegalArgumentException("ゴーストを配置できる通路がありません");
+                }
+                tx = random.nextInt(width);
+                ty = random.nextInt(height);
+            } while (!isSpawnTile(layout, tx, ty, avoidX, avoidY));
+            spawnTile[i] = Maze.packTile(tx, ty);
+            personality[i] = (byte) (i % PERSONALITY_COUNT);
+        }
+
+        speed = Ghost.NORMAL_SPEED;
+        parallel = true;
+        reset();
+    }
+
+    /**
+     * 開始位置にできるタイルか（通路上で、避けるタイルから十分離れている）
+     */
+    private static boolean isSpawnTile(MazeLayout layout, int x, int y, int avoidX, int avoidY) {
+        int tile = layout.getTile(x, y);
+        if (tile == Maze.WALL || tile == Maze.GHOST_HOUSE || tile == Maze.GHOST_HOUSE_DOOR) {
+            return false;
+        }
+        int dx = x - avoidX;
+        int dy = y - avoidY;
+        return dx * dx + dy * dy >= SPAWN_CLEARANCE * SPAWN_CLEARANCE;
+    }
+
+    /**
+     * 全ゴーストを開始位置に戻す（ライフ喪失時・レベル開始時）
+     */
+    public void reset() {
+        GameRandom random = new GameRandom(seed);
+        for (int i = 0; i < count; i++) {
+            int tile = spawnTile[i];
+            x[i] = FixedPoint.fromTile(Maze.tileX(tile));
+            y[i] = FixedPoint.fromTile(Maze.tileY(tile));
+            state[i] = ROAMING;
+            frightenedTimer[i] = 0;
+            randomState[i] = random.nextLong();
+            direction[i] = (byte) (i & 3);
+        }
+        modeTimer = 0;
+        storePreviousPositions();
+        rebuildOccupancy();
+    }
+
+    /**
+     * 現在の位置を前のティックの位置として記録（ティックの最初に呼ぶ）
+     */
+    void storePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, count);
+        System.arraycopy(y, 0, previousY, 0, count);
+    }
+
+    /**
+     * 全ゴーストを1ティック進める
+     */
+    public void update(Maze maze, Pacman pacman) {
+        modeTimer++;
+        int cycle = modeTimer % 2000;
+        scatterMode = cycle < 420 || cycle >= 1620;
+
+        graph = maze.getGraph();
+        pacmanX = pacman.getGridX();
+        pacmanY = pacman.getGridY();
+        pacmanDirection = pacman.getCurrentDirection();
+        leaderX = FixedPoint.toTile(x[0]);
+        leaderY = FixedPoint.toTile(y[0]);
+
+        if (parallel && count > PARALLEL_CHUNK && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new UpdateTask(0, count));
+        } else {
+            updateRange(0, count);
+        }
+
+        rebuildOccupancy();
+    }
+
+    /**
+     * 並列更新用のタスク（担当範囲を半分ずつに分割）
+     */
+    private final class UpdateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        UpdateTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                updateRange(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new UpdateTask(from, middle), new UpdateTask(middle, to));
+            }
+        }
+    }
+
+    /**
+     * 指定範囲のゴーストを更新
+     */
+    private void updateRange(int from, int to) {
+        int frightenedSpeed = speed / 2;
+        int eatenSpeed = speed * 2;
+        for (int i = from; i < to; i++) {
+            byte current = state[i];
+            if (current == FRIGHTENED && --frightenedTimer[i] <= 0) {
+                state[i] = current = ROAMING;
+            }
+
+            int budget = current == FRIGHTENED ? frightenedSpeed : current == EATEN ? eatenSpeed : speed;
+            int gx = x[i];
+            int gy = y[i];
+            Direction dir = Direction.fromIndex(direction[i]);
+            while (budget > 0) {
+                int toCenter = FixedPoint.distanceToCenter(gx, gy, dir);
+                if (toCenter == 0) {
+                    int tileX = FixedPoint.toTile(gx);
+                    int tileY = FixedPoint.toTile(gy);
+                    if (current == EATEN && Maze.packTile(tileX, tileY) == houseTile) {
+                        // ゴーストハウスに戻ったら通常状態で再出発
+                        state[i] = current = ROAMING;
+                        budget = Math.min(budget, speed);
+                    }
+                    Direction next = chooseDirection(i, current, tileX, tileY, dir);
+                    if (next == Direction.NONE) {
+                        break;
+                    }
+                    dir = next;
+                    toCenter = FixedPoint.ONE;
+                }
+                int step = Math.min(budget, toCenter);
+                gx = FixedPoint.wrap(gx + dir.getDx() * step, width);
+                gy = FixedPoint.wrap(gy + dir.getDy() * step, height);
+                budget -= step;
+            }
+            x[i] = gx;
+            y[i] = gy;
+            direction[i] = (byte) dir.ordinal();
+        }
+    }
+
+    /**
+     * タイル中心での方向選択（逆走は他に選択肢がない場合のみ）
+     */
+    private Direction chooseDirection(int i, byte current, int tileX, int tileY, Direction dir) {
+        int exits = graph.getGhostExits(tileX, tileY);
+        if (exits == 0) {
+            return Direction.NONE;
+        }
+        int possible = exits & ~dir.opposite().getMask();
+        if (possible == 0) {
+            possible = exits;
+        }
+
+        if (current == FRIGHTENED) {
+            return pickRandomDirection(i, possible);
+        }
+
+        int target = current == EATEN ? houseTile : getTarget(i, tileX, tileY);
+        int targetX = Maze.tileX(target);
+        int targetY = Maze.tileY(target);
+
+        // 同距離の場合は UP, DOWN, LEFT, RIGHT の順で優先
+        Direction best = Direction.fromLowestBit(possible);
+        long minDistance = Long.MAX_VALUE;
+        for (int remaining = possible; remaining != 0; remaining &= remaining - 1) {
+            Direction candidate = Direction.fromLowestBit(remaining);
+            long distance;
+            if (distanceTable != null) {
+                distance = distanceTable.getDistance(tileX + candidate.getDx(), tileY + candidate.getDy(),
+                        targetX, targetY);
+            } else {
+                long dx = tileX + candidate.getDx() - targetX;
+                long dy = tileY + candidate.getDy() - targetY;
+                distance = dx * dx + dy * dy;
+            }
+            if (distance < minDistance) {
+                minDistance = distance;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 性格に応じた目標タイル（オリジナルの4体と同じ規則）
+     */
+    private int getTarget(int i, int tileX, int tileY) {
+        int kind = personality[i];
+        if (scatterMode) {
+            return scatterTarget[kind];
+        }
+        switch (kind) {
+            case 1: // Pinky: パックマンの4タイル先
+                return Maze.packTile(pacmanX + pacmanDirection.getDx() * 4,
+                        pacmanY + pacmanDirection.getDy() * 4);
+            case 2: { // Inky: 群れの先頭のゴーストから2タイル先を挟んだ反対側
+                int pivotX = pacmanX + pacmanDirection.getDx() * 2;
+                int pivotY = pacmanY + pacmanDirection.getDy() * 2;
+                return Maze.packTile(pivotX * 2 - leaderX, pivotY * 2 - leaderY);
+            }
+            case 3: { // Clyde: 近づきすぎたら散開目標へ
+                int dx = pacmanX - tileX;
+                int dy = pacmanY - tileY;
+                if (dx * dx + dy * dy < FLEE_DISTANCE * FLEE_DISTANCE) {
+                    return scatterTarget[kind];
+                }
+                return Maze.packTile(pacmanX, pacmanY);
+            }
+            default: // Blinky: パックマンを直接追跡
+                return Maze.packTile(pacmanX, pacmanY);
+        }
+    }
+
+    /**
+     * ビットマスクに含まれる方向から1つをゴースト自身の乱数系列で選択
+     */
+    private Direction pickRandomDirection(int i, int directions) {
+        int skip = GameRandom.nextInt(randomState, i, Integer.bitCount(directions));
+        for (int k = 0; k < skip; k++) {
+            directions &= directions - 1;
+        }
+        return Direction.fromLowestBit(directions);
+    }
+
+    /**
+     * タイルごとの占有リストを作り直す
+     */
+    private void rebuildOccupancy() {
+        Arrays.fill(cellHead, -1);
+        for (int i = 0; i < count; i++) {
+            int tile = FixedPoint.toTile(y[i]) * width + FixedPoint.toTile(x[i]);
+            int bucket = bucketOf(tile);
+            cellTile[i] = tile;
+            cellNext[i] = cellHead[bucket];
+            cellHead[bucket] = i;
+        }
+    }
+
+    private int bucketOf(int tile) {
+        return (tile * 0x9E3779B1) >>> bucketShift;
+    }
+
+    /**
+     * 指定タイルにいる最初のゴースト番号（いなければ-1）
+     * 続きはnextAt()でたどる
+     */
+    public int firstAt(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= width || tileY < 0 || tileY >= height) {
+            return -1;
+        }
+        int tile = tileY * width + tileX;
+        return skipOtherTiles(cellHead[bucketOf(tile)], tile);
+    }
+
+    /**
+     * 同じタイルにいる次のゴースト番号（いなければ-1）
+     */
+    public int nextAt(int ghost) {
+        return skipOtherTiles(cellNext[ghost], cellTile[ghost]);
+    }
+
+    /**
+     * 同じバケットに入った別タイルのゴーストを読み飛ばす
+     */
+    private int skipOtherTiles(int ghost, int tile) {
+        while (ghost >= 0 && cellTile[ghost] != tile) {
+            ghost = cellNext[ghost];
+        }
+        return ghost;
+    }
+
+    /**
+     * 食べられていない全ゴーストを怯えモードにする（進行方向は反転）
+     */
+    public void startFrightened(int duration) {
+        for (int i = 0; i < count; i++) {
+            if (state[i] != EATEN) {
+                state[i] = FRIGHTENED;
+                frightenedTimer[i] = duration;
+                direction[i] = (byte) Direction.fromIndex(direction[i]).opposite().ordinal();
+            }
+        }
+    }
+
+    /**
+     * ゴーストが食べられた時の処理
+     */
+    public void setEaten(int ghost) {
+        state[ghost] = EATEN;
+        frightenedTimer[ghost] = 0;
+    }
+
+    /**
+     * スナップショットに保存する状態のサイズ（int数）
+     */
+    int getStateSize() {
+        return 2 + count * 6;
+    }
+
+    /**
+     * 状態をスナップショットへ書き込む
+     *
+     * @return 次の書き込み位置
+     */
+    int writeState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        data[offset++] = modeTimer;
+        data[offset++] = speed;
+        for (int i = 0; i < count; i++) {
+            data[offset++] = x[i];
+            data[offset++] = y[i];
+            data[offset++] = direction[i] | (state[i] << 8);
+            data[offset++] = frightenedTimer[i];
+            offset = GameSnapshot.putLong(data, offset, randomState[i]);
+        }
+        return offset;
+    }
+
+    /**
+     * スナップショットから状態を復元する
+     *
+     * @return 次の読み込み位置
+     */
+    int readState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        modeTimer = data[offset++];
+        speed = data[offset++];
+        for (int i = 0; i < count; i++) {
+            x[i] = data[offset++];
+            y[i] = data[offset++];
+            int packed = data[offset++];
+            direction[i] = (byte) (packed & 0xFF);
+            state[i] = (byte) (packed >> 8);
+            frightenedTimer[i] = data[offset++];
+            randomState[i] = GameSnapshot.getLong(data, offset);
+            offset += 2;
+        }
+        storePreviousPositions();
+        rebuildOccupancy();
+        return offset;
+    }
+
+    // セッターメソッド
+    public void setSpeed(int speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * 並列更新の有効/無効（ゴースト数が少ない場合やCPUが1つの場合は常に逐次更新）
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    void setDistanceTable(DistanceTable table) {
+        this.distanceTable = table;
+    }
+
+    // ゲッターメソッド
+    public int getCount() {
+        return count;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    public double getX(int ghost) {
+        return FixedPoint.toDouble(x[ghost]);
+    }
+
+    public double getY(int ghost) {
+        return FixedPoint.toDouble(y[ghost]);
+    }
+
+    /**
+     * 前のティックのX座標（描画の補間用）
+     */
+    public double getPreviousX(int ghost) {
+        return FixedPoint.toDouble(previousX[ghost]);
+    }
+
+    /**
+     * 前のティックのY座標（描画の補間用）
+     */
+    public double getPreviousY(int ghost) {
+        return FixedPoint.toDouble(previousY[ghost]);
+    }
+
+    /**
+     * 固定小数点のX座標
+     */
+    public int getFixedX(int ghost) {
+        return x[ghost];
+    }
+
+    /**
+     * 固定小数点のY座標
+     */
+    public int getFixedY(int ghost) {
+        return y[ghost];
+    }
+
+    public int getGridX(int ghost) {
+        return FixedPoint.toTile(x[ghost]);
+    }
+
+    public int getGridY(int ghost) {
+        return FixedPoint.toTile(y[ghost]);
+    }
+
+    public byte getState(int ghost) {
+        return state[ghost];
+    }
+
+    public int getPersonality(int ghost) {
+        return personality[ghost];
+    }
+
+    public int getFrightenedTimer(int ghost) {
+        return frightenedTimer[ghost];
+    }
+}
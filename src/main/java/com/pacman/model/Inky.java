@@ -2,7 +2,6 @@ package com.pacman.model;
 
 import com.pacman.game.Direction;
 import java.awt.Color;
-import java.awt.Point;
 
 /**
  * Inky（青ゴースト）- "Bashful"
@@ -11,17 +10,29 @@ import java.awt.Point;
  */
 public class Inky extends Ghost {
 
+    // 目標計算に使用するBlinky（Game側で設定）
+    private Ghost blinky;
+
     public Inky(int startX, int startY) {
         super("Inky", new Color(0, 255, 255), startX, startY); // シアン色
     }
 
+    /**
+     * 目標計算に使用するBlinkyを設定
+     *
+     * @param blinky Blinkyゴースト
+     */
+    public void setBlinky(Ghost blinky) {
+        this.blinky = blinky;
+    }
+
     /**
      * 散開モードでの目標位置
      * Inkyは右下コーナーを目指す
      */
     @Override
-    protected Point getScatterTarget() {
-        return new Point(Maze.WIDTH - 1, Maze.HEIGHT - 1);
+    protected int getScatterTarget() {
+        return Maze.packTile(mazeWidth - 1, mazeHeight - 1); // 右下コーナー
     }
 
     /**
@@ -32,13 +43,12 @@ public class Inky extends Ghost {
      * 3. そのベクトルを2倍に延長した地点が目標
      */
     @Override
-    protected Point getChaseTarget(Pacman pacman) {
+    protected int getChaseTarget(Pacman pacman) {
         // まずパックマンの2タイル先を計算
-        Point pacmanPos = pacman.getGridPosition();
         Direction pacmanDir = pacman.getCurrentDirection();
 
-        int pivotX = pacmanPos.x;
-        int pivotY = pacmanPos.y;
+        int pivotX = pacman.getGridX();
+        int pivotY = pacman.getGridY();
 
         // パックマンの向きに応じて2タイル先を計算
         switch (pacmanDir) {
@@ -61,15 +71,16 @@ public class Inky extends Ghost {
                 break;
         }
 
-        // Blinkyの位置を取得（他のゴーストのリストから探す必要があるが、
-        // ここでは簡略化のため、Blinkyがいない場合はパックマンを直接狙う）
-        // 実際のゲームループでBlinkyの参照を渡す必要がある
+        if (blinky == null) {
+            // Blinkyが設定されていない場合は自分の位置から基準点への延長
+            return Maze.packTile(pivotX * 2 - getGridX(), pivotY * 2 - getGridY());
+        }
 
-        // 暫定的な実装：Blinkyの位置が取得できない場合は基準点をそのまま使用
-        int targetX = pivotX * 2 - (int) x; // 自分の位置から基準点への延長
-        int targetY = pivotY * 2 - (int) y;
+        // Blinkyの位置から基準点へのベクトルを2倍に延長
+        int targetX = pivotX + (pivotX - blinky.getGridX());
+        int targetY = pivotY + (pivotY - blinky.getGridY());
 
-        return new Point(targetX, targetY);
+        return Maze.packTile(targetX, targetY);
     }
 
     /**
@@ -79,46 +90,4 @@ public class Inky extends Ghost {
     protected boolean shouldExitHouse() {
         return dotCounter >= 30;
     }
-
-    /**
-     * Blinkyの位置を使った正確な計算（Game.javaから呼び出される）
-     * 
-     * @param pacman パックマン
-     * @param blinky Blinkyゴースト
-     * @return 目標位置
-     */
-    public Point getChaseTargetWithBlinky(Pacman pacman, Ghost blinky) {
-        // パックマンの2タイル先を計算
-        Point pacmanPos = pacman.getGridPosition();
-        Direction pacmanDir = pacman.getCurrentDirection();
-
-        int pivotX = pacmanPos.x;
-        int pivotY = pacmanPos.y;
-
-        switch (pacmanDir) {
-            case UP:
-                pivotY -= 2;
-                pivotX -= 2; // オリジナルのバグ
-                break;
-            case DOWN:
-                pivotY += 2;
-                break;
-            case LEFT:
-                pivotX -= 2;
-                break;
-            case RIGHT:
-                pivotX += 2;
-                break;
-            case NONE:
-                // 停止中はパックマンの位置を基準点とする
-                break;
-        }
-
-        // Blinkyの位置から基準点へのベクトルを2倍に延長
-        Point blinkyPos = blinky.getGridPosition();
-        int targetX = pivotX + (pivotX - blinkyPos.x);
-        int targetY = pivotY + (pivotY - blinkyPos.y);
-
-        return new Point(targetX, targetY);
-    }
-}
\ No newline at end of file
+}
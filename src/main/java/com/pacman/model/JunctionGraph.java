@@ -0,0 +1,240 @@
+package com.pacman.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.pacman.game.Direction;
+
+/**
+ * ゴーストの移動可能性に基づく分岐点グラフ（分岐点間の通路長付き）
+ * 出口が2つ以外の通路タイル（交差点・T字路・行き止まり）を分岐点とし、
+ * 分岐点から各出口の方向へ通路をたどった先の分岐点と通路長（タイル数）を保持する
+ * 分岐点につながらない環状の通路は、その中の行優先で最初のタイルを分岐点として扱う
+ *
+ * 通路タイル数に比例した大きさになるため、MazeLayout.getJunctionGraph()で初めて必要になった時に構築する
+ */
+public final class JunctionGraph {
+    private final int width;
+    private final int height;
+
+    private final int[] junctionTiles; // 分岐点番号→タイル番号（昇順、タイル→分岐点番号は二分探索で引く）
+    private final int[] neighbor; // [分岐点 * 4 + 方向] → 隣接分岐点番号（通路がなければ-1）
+    private final int[] corridorLength; // [分岐点 * 4 + 方向] → 通路長（タイル数）
+
+    /**
+     * レイアウトの出口マスクから分岐点グラフを構築
+     */
+    JunctionGraph(MazeLayout layout) {
+        width = layout.getWidth();
+        height = layout.getHeight();
+        MazeGraph graph = layout.getGraph();
+
+        // 分岐点を行優先で列挙（タイル番号の昇順になる）
+        int[] found = new int[64];
+        int count = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (layout.isWallChunk(x >> MazeLayout.CHUNK_SHIFT, y >> MazeLayout.CHUNK_SHIFT)) {
+                    x |= MazeLayout.CHUNK_MASK; // チャンクの残りを読み飛ばす
+                    continue;
+                }
+                if (layout.getTile(x, y) != Maze.WALL && Integer.bitCount(graph.getGhostExits(x, y)) != 2) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = y * width + x;
+                }
+            }
+        }
+
+        // 分岐点から届く通路タイルに印を付け、印のない通路タイル（環状の通路）を分岐点に加える
+        long[] visited = new long[(width * height + 63) >>> 6];
+        int realCount = count;
+        for (int j = 0; j < realCount; j++) {
+            markCorridors(graph, visited, found[j]);
+        }
+        boolean addedLoops = false;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (layout.isWallChunk(x >> MazeLayout.CHUNK_SHIFT, y >> MazeLayout.CHUNK_SHIFT)) {
+                    x |= MazeLayout.CHUNK_MASK;
+                    continue;
+                }
+                int tile = y * width + x;
+                if ((visited[tile >>> 6] & (1L << tile)) != 0 || layout.getTile(x, y) == Maze.WALL
+                        || Integer.bitCount(graph.getGhostExits(x, y)) != 2) {
+                    continue;
+                }
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = tile;
+                visited[tile >>> 6] |= 1L << tile;
+                markCorridors(graph, visited, tile);
+                addedLoops = true;
+            }
+        }
+        junctionTiles = Arrays.copyOf(found, count);
+        if (addedLoops) {
+            Arrays.sort(junctionTiles);
+        }
+
+        // 分岐点から各方向に通路をたどり、次の分岐点と距離を記録
+        int limit = layout.getOpenTileCount();
+        neighbor = new int[count * 4];
+        corridorLength = new int[count * 4];
+        Arrays.fill(neighbor, -1);
+        for (int j = 0; j < count; j++) {
+            int start = junctionTiles[j];
+            for (int exits = graph.getGhostExits(start % width, start / width); exits != 0; exits &= exits - 1) {
+                int d = Integer.numberOfTrailingZeros(exits);
+                int tile = start;
+                int dir = d;
+                int length = 0;
+                while (length <= limit) {
+                    tile = step(tile, dir);
+                    length++;
+                    int tileExits = graph.getGhostExits(tile % width, tile / width);
+                    if (tile == start || Integer.bitCount(tileExits) != 2) {
+                        neighbor[j * 4 + d] = tile == start ? j : Arrays.binarySearch(junctionTiles, tile);
+                        corridorLength[j * 4 + d] = length;
+                        break;
+                    }
+                    // 通路上のタイルは来た方向以外の出口がちょうど1つ
+                    dir = Integer.numberOfTrailingZeros(tileExits & ~(1 << (dir ^ 1)));
+                }
+            }
+        }
+    }
+
+    /**
+     * キャッシュに保存した内容から復元
+     *
+     * @throws IllegalStateException 内容がレイアウトと一致しない場合
+     */
+    JunctionGraph(MazeLayout layout, ByteBuffer data) {
+        width = layout.getWidth();
+        height = layout.getHeight();
+        int count = data.getInt();
+        if (count < 0 || count > layout.getOpenTileCount()) {
+            throw new IllegalStateException("分岐点の数が不正です: " + count);
+        }
+        junctionTiles = new int[count];
+        neighbor = new int[count * 4];
+        corridorLength = new int[count * 4];
+        data.asIntBuffer().get(junctionTiles).get(neighbor).get(corridorLength);
+        data.position(data.position() + count * 9 * Integer.BYTES);
+    }
+
+    /**
+     * キャッシュへ書き出す（JunctionGraph(MazeLayout, ByteBuffer)で読み込める形式）
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(junctionTiles.length);
+        for (int tile : junctionTiles) {
+            out.writeInt(tile);
+        }
+        for (int next : neighbor) {
+            out.writeInt(next);
+        }
+        for (int length : corridorLength) {
+            out.writeInt(length);
+        }
+    }
+
+    /**
+     * 分岐点から各方向に通路をたどり、次の分岐点（出口が2つ以外のタイル）の手前までの通路タイルに印を付ける
+     */
+    private void markCorridors(MazeGraph graph, long[] visited, int start) {
+        for (int exits = graph.getGhostExits(start % width, start / width); exits != 0; exits &= exits - 1) {
+            int dir = Integer.numberOfTrailingZeros(exits);
+            int tile = step(start, dir);
+            while ((visited[tile >>> 6] & (1L << tile)) == 0) {
+                int tileExits = graph.getGhostExits(tile % width, tile / width);
+                if (Integer.bitCount(tileExits) != 2) {
+                    break;
+                }
+                visited[tile >>> 6] |= 1L << tile;
+                dir = Integer.numberOfTrailingZeros(tileExits & ~(1 << (dir ^ 1)));
+                tile = step(tile, dir);
+            }
+        }
+    }
+
+    /**
+     * 指定方向の隣接タイル番号（出口のある方向に限る、トンネルでは反対側へ折り返す）
+     */
+    int step(int tile, int dirIndex) {
+        Direction dir = Direction.fromIndex(dirIndex);
+        int x = Math.floorMod(tile % width + dir.getDx(), width);
+        int y = Math.floorMod(tile / width + dir.getDy(), height);
+        return y * width + x;
+    }
+
+    public int getJunctionCount() {
+        return junctionTiles.length;
+    }
+
+    /**
+     * 指定タイルの分岐点番号（分岐点でなければ-1）
+     */
+    public int getJunctionIndex(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return -1;
+        }
+        int junction = Arrays.binarySearch(junctionTiles, y * width + x);
+        return junction >= 0 ? junction : -1;
+    }
+
+    /**
+     * 指定タイルがゴーストの分岐点かどうか
+     */
+    public boolean isJunction(int x, int y) {
+        return getJunctionIndex(x, y) >= 0;
+    }
+
+    public int getJunctionX(int junction) {
+        return junctionTiles[junction] % width;
+    }
+
+    public int getJunctionY(int junction) {
+        return junctionTiles[junction] / width;
+    }
+
+    /**
+     * 分岐点から指定方向へ進んだ先の分岐点番号（通路がなければ-1）
+     */
+    public int getNeighborJunction(int junction, Direction direction) {
+        return neighbor[junction * 4 + direction.ordinal()];
+    }
+
+    /**
+     * 分岐点から指定方向の次の分岐点までの通路長（タイル数）
+     */
+    public int getCorridorLength(int junction, Direction direction) {
+        return corridorLength[junction * 4 + direction.ordinal()];
+    }
+
+    /**
+     * 分岐点のタイル番号（y * 幅 + x）
+     */
+    int getJunctionTile(int junction) {
+        return junctionTiles[junction];
+    }
+
+    /**
+     * 通路の先の分岐点番号（通路は 分岐点 * 4 + 方向の番号 で指定、なければ-1）
+     */
+    int getNeighbor(int corridor) {
+        return neighbor[corridor];
+    }
+
+    /**
+     * 通路長（通路は 分岐点 * 4 + 方向の番号 で指定）
+     */
+    int getLength(int corridor) {
+        return corridorLength[corridor];
+    }
+}
@@ -3,13 +3,15 @@ package com.pacman.model;
 import java.awt.Point;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * パックマンの迷路を管理するクラス
- * オリジナルのアーケード版に準拠した28×31のグリッドサイズを使用
+ * 標準ではオリジナルのアーケード版に準拠した28×31のレイアウトを使用し、
+ * MazeLayoutを指定すれば最大4096×4096までの任意のサイズの迷路も扱える
  */
 public class Maze {
-    // 迷路のサイズ定数
+    // オリジナルの迷路のサイズ（画面の表示範囲もこの大きさ）
     public static final int WIDTH = 28;
     public static final int HEIGHT = 31;
 
@@ -21,92 +23,141 @@ public class Maze {
     public static final int GHOST_HOUSE = 4;
     public static final int GHOST_HOUSE_DOOR = 5;
 
-    // 迷路データ（0=壁, 1=通常ペレット, 2=パワーペレット, 3=空, 4=ゴーストハウス内部, 5=ゴーストハウスドア）
-    private int[][] maze;
+    // 共有される不変のレイアウト（リセット時に戻す元のテンプレート）
+    private final MazeLayout template;
 
-    // ペレットの総数（クリア判定用）
-    private int totalPellets;
+    // 現在のレイアウト（setTileで壁配置が変わった場合のみテンプレートと異なる）
+    private MazeLayout layout;
+
+    // 書き換えたペレットのチャンクに付ける版数（全迷路で一意、同じ版数なら内容も同じ）
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    // 残っているペレットのチャンクごとのビットセット（ビット番号 = チャンク内の行 * CHUNK_SIZE + 列）
+    // 書き換えるまではレイアウトのチャンクを共有し、最初に書き換える時に複製する
+    private final int chunksX;
+    private final long[][] pellets;
+    private final boolean[] ownedChunks;
+    private final long[] chunkVersions;
     private int remainingPellets;
 
     public Maze() {
-        initializeMaze();
-        countPellets();
-    }
-
-    /**
-     * 迷路レイアウトの初期化
-     * オリジナルのパックマンの迷路に近いレイアウトを定義
-     */
-    private void initializeMaze() {
-        // 基本的な迷路レイアウト（0=壁, 1=通常ペレット, 2=パワーペレット, 3=空, 4=ゴーストハウス）
-        maze = new int[][] {
-                // 28列 × 31行のレイアウト
-                { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
-                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
-                { 0, 2, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 2, 0 },
-                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
-                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
-                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
-                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
-                { 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 3, 0, 0, 3, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 3, 0, 0, 3, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 5, 5, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 4, 4, 4, 4, 4, 4, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 3, 3, 3, 3, 3, 3, 1, 3, 3, 3, 0, 4, 4, 4, 4, 4, 4, 0, 3, 3, 3, 1, 3, 3, 3, 3, 3, 3 }, // トンネル
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 4, 4, 4, 4, 4, 4, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
-                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
-                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
-                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
-                { 0, 2, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 3, 3, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 2, 0 },
-                { 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0 },
-                { 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0 },
-                { 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0 },
-                { 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0 },
-                { 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0 },
-                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
-                { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }
-        };
-    }
-
-    /**
-     * ペレットの総数をカウント
-     */
-    private void countPellets() {
-        totalPellets = 0;
-        for (int y = 0; y < HEIGHT; y++) {
-            for (int x = 0; x < WIDTH; x++) {
-                if (maze[y][x] == PELLET || maze[y][x] == POWER_PELLET) {
-                    totalPellets++;
-                }
-            }
-        }
-        remainingPellets = totalPellets;
+        this(MazeLayout.classic());
+    }
+
+    /**
+     * 指定したレイアウトで迷路を作成
+     */
+    public Maze(MazeLayout layout) {
+        this.template = layout;
+        this.layout = layout;
+        this.chunksX = layout.getChunkCountX();
+        int chunkCount = chunksX * layout.getChunkCountY();
+        this.pellets = new long[chunkCount][];
+        this.ownedChunks = new boolean[chunkCount];
+        this.chunkVersions = new long[chunkCount];
+        reset();
+    }
+
+    /**
+     * タイル座標を1つのintに詰める（毎フレームのPoint生成を避けるため）
+     * 上位16ビットがX、下位16ビットがY（いずれも符号付き、迷路外の座標も表現可能）
+     */
+    public static int packTile(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    /**
+     * 詰めたタイル座標からX座標を取り出す
+     */
+    public static int tileX(int packed) {
+        return packed >> 16;
+    }
+
+    /**
+     * 詰めたタイル座標からY座標を取り出す
+     */
+    public static int tileY(int packed) {
+        return (short) packed;
     }
 
     /**
      * 指定座標のタイルタイプを取得
      */
     public int getTile(int x, int y) {
-        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) {
-            return WALL;
+        int tile = layout.getTile(x, y);
+        if (MazeLayout.isPelletTile(tile) && !hasPellet(x, y)) {
+            return EMPTY;
         }
-        return maze[y][x];
+        return tile;
+    }
+
+    private boolean hasPellet(int x, int y) {
+        int local = localIndex(x, y);
+        return (pellets[chunkIndex(x, y)][local >>> 6] & (1L << local)) != 0;
+    }
+
+    private int chunkIndex(int x, int y) {
+        return (y >> MazeLayout.CHUNK_SHIFT) * chunksX + (x >> MazeLayout.CHUNK_SHIFT);
+    }
+
+    private static int localIndex(int x, int y) {
+        return ((y & MazeLayout.CHUNK_MASK) << MazeLayout.CHUNK_SHIFT) | (x & MazeLayout.CHUNK_MASK);
+    }
+
+    /**
+     * ペレットのビットを書き換える（共有中のチャンクは複製してから書き換え、版数を更新する）
+     */
+    private void setPelletBit(int x, int y, boolean present) {
+        int chunk = chunkIndex(x, y);
+        if (!ownedChunks[chunk]) {
+            pellets[chunk] = pellets[chunk].clone();
+            ownedChunks[chunk] = true;
+        }
+        int local = localIndex(x, y);
+        if (present) {
+            pellets[chunk][local >>> 6] |= 1L << local;
+        } else {
+            pellets[chunk][local >>> 6] &= ~(1L << local);
+        }
+        chunkVersions[chunk] = VERSIONS.incrementAndGet();
     }
 
     /**
      * 指定座標にタイルを設定
      */
     public void setTile(int x, int y, int tileType) {
-        if (x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT) {
-            maze[y][x] = tileType;
+        if (!layout.contains(x, y)) {
+            return;
+        }
+        int baseTile = layout.getTile(x, y);
+        if (tileType == EMPTY && MazeLayout.isPelletTile(baseTile)) {
+            // ペレットの除去はビットを落とすだけ
+            if (hasPellet(x, y)) {
+                setPelletBit(x, y, false);
+                remainingPellets--;
+            }
+            return;
         }
+        if (baseTile != tileType) {
+            // 配置自体が変わる場合のみレイアウトを複製（コピーオンライト）
+            boolean hadPellet = MazeLayout.isPelletTile(baseTile) && hasPellet(x, y);
+            layout = layout.withTile(x, y, tileType);
+            if (hadPellet) {
+                setPelletBit(x, y, false);
+                remainingPellets--;
+            }
+        }
+        if (MazeLayout.isPelletTile(tileType) && !hasPellet(x, y)) {
+            setPelletBit(x, y, true);
+            remainingPellets++;
+        }
+    }
+
+    /**
+     * 事前計算したナビゲーション情報を取得
+     */
+    public MazeGraph getGraph() {
+        return layout.getGraph();
     }
 
     /**
@@ -120,7 +171,7 @@ public class Maze {
      * 指定座標が移動可能かどうか判定
      */
     public boolean isWalkable(int x, int y) {
-        int tile = getTile(x, y);
+        int tile = layout.getTile(x, y);
         return tile != WALL && tile != GHOST_HOUSE_DOOR;
     }
 
@@ -128,16 +179,16 @@ public class Maze {
      * ゴーストが通過可能かどうか判定（ゴーストハウスのドアも通過可能）
      */
     public boolean isGhostWalkable(int x, int y) {
-        return getTile(x, y) != WALL;
+        return layout.getTile(x, y) != WALL;
     }
 
     /**
      * ペレットを消費
      */
     public int consumePellet(int x, int y) {
-        int tile = getTile(x, y);
-        if (tile == PELLET || tile == POWER_PELLET) {
-            setTile(x, y, EMPTY);
+        int tile = layout.getTile(x, y);
+        if (MazeLayout.isPelletTile(tile) && hasPellet(x, y)) {
+            setPelletBit(x, y, false);
             remainingPellets--;
             return tile;
         }
@@ -155,42 +206,152 @@ public class Maze {
      * パックマンの初期位置を取得
      */
     public Point getPacmanStartPosition() {
-        return new Point(14, 23); // オリジナルの開始位置
+        int tile = template.getMarkers().getPacmanStart();
+        return new Point(tileX(tile), tileY(tile));
     }
 
     /**
-     * ゴーストの初期位置を取得
+     * ゴーストの初期位置を取得（Blinky, Pinky, Inky, Clydeの順）
      */
     public List<Point> getGhostStartPositions() {
+        MazeMarkers markers = template.getMarkers();
         List<Point> positions = new ArrayList<>();
-        positions.add(new Point(14, 14)); // Blinky (赤) - ゴーストハウスの外
-        positions.add(new Point(14, 17)); // Pinky (ピンク) - ゴーストハウス内
-        positions.add(new Point(12, 17)); // Inky (青) - ゴーストハウス内
-        positions.add(new Point(16, 17)); // Clyde (オレンジ) - ゴーストハウス内
+        for (int i = 0; i < MazeMarkers.GHOST_COUNT; i++) {
+            int tile = markers.getGhostStart(i);
+            positions.add(new Point(tileX(tile), tileY(tile)));
+        }
         return positions;
     }
 
+    /**
+     * 開始位置・ゴーストハウスなどの位置を取得
+     */
+    public MazeMarkers getMarkers() {
+        return template.getMarkers();
+    }
+
     /**
      * トンネルの判定（左右の端）
      */
     public boolean isTunnel(int x, int y) {
-        return y == 14 && (x == 0 || x == WIDTH - 1);
+        return layout.isTunnel(x, y);
     }
 
     // ゲッターメソッド
     public int getTotalPellets() {
-        return totalPellets;
+        return layout.getPelletCount();
+    }
+
+    public MazeLayout getLayout() {
+        return layout;
     }
 
     public int getRemainingPellets() {
         return remainingPellets;
     }
 
+    /**
+     * スナップショットに保存する状態のサイズ（int数）
+     */
+    int getStateSize() {
+        return 1 + pellets.length * MazeLayout.PELLET_CHUNK_WORDS * 2;
+    }
+
+    /**
+     * 状態をスナップショットへ書き込む
+     *
+     * @return 次の書き込み位置
+     */
+    int writeState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        snapshot.layout = layout;
+        data[offset++] = remainingPellets;
+        for (long[] chunk : pellets) {
+            for (long word : chunk) {
+                offset = GameSnapshot.putLong(data, offset, word);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * スナップショットから状態を復元する
+     * 内容が変わらないチャンクはそのまま残し、変わったチャンクだけを書き換える
+     *
+     * @return 次の読み込み位置
+     */
+    int readState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        layout = snapshot.layout;
+        remainingPellets = data[offset++];
+        for (int chunk = 0; chunk < pellets.length; chunk++) {
+            long[] words = pellets[chunk];
+            int start = offset;
+            int i = 0;
+            while (i < words.length && words[i] == GameSnapshot.getLong(data, start + i * 2)) {
+                i++;
+            }
+            offset += MazeLayout.PELLET_CHUNK_WORDS * 2;
+            if (i == words.length) {
+                continue;
+            }
+            if (!ownedChunks[chunk]) {
+                words = new long[MazeLayout.PELLET_CHUNK_WORDS];
+                pellets[chunk] = words;
+                ownedChunks[chunk] = true;
+            }
+            for (i = 0; i < words.length; i++) {
+                words[i] = GameSnapshot.getLong(data, start + i * 2);
+            }
+            chunkVersions[chunk] = VERSIONS.incrementAndGet();
+        }
+        return offset;
+    }
+
+    /**
+     * 他の迷路の現在の状態（レイアウトと残りのペレット）を写す
+     * 描画スレッドへ渡す複製を毎ティック作り直さずに更新するために使用する
+     * 共有中のチャンクは参照を写すだけで、書き換えられたチャンクも前回写した時から変わったものだけをコピーする
+     *
+     * @param source 写す元の迷路（チャンク数が同じであること）
+     */
+    public void copyFrom(Maze source) {
+        if (source.pellets.length != pellets.length || source.chunksX != chunksX) {
+            throw new IllegalArgumentException("迷路の大きさが違います");
+        }
+        layout = source.layout;
+        for (int chunk = 0; chunk < pellets.length; chunk++) {
+            if (!source.ownedChunks[chunk]) {
+                pellets[chunk] = source.pellets[chunk];
+                ownedChunks[chunk] = false;
+            } else if (chunkVersions[chunk] != source.chunkVersions[chunk] || !ownedChunks[chunk]) {
+                if (!ownedChunks[chunk]) {
+                    pellets[chunk] = new long[MazeLayout.PELLET_CHUNK_WORDS];
+                    ownedChunks[chunk] = true;
+                }
+                System.arraycopy(source.pellets[chunk], 0, pellets[chunk], 0, MazeLayout.PELLET_CHUNK_WORDS);
+            }
+            chunkVersions[chunk] = source.chunkVersions[chunk];
+        }
+        remainingPellets = source.remainingPellets;
+    }
+
     /**
      * 迷路をリセット（新しいゲーム開始時）
+     * 書き換えていないチャンクはテンプレートを共有したままで、書き換えたチャンクだけをコピーし直す
+     * （複製した配列は次のゲームでも使い回す）
      */
     public void reset() {
-        initializeMaze();
-        countPellets();
+        layout = template;
+        for (int chunk = 0; chunk < pellets.length; chunk++) {
+            if (ownedChunks[chunk]) {
+                System.arraycopy(template.getPelletChunk(chunk), 0, pellets[chunk], 0,
+                        MazeLayout.PELLET_CHUNK_WORDS);
+                chunkVersions[chunk] = VERSIONS.incrementAndGet();
+            } else {
+                pellets[chunk] = template.getPelletChunk(chunk);
+            }
+        }
+        remainingPellets = template.getPelletCount();
     }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.pacman.model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 迷路ごとの事前計算結果（出口マスク・分岐点グラフ・最短経路長テーブル）のキャッシュ
+ * 迷路ファイルの内容（バイナリ形式）のSHA-256をキーとしてディスクに保存し、
+ * 同じ迷路を次に読み込むときは計算せずにファイルから復元する
+ * 読み込んだレイアウトはプロセス内でも共有し、レベル切り替えやゲームの再開始では再利用する
+ *
+ * キャッシュファイル形式（ビッグエンディアン）:
+ * マジック(4) バージョン(1) 内容ハッシュ(32) ペレット数(4) 通行可能タイル数(4)
+ * 出口マスク（壁だけでないチャンクごとに1024） 分岐点グラフ 距離テーブルの有無(1) 距離テーブル
+ */
+public final class MazeCache {
+    private static final String CACHE_DIRECTORY = "pacman_cache";
+    private static final String EXTENSION = ".pmc";
+
+    // ファイル識別子 "PMMC"
+    private static final int MAGIC = 0x504D4D43;
+    private static final int VERSION = 4;
+    private static final int HASH_SIZE = 32;
+
+    private static MazeCache instance;
+
+    private final File directory;
+
+    // 読み込み済みのレイアウト（キーは内容ハッシュの16進文字列）
+    private final Map<String, MazeLayout> loaded = new ConcurrentHashMap<>();
+
+    /**
+     * コンストラクタ
+     *
+     * @param directory キャッシュファイルを置くディレクトリ（存在しなければ保存時に作成）
+     */
+    public MazeCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 共有インスタンスを取得（作業ディレクトリのpacman_cacheを使用）
+     */
+    public static synchronized MazeCache getInstance() {
+        if (instance == null) {
+            instance = new MazeCache(new File(CACHE_DIRECTORY));
+        }
+        return instance;
+    }
+
+    /**
+     * 迷路ファイルを読み込んでレイアウトを取得
+     *
+     * @throws IOException ファイルが読めない・形式が不正な場合
+     * @throws IllegalArgumentException 内容が迷路として不正な場合
+     */
+    public MazeLayout load(File file) throws IOException {
+        return get(MazeFile.load(file));
+    }
+
+    /**
+     * 迷路データからレイアウトを取得（キャッシュがあれば事前計算を省略する）
+     *
+     * @throws IllegalArgumentException 内容が迷路として不正な場合
+     */
+    public MazeLayout get(MazeFile maze) {
+        byte[] hash = hash(maze.toBinary());
+        String key = toHex(hash);
+        MazeLayout layout = loaded.get(key);
+        if (layout != null) {
+            return layout;
+        }
+
+        File file = new File(directory, key + EXTENSION);
+        layout = read(file, maze, hash);
+        if (layout == null) {
+            layout = maze.toLayout();
+            layout.getDistanceTable(); // 構築できる大きさの迷路なら保存前に計算しておく
+            write(file, layout, hash);
+        }
+        MazeLayout previous = loaded.putIfAbsent(key, layout);
+        return previous != null ? previous : layout;
+    }
+
+    /**
+     * キャッシュファイルから復元
+     *
+     * @return レイアウト（ファイルがない・壊れている場合はnull）
+     */
+    private MazeLayout read(File file, MazeFile maze, byte[] hash) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (data.getInt() != MAGIC || data.get() != VERSION) {
+                throw new IOException("キャッシュファイルの形式が違います");
+            }
+            byte[] storedHash = new byte[HASH_SIZE];
+            data.get(storedHash);
+            if (!MessageDigest.isEqual(hash, storedHash)) {
+                throw new IOException("内容ハッシュが一致しません");
+            }
+            int pelletCount = data.getInt();
+            int openTileCount = data.getInt();
+
+            MazeLayout layout = maze.toLayout(source -> new MazeGraph(source, data));
+            if (layout.getPelletCount() != pelletCount || layout.getOpenTileCount() != openTileCount) {
+                throw new IOException("迷路の内容と一致しません");
+            }
+            layout.setJunctionGraph(new JunctionGraph(layout, data));
+            if (data.get() != 0) {
+                layout.setDistanceTable(new DistanceTable(layout, data));
+            }
+            if (data.hasRemaining()) {
+                throw new IOException("余分なデータがあります");
+            }
+            return layout;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("迷路キャッシュを読み込めません（再計算します）: " + file + " " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * キャッシュファイルへ保存（一時ファイルに書いてから置き換える）
+     */
+    private void write(File file, MazeLayout layout, byte[] hash) {
+        File temporary = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("ディレクトリを作成できません: " + directory);
+            }
+            temporary = File.createTempFile("maze", ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.write(hash);
+                out.writeInt(layout.getPelletCount());
+                out.writeInt(layout.getOpenTileCount());
+                layout.getGraph().write(out);
+                layout.getJunctionGraph().write(out);
+                DistanceTable table = layout.peekDistanceTable();
+                out.writeByte(table != null ? 1 : 0);
+                if (table != null) {
+                    table.write(out);
+                }
+            }
+            try {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("迷路キャッシュを保存できません: " + e.getMessage());
+            if (temporary != null) {
+                temporary.delete();
+            }
+        }
+    }
+
+    /**
+     * 迷路の内容ハッシュを64ビットに縮めた値（キャッシュのキーと同じSHA-256の先頭8バイト）
+     */
+    static long contentHash(MazeFile maze) {
+        return ByteBuffer.wrap(hash(maze.toBinary())).getLong();
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256が使用できません", e); // すべてのJava実装で必須のため発生しない
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * キャッシュを置くディレクトリ
+     */
+    public File getDirectory() {
+        return directory;
+    }
+}
@@ -0,0 +1,476 @@
+package com.pacman.model;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * 迷路ファイル（タイル配置・トンネル・開始位置などをまとめたデータ）の読み書き
+ * 人が編集するテキスト形式と、配布用の小さなバイナリ形式の2つに対応する
+ *
+ * テキスト形式（地図より前の#で始まる行はコメント、座標はタイル単位）:
+ * <pre>
+ * size 28 31
+ * pacman 14 23
+ * ghosts 14 14 14 17 12 17 16 17   （Blinky, Pinky, Inky, Clydeの順）
+ * house 14 14                     （食べられたゴーストが戻る位置）
+ * exit 14 11                      （ゴーストハウスの出口）
+ * fruit 14 19
+ * tunnel_rows 14                  （省略時は左右の端が両方とも通路の行）
+ * tunnel_columns                  （省略時は上下の端が両方とも通路の列）
+ * map
+ * ############################     （高さ分の行が続く）
+ * </pre>
+ * 地図の文字は # 壁, . ペレット, o パワーペレット, _ 空, = ゴーストハウス, - ドア
+ * 位置の行を省略した場合はオリジナルの迷路の位置を使う
+ *
+ * バイナリ形式（ビッグエンディアン）:
+ * マジック(4) バージョン(1) 幅(2) 高さ(2) 位置(4×8) トンネル行数(2) 行(2×n) トンネル列数(2) 列(2×n)
+ * 以降はタイルの連長圧縮 可変長整数((連続数 << 3) | タイルタイプ) を全タイル分
+ */
+public final class MazeFile {
+    // ファイル識別子 "PMMZ"
+    private static final int MAGIC = 0x504D4D5A;
+    private static final int VERSION = 1;
+    private static final int TILE_BITS = 3;
+
+    /** バイナリ形式の拡張子（それ以外はテキスト形式で保存する） */
+    public static final String BINARY_EXTENSION = ".pmz";
+
+    // タイルタイプ順の地図の文字
+    private static final String TILE_CHARS = "#.o_=-";
+
+    private final int width;
+    private final int height;
+    private final byte[] tiles;
+    private final int[] tunnelRows;
+    private final int[] tunnelColumns;
+    private final MazeMarkers markers;
+
+    private MazeFile(int width, int height, byte[] tiles, int[] tunnelRows, int[] tunnelColumns,
+            MazeMarkers markers) {
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.tunnelRows = tunnelRows;
+        this.tunnelColumns = tunnelColumns;
+        this.markers = markers;
+    }
+
+    /**
+     * レイアウトの内容から作成（保存用）
+     */
+    public MazeFile(MazeLayout layout) {
+        width = layout.getWidth();
+        height = layout.getHeight();
+        tiles = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                tiles[y * width + x] = (byte) layout.getTile(x, y);
+            }
+        }
+        int count = 0;
+        int[] rows = new int[height];
+        for (int y = 0; y < height; y++) {
+            if (layout.isTunnelRow(y)) {
+                rows[count++] = y;
+            }
+        }
+        tunnelRows = Arrays.copyOf(rows, count);
+        count = 0;
+        int[] columns = new int[width];
+        for (int x = 0; x < width; x++) {
+            if (layout.isTunnelColumn(x)) {
+                columns[count++] = x;
+            }
+        }
+        tunnelColumns = Arrays.copyOf(columns, count);
+        markers = layout.getMarkers();
+    }
+
+    /**
+     * レイアウトを構築（ナビゲーション情報も計算する）
+     *
+     * @throws IllegalArgumentException 内容が迷路として不正な場合
+     */
+    public MazeLayout toLayout() {
+        return new MazeLayout(width, height, tiles, tunnelRows, tunnelColumns, markers);
+    }
+
+    /**
+     * ナビゲーション情報の作り方を指定してレイアウトを構築（キャッシュから読み込む場合に使用）
+     */
+    MazeLayout toLayout(Function<MazeLayout, MazeGraph> graphFactory) {
+        return new MazeLayout(width, height, tiles, tunnelRows, tunnelColumns, markers, graphFactory);
+    }
+
+    /**
+     * ファイルから読み込む（先頭のマジックでバイナリ形式かテキスト形式かを判定）
+     *
+     * @throws IOException 形式が不正な場合を含む
+     */
+    public static MazeFile load(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            in.mark(4);
+            byte[] head = in.readNBytes(4);
+            in.reset();
+            boolean binary = head.length == 4
+                    && ((head[0] & 0xFF) << 24 | (head[1] & 0xFF) << 16 | (head[2] & 0xFF) << 8 | (head[3] & 0xFF)) == MAGIC;
+            if (binary) {
+                return readBinary(in);
+            }
+            return readText(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * ファイルへ保存（拡張子が.pmzならバイナリ形式、それ以外はテキスト形式）
+     */
+    public void save(File file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            if (file.getName().endsWith(BINARY_EXTENSION)) {
+                writeBinary(out);
+            } else {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                writeText(writer);
+                writer.flush();
+            }
+        }
+    }
+
+    /**
+     * テキスト形式で読み込む
+     *
+     * @throws IOException 形式が不正な場合を含む
+     */
+    public static MazeFile readText(Reader reader) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        MazeMarkers classic = MazeMarkers.classic();
+        int width = -1;
+        int height = -1;
+        int pacman = classic.getPacmanStart();
+        int[] ghosts = new int[MazeMarkers.GHOST_COUNT];
+        for (int i = 0; i < ghosts.length; i++) {
+            ghosts[i] = classic.getGhostStart(i);
+        }
+        int house = classic.getGhostHouse();
+        int exit = classic.getHouseExit();
+        int fruit = classic.getFruit();
+        int[] tunnelRows = null;
+        int[] tunnelColumns = null;
+        byte[] tiles = null;
+
+        String line;
+        int lineNumber = 0;
+        while (tiles == null && (line = in.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            switch (parts[0]) {
+                case "size":
+                    width = parseNumber(parts, 1, lineNumber);
+                    height = parseNumber(parts, 2, lineNumber);
+                    checkSize(width, height);
+                    break;
+                case "pacman":
+                    pacman = parseTile(parts, 1, lineNumber);
+                    break;
+                case "ghosts":
+                    for (int i = 0; i < ghosts.length; i++) {
+                        ghosts[i] = parseTile(parts, 1 + i * 2, lineNumber);
+                    }
+                    break;
+                case "house":
+                    house = parseTile(parts, 1, lineNumber);
+                    break;
+                case "exit":
+                    exit = parseTile(parts, 1, lineNumber);
+                    break;
+                case "fruit":
+                    fruit = parseTile(parts, 1, lineNumber);
+                    break;
+                case "tunnel_rows":
+                    tunnelRows = parseList(parts, lineNumber);
+                    break;
+                case "tunnel_columns":
+                    tunnelColumns = parseList(parts, lineNumber);
+                    break;
+                case "map":
+                    if (width < 0) {
+                        throw new IOException("地図より前にsizeの指定が必要です（" + lineNumber + "行目）");
+                    }
+                    tiles = new byte[width * height];
+                    for (int y = 0; y < height; y++) {
+                        String row = in.readLine();
+                        lineNumber++;
+                        if (row == null) {
+                            throw new IOException("地図の行が足りません: " + y + "/" + height);
+                        }
+                        if (row.length() < width || !row.substring(width).isBlank()) {
+                            throw new IOException("地図の行の長さが幅と一致しません（" + lineNumber + "行目）");
+                        }
+                        for (int x = 0; x < width; x++) {
+                            int tile = TILE_CHARS.indexOf(row.charAt(x));
+                            if (tile < 0) {
+                                throw new IOException("不正な地図の文字です（" + lineNumber + "行目）: " + row.charAt(x));
+                            }
+                            tiles[y * width + x] = (byte) tile;
+                        }
+                    }
+                    break;
+                default:
+                    throw new IOException("不明な項目です（" + lineNumber + "行目）: " + parts[0]);
+            }
+        }
+        if (tiles == null) {
+            throw new IOException("地図がありません");
+        }
+        if (tunnelRows == null) {
+            tunnelRows = MazeLayout.findTunnelRows(width, height, tiles);
+        }
+        if (tunnelColumns == null) {
+            tunnelColumns = MazeLayout.findTunnelColumns(width, height, tiles);
+        }
+        return create(width, height, tiles, tunnelRows, tunnelColumns,
+                new MazeMarkers(pacman, ghosts, house, exit, fruit));
+    }
+
+    private static int parseNumber(String[] parts, int index, int lineNumber) throws IOException {
+        if (index >= parts.length) {
+            throw new IOException("値が足りません（" + lineNumber + "行目）: " + parts[0]);
+        }
+        try {
+            return Integer.parseInt(parts[index]);
+        } catch (NumberFormatException e) {
+            throw new IOException("数値ではありません（" + lineNumber + "行目）: " + parts[index]);
+        }
+    }
+
+    private static int parseTile(String[] parts, int index, int lineNumber) throws IOException {
+        return Maze.packTile(parseNumber(parts, index, lineNumber), parseNumber(parts, index + 1, lineNumber));
+    }
+
+    private static int[] parseList(String[] parts, int lineNumber) throws IOException {
+        int[] values = new int[parts.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = parseNumber(parts, i + 1, lineNumber);
+        }
+        return values;
+    }
+
+    private static void checkSize(int width, int height) throws IOException {
+        if (width <= 0 || height <= 0 || width > MazeLayout.MAX_SIZE || height > MazeLayout.MAX_SIZE) {
+            throw new IOException("不正な迷路のサイズです: " + width + "x" + height);
+        }
+    }
+
+    /**
+     * 読み込んだ内容を検証して作成（トンネルと位置は迷路内であること）
+     */
+    private static MazeFile create(int width, int height, byte[] tiles, int[] tunnelRows, int[] tunnelColumns,
+            MazeMarkers markers) throws IOException {
+        if (!markers.fitsIn(width, height)) {
+            throw new IOException("開始位置などが迷路の外にあります");
+        }
+        for (int y : tunnelRows) {
+            if (y < 0 || y >= height) {
+                throw new IOException("トンネルの行が迷路の外にあります: " + y);
+            }
+        }
+        for (int x : tunnelColumns) {
+            if (x < 0 || x >= width) {
+                throw new IOException("トンネルの列が迷路の外にあります: " + x);
+            }
+        }
+        return new MazeFile(width, height, tiles, tunnelRows, tunnelColumns, markers);
+    }
+
+    /**
+     * テキスト形式で書き出す
+     */
+    public void writeText(Writer writer) throws IOException {
+        StringBuilder text = new StringBuilder((width + 1) * height + 256);
+        text.append("# パックマン迷路\n");
+        text.append("size ").append(width).append(' ').append(height).append('\n');
+        appendTile(text.append("pacman"), markers.getPacmanStart()).append('\n');
+        text.append("ghosts");
+        for (int i = 0; i < MazeMarkers.GHOST_COUNT; i++) {
+            appendTile(text, markers.getGhostStart(i));
+        }
+        text.append('\n');
+        appendTile(text.append("house"), markers.getGhostHouse()).append('\n');
+        appendTile(text.append("exit"), markers.getHouseExit()).append('\n');
+        appendTile(text.append("fruit"), markers.getFruit()).append('\n');
+        text.append("tunnel_rows");
+        for (int y : tunnelRows) {
+            text.append(' ').append(y);
+        }
+        text.append("\ntunnel_columns");
+        for (int x : tunnelColumns) {
+            text.append(' ').append(x);
+        }
+        text.append("\nmap\n");
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                text.append(TILE_CHARS.charAt(tiles[y * width + x]));
+            }
+            text.append('\n');
+        }
+        writer.write(text.toString());
+    }
+
+    private static StringBuilder appendTile(StringBuilder text, int tile) {
+        return text.append(' ').append(Maze.tileX(tile)).append(' ').append(Maze.tileY(tile));
+    }
+
+    /**
+     * バイナリ形式で読み込む
+     *
+     * @throws IOException 形式が不正な場合を含む
+     */
+    public static MazeFile readBinary(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("迷路ファイルではありません");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("未対応の迷路ファイルバージョンです: " + version);
+        }
+        int width = data.readUnsignedShort();
+        int height = data.readUnsignedShort();
+        checkSize(width, height);
+
+        int pacman = data.readInt();
+        int[] ghosts = new int[MazeMarkers.GHOST_COUNT];
+        for (int i = 0; i < ghosts.length; i++) {
+            ghosts[i] = data.readInt();
+        }
+        MazeMarkers markers = new MazeMarkers(pacman, ghosts, data.readInt(), data.readInt(), data.readInt());
+
+        int[] tunnelRows = new int[data.readUnsignedShort()];
+        for (int i = 0; i < tunnelRows.length; i++) {
+            tunnelRows[i] = data.readUnsignedShort();
+        }
+        int[] tunnelColumns = new int[data.readUnsignedShort()];
+        for (int i = 0; i < tunnelColumns.length; i++) {
+            tunnelColumns[i] = data.readUnsignedShort();
+        }
+
+        byte[] tiles = new byte[width * height];
+        int index = 0;
+        while (index < tiles.length) {
+            int run = readVarInt(data);
+            int tile = run & ((1 << TILE_BITS) - 1);
+            int length = run >>> TILE_BITS;
+            if (tile > Maze.GHOST_HOUSE_DOOR || length == 0 || length > tiles.length - index) {
+                throw new IOException("不正なタイルデータです");
+            }
+            Arrays.fill(tiles, index, index + length, (byte) tile);
+            index += length;
+        }
+        return create(width, height, tiles, tunnelRows, tunnelColumns, markers);
+    }
+
+    /**
+     * バイナリ形式で書き出す
+     */
+    public void writeBinary(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeShort(width);
+        data.writeShort(height);
+        data.writeInt(markers.getPacmanStart());
+        for (int i = 0; i < MazeMarkers.GHOST_COUNT; i++) {
+            data.writeInt(markers.getGhostStart(i));
+        }
+        data.writeInt(markers.getGhostHouse());
+        data.writeInt(markers.getHouseExit());
+        data.writeInt(markers.getFruit());
+        data.writeShort(tunnelRows.length);
+        for (int y : tunnelRows) {
+            data.writeShort(y);
+        }
+        data.writeShort(tunnelColumns.length);
+        for (int x : tunnelColumns) {
+            data.writeShort(x);
+        }
+
+        int index = 0;
+        while (index < tiles.length) {
+            int tile = tiles[index];
+            int end = index + 1;
+            while (end < tiles.length && tiles[end] == tile) {
+                end++;
+            }
+            writeVarInt(data, ((end - index) << TILE_BITS) | tile);
+            index = end;
+        }
+        data.flush();
+    }
+
+    /**
+     * バイナリ形式の内容（キャッシュのキーとなる内容ハッシュの計算に使う）
+     */
+    public byte[] toBinary() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeBinary(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // メモリ上への書き出しでは発生しない
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("可変長整数が長すぎます");
+    }
+
+    // ゲッターメソッド
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public MazeMarkers getMarkers() {
+        return markers;
+    }
+
+    /**
+     * 迷路ファイルの形式を変換する（入力に"classic"を指定するとオリジナルの迷路を書き出す）
+     *
+     * 実行例: java -cp target/classes com.pacman.model.MazeFile classic classic.pmz
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("使い方: MazeFile <入力ファイル|classic> <出力ファイル>");
+            System.exit(1);
+        }
+        MazeFile maze = args[0].equals("classic") ? new MazeFile(MazeLayout.classic()) : load(new File(args[0]));
+        maze.save(new File(args[1]));
+    }
+}
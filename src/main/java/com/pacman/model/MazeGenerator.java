@@ -0,0 +1,431 @@
+package com.pacman.model;
+
+import java.util.Arrays;
+
+import com.pacman.game.GameRandom;
+
+/**
+ * シードからパックマン風の迷路を生成するジェネレーター
+ *
+ * 迷路の左半分に通路の格子（交点＝ノード、隣接ノード間＝通路）を置き、
+ * 辺をランダムな順に並べたクラスカル法（Union-Find）で全域木を作ってから、
+ * 出口が1つしかないノードに辺を追加して行き止まりをなくす。右半分は左半分を反転して作る
+ * 中央にはオリジナルと同じ形のゴーストハウスと周回通路を置き、左右の端にトンネルを1〜2本開ける
+ * 開始位置などの位置情報もゴーストハウスとの相対位置で決まり、28×31ではオリジナルの迷路と同じ座標になる
+ *
+ * 作業用の配列を使い回すため、インスタンスはスレッドごとに用意すること
+ *
+ * 実行例（生成速度の計測）: java -cp target/classes com.pacman.model.MazeGenerator [個数] [幅] [高さ]
+ */
+public final class MazeGenerator {
+    /** 生成できる最小の幅 */
+    public static final int MIN_WIDTH = 12;
+    /** 生成できる最小の高さ */
+    public static final int MIN_HEIGHT = 15;
+
+    // 通路の縦線どうし・横線どうしの間隔
+    private static final int COLUMN_SPACING = 4;
+    private static final int ROW_SPACING = 3;
+
+    private final int width;
+    private final int height;
+
+    // 通路の縦線のX座標（左半分）と横線のY座標（いずれも昇順）
+    private final int[] columns;
+    private final int[] rows;
+
+    // ゴーストハウスを囲む周回通路（左上の角と、中央の縦線・周回通路の上下の行の番号）
+    private final int ringX;
+    private final int ringTop;
+    private final int ringColumn;
+    private final int ringTopRow;
+    private final int ringMiddleRow;
+    private final int ringBottomRow;
+
+    // パックマンの開始位置
+    private final int startY;
+
+    // 開始位置・ゴーストハウスなどの位置（サイズごとに固定）
+    private final MazeMarkers markers;
+
+    // ノード（[行番号 * 縦線の数 + 列番号]、ゴーストハウス内は存在しない）
+    private final boolean[] nodePresent;
+
+    // 辺（[ノード * 2] = 右のノードへ、[ノード * 2 + 1] = 下のノードへ）
+    private final boolean[] edgeValid;
+    private final boolean[] edgeForced;
+    private final int[] edgeOrder;
+    private final int edgeCount;
+
+    // 生成ごとに使い回す作業領域
+    private final boolean[] carved;
+    private final int[] parent;
+    private final int[] degree;
+    private final byte[] tiles;
+
+    /**
+     * オリジナルと同じ28×31の迷路を生成するジェネレーター
+     */
+    public MazeGenerator() {
+        this(Maze.WIDTH, Maze.HEIGHT);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param width  迷路の幅（偶数）
+     * @param height 迷路の高さ
+     */
+    public MazeGenerator(int width, int height) {
+        if (width % 2 != 0 || width < MIN_WIDTH || height < MIN_HEIGHT
+                || width > MazeLayout.MAX_SIZE || height > MazeLayout.MAX_SIZE) {
+            throw new IllegalArgumentException("生成できない迷路のサイズです: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+
+        // 縦線は周回通路の左端から左へ一定間隔で並べ、最後に中央の線を加える
+        int half = width / 2;
+        ringX = half - 5;
+        int leftCount = ringX / COLUMN_SPACING + 1;
+        columns = new int[leftCount + 1];
+        for (int i = 0; i < leftCount; i++) {
+            columns[i] = ringX - (leftCount - 1 - i) * COLUMN_SPACING;
+        }
+        columns[leftCount] = half - 1;
+
+        // 横線は周回通路の上端から上へ、下端から下へ一定間隔で並べる（ゴーストハウスの中央の行も含む）
+        ringTop = height / 2 - 4;
+        int above = (ringTop - 1) / ROW_SPACING;
+        int below = (height - 2 - (ringTop + 6)) / ROW_SPACING;
+        rows = new int[above + 3 + below];
+        for (int j = 0; j < rows.length; j++) {
+            rows[j] = ringTop + (j - above) * ROW_SPACING;
+        }
+        ringColumn = leftCount - 1;
+        ringTopRow = above;
+        ringMiddleRow = above + 1;
+        ringBottomRow = above + 2;
+
+        int startRow = Math.min(ringBottomRow + 2, rows.length - 1);
+        startY = rows[startRow];
+        int houseY = ringTop + 3;
+        markers = new MazeMarkers(
+                Maze.packTile(half, startY),
+                new int[] {
+                        Maze.packTile(half, houseY),
+                        Maze.packTile(half, ringTop + 6),
+                        Maze.packTile(half - 2, ringTop + 6),
+                        Maze.packTile(half + 2, ringTop + 6)
+                },
+                Maze.packTile(half, houseY),
+                Maze.packTile(half, ringTop),
+                Maze.packTile(half, Math.min(ringTop + 8, height - 1)));
+
+        int nodeCount = columns.length * rows.length;
+        nodePresent = new boolean[nodeCount];
+        for (int j = 0; j < rows.length; j++) {
+            for (int i = 0; i < columns.length; i++) {
+                // ゴーストハウスの中央の行では周回通路より内側にノードを置かない
+                nodePresent[node(i, j)] = !(j == ringMiddleRow && i > ringColumn);
+            }
+        }
+
+        edgeValid = new boolean[nodeCount * 2];
+        edgeForced = new boolean[nodeCount * 2];
+        int count = 0;
+        for (int j = 0; j < rows.length; j++) {
+            for (int i = 0; i < columns.length; i++) {
+                int n = node(i, j);
+                if (!nodePresent[n]) {
+                    continue;
+                }
+                if (i + 1 < columns.length && nodePresent[node(i + 1, j)]) {
+                    edgeValid[n * 2] = true;
+                    count++;
+                }
+                if (j + 1 < rows.length && nodePresent[node(i, j + 1)]) {
+                    edgeValid[n * 2 + 1] = true;
+                    count++;
+                }
+            }
+        }
+        edgeCount = count;
+        edgeOrder = new int[count];
+
+        // 周回通路は常に開ける
+        edgeForced[node(ringColumn, ringTopRow) * 2] = true;
+        edgeForced[node(ringColumn, ringBottomRow) * 2] = true;
+        edgeForced[node(ringColumn, ringTopRow) * 2 + 1] = true;
+        edgeForced[node(ringColumn, ringMiddleRow) * 2 + 1] = true;
+
+        carved = new boolean[nodeCount * 2];
+        parent = new int[nodeCount];
+        degree = new int[nodeCount];
+        tiles = new byte[width * height];
+    }
+
+    private int node(int column, int row) {
+        return row * columns.length + column;
+    }
+
+    /**
+     * シードから迷路を生成
+     */
+    public MazeLayout generate(long seed) {
+        GameRandom random = new GameRandom(seed);
+
+        Arrays.fill(carved, false);
+        Arrays.fill(degree, 0);
+        for (int n = 0; n < parent.length; n++) {
+            parent[n] = n;
+        }
+
+        // 周回通路の辺を先に結合し、残りの辺をランダムな順に見て全域木を作る（クラスカル法）
+        int count = 0;
+        for (int e = 0; e < edgeValid.length; e++) {
+            if (!edgeValid[e]) {
+                continue;
+            }
+            if (edgeForced[e]) {
+                carve(e);
+            } else {
+                edgeOrder[count++] = e;
+            }
+        }
+        for (int k = count - 1; k > 0; k--) {
+            int swap = random.nextInt(k + 1);
+            int e = edgeOrder[k];
+            edgeOrder[k] = edgeOrder[swap];
+            edgeOrder[swap] = e;
+        }
+        for (int k = 0; k < count; k++) {
+            int e = edgeOrder[k];
+            int a = e >> 1;
+            int b = otherEnd(e);
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA != rootB) {
+                parent[rootA] = rootB;
+                carve(e);
+            }
+        }
+
+        // トンネル（最上段・最下段以外の行から1〜2本）
+        int tunnelCount = 1 + random.nextInt(2);
+        int[] tunnelRows = new int[tunnelCount];
+        for (int t = 0; t < tunnelCount; t++) {
+            int row;
+            do {
+                row = 1 + random.nextInt(rows.length - 2);
+            } while (t > 0 && row == tunnelRows[0]);
+            tunnelRows[t] = row;
+            degree[node(0, row)]++;
+        }
+
+        // 中央の縦線のノードは反転した右半分のノードと隣接している
+        for (int j = 0; j < rows.length; j++) {
+            if (nodePresent[node(columns.length - 1, j)]) {
+                degree[node(columns.length - 1, j)]++;
+            }
+        }
+
+        // 出口が1つしかないノードに辺を追加（相手も行き止まりのノードを優先）
+        int[] candidates = new int[4];
+        for (int n = 0; n < nodePresent.length; n++) {
+            if (!nodePresent[n] || degree[n] >= 2) {
+                continue;
+            }
+            int found = 0;
+            int preferred = 0;
+            for (int side = 0; side < 4; side++) {
+                int e = edgeAt(n, side);
+                if (e < 0 || !edgeValid[e] || carved[e]) {
+                    continue;
+                }
+                int other = (e >> 1) == n ? otherEnd(e) : e >> 1;
+                if (degree[other] < 2) {
+                    // 優先する辺を配列の先頭側に集める
+                    candidates[found++] = candidates[preferred];
+                    candidates[preferred++] = e;
+                } else {
+                    candidates[found++] = e;
+                }
+            }
+            if (found > 0) {
+                carve(candidates[random.nextInt(preferred > 0 ? preferred : found)]);
+            }
+        }
+
+        return buildLayout(tunnelRows);
+    }
+
+    /**
+     * ノードの上下左右の辺番号（0=左, 1=右, 2=上, 3=下、格子の外は-1）
+     */
+    private int edgeAt(int n, int side) {
+        int i = n % columns.length;
+        int j = n / columns.length;
+        switch (side) {
+            case 0:
+                return i > 0 ? node(i - 1, j) * 2 : -1;
+            case 1:
+                return n * 2;
+            case 2:
+                return j > 0 ? node(i, j - 1) * 2 + 1 : -1;
+            default:
+                return n * 2 + 1;
+        }
+    }
+
+    private int otherEnd(int edge) {
+        int n = edge >> 1;
+        return (edge & 1) == 0 ? n + 1 : n + columns.length;
+    }
+
+    private void carve(int edge) {
+        carved[edge] = true;
+        degree[edge >> 1]++;
+        degree[otherEnd(edge)]++;
+    }
+
+    private int find(int n) {
+        while (parent[n] != n) {
+            parent[n] = parent[parent[n]];
+            n = parent[n];
+        }
+        return n;
+    }
+
+    /**
+     * 掘った辺からタイル配置を作る
+     */
+    private MazeLayout buildLayout(int[] tunnelRows) {
+        Arrays.fill(tiles, (byte) Maze.WALL);
+
+        // 左半分の通路（ノード自体と、掘った辺に沿ったタイル）
+        for (int n = 0; n < nodePresent.length; n++) {
+            if (!nodePresent[n]) {
+                continue;
+            }
+            int x = columns[n % columns.length];
+            int y = rows[n / columns.length];
+            setTile(x, y, Maze.PELLET);
+            if (carved[n * 2]) {
+                int toX = columns[n % columns.length + 1];
+                for (int tx = x + 1; tx < toX; tx++) {
+                    setTile(tx, y, Maze.PELLET);
+                }
+            }
+            if (carved[n * 2 + 1]) {
+                int toY = rows[n / columns.length + 1];
+                for (int ty = y + 1; ty < toY; ty++) {
+                    setTile(x, ty, Maze.PELLET);
+                }
+            }
+        }
+
+        // トンネル（端から最初の縦線までペレットなし）
+        for (int row : tunnelRows) {
+            for (int x = 0; x < columns[0]; x++) {
+                setTile(x, rows[row], Maze.EMPTY);
+            }
+        }
+
+        // ゴーストハウスの周回通路（ペレットなし）
+        int half = width / 2;
+        int ringBottom = ringTop + 6;
+        for (int x = ringX; x < half; x++) {
+            setTile(x, ringTop, Maze.EMPTY);
+            setTile(x, ringBottom, Maze.EMPTY);
+        }
+        for (int y = ringTop; y <= ringBottom; y++) {
+            setTile(ringX, y, Maze.EMPTY);
+        }
+
+        // パワーペレットと開始位置
+        setTile(columns[0], rows[1], Maze.POWER_PELLET);
+        setTile(columns[0], rows[rows.length - 2], Maze.POWER_PELLET);
+        setTile(half - 1, startY, Maze.EMPTY);
+
+        // 左半分を右半分へ反転コピー
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            for (int x = 0; x < half; x++) {
+                tiles[row + width - 1 - x] = tiles[row + x];
+            }
+        }
+
+        // ゴーストハウス（内部とドア、周囲は壁のまま）
+        for (int y = ringTop + 2; y <= ringTop + 4; y++) {
+            for (int x = ringX + 2; x < width - ringX - 2; x++) {
+                tiles[y * width + x] = Maze.GHOST_HOUSE;
+            }
+        }
+        tiles[(ringTop + 1) * width + half - 1] = Maze.GHOST_HOUSE_DOOR;
+        tiles[(ringTop + 1) * width + half] = Maze.GHOST_HOUSE_DOOR;
+
+        return new MazeLayout(width, height, tiles, markers);
+    }
+
+    private void setTile(int x, int y, int tile) {
+        tiles[y * width + x] = (byte) tile;
+    }
+
+    // ゲッターメソッド
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 生成する迷路の開始位置・ゴーストハウスなどの位置
+     */
+    public MazeMarkers getMarkers() {
+        return markers;
+    }
+
+    /**
+     * 生成速度と検証コストを計測して表示する
+     * 生成した迷路が1つでも検証に失敗した場合は終了コード1で終了する
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int width = args.length > 1 ? Integer.parseInt(args[1]) : Maze.WIDTH;
+        int height = args.length > 2 ? Integer.parseInt(args[2]) : Maze.HEIGHT;
+
+        MazeGenerator generator = new MazeGenerator(width, height);
+
+        // ウォームアップ
+        for (int i = 0; i < Math.min(count, 2000); i++) {
+            MazeValidator.validate(generator.generate(-1 - i));
+        }
+
+        long generateNanos = 0;
+        long validateNanos = 0;
+        int failures = 0;
+        for (int i = 0; i < count; i++) {
+            long t0 = System.nanoTime();
+            MazeLayout layout = generator.generate(i);
+            long t1 = System.nanoTime();
+            String error = MazeValidator.validate(layout);
+            long t2 = System.nanoTime();
+            generateNanos += t1 - t0;
+            validateNanos += t2 - t1;
+            if (error != null) {
+                failures++;
+                System.err.println("検証エラー (シード " + i + "): " + error);
+            }
+        }
+
+        System.out.printf("%dx%d: %d layouts, generate %.0f layouts/s (%.1f us/layout), validate %.1f us/layout, failures=%d%n",
+                width, height, count, count * 1e9 / Math.max(1, generateNanos), generateNanos / 1e3 / count,
+                validateNanos / 1e3 / count, failures);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
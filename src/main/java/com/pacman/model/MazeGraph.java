@@ -0,0 +1,164 @@
+package com.pacman.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.pacman.game.Direction;
+
+/**
+ * 迷路レイアウトから一度だけ事前計算するナビゲーション情報
+ * タイルごとの出口ビットマスク（パックマン用・ゴースト用、トンネル考慮）を保持する
+ * 移動処理はこれを参照することで、毎フレームのリスト生成や壁判定を行わずに済む
+ * 分岐点間の通路長付きのグラフは、必要になった時にJunctionGraphとして構築する（MazeLayout.getJunctionGraph()）
+ */
+public final class MazeGraph {
+    // 出口のないチャンク（壁だけのチャンク用、全グラフで共有し書き換えない）
+    private static final byte[] NO_EXITS = new byte[MazeLayout.CHUNK_SIZE * MazeLayout.CHUNK_SIZE];
+
+    private final int width;
+    private final int height;
+    private final int chunksX;
+
+    // タイルごとの出口ビットマスク（Direction.getMask()の論理和）をレイアウトと同じチャンク単位で保持
+    // 下位4ビットがパックマン用、上位4ビットがゴースト用
+    private final byte[][] exitChunks;
+
+    /**
+     * レイアウトから出口マスクを構築
+     */
+    MazeGraph(MazeLayout layout) {
+        width = layout.getWidth();
+        height = layout.getHeight();
+        chunksX = layout.getChunkCountX();
+        int chunksY = layout.getChunkCountY();
+
+        exitChunks = new byte[chunksX * chunksY][];
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                if (layout.isWallChunk(cx, cy)) {
+                    exitChunks[cy * chunksX + cx] = NO_EXITS;
+                    continue;
+                }
+                byte[] chunk = new byte[MazeLayout.CHUNK_SIZE * MazeLayout.CHUNK_SIZE];
+                for (int ty = 0; ty < MazeLayout.CHUNK_SIZE; ty++) {
+                    for (int tx = 0; tx < MazeLayout.CHUNK_SIZE; tx++) {
+                        int x = (cx << MazeLayout.CHUNK_SHIFT) + tx;
+                        int y = (cy << MazeLayout.CHUNK_SHIFT) + ty;
+                        if (x < width && y < height) {
+                            chunk[(ty << MazeLayout.CHUNK_SHIFT) | tx] = (byte) computeExits(layout, x, y);
+                        }
+                    }
+                }
+                exitChunks[cy * chunksX + cx] = chunk;
+            }
+        }
+    }
+
+    /**
+     * キャッシュに保存した内容から復元（壁だけのチャンクはレイアウトから判断し、保存しない）
+     */
+    MazeGraph(MazeLayout layout, ByteBuffer data) {
+        width = layout.getWidth();
+        height = layout.getHeight();
+        chunksX = layout.getChunkCountX();
+        int chunksY = layout.getChunkCountY();
+
+        exitChunks = new byte[chunksX * chunksY][];
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                if (layout.isWallChunk(cx, cy)) {
+                    exitChunks[cy * chunksX + cx] = NO_EXITS;
+                } else {
+                    byte[] chunk = new byte[MazeLayout.CHUNK_SIZE * MazeLayout.CHUNK_SIZE];
+                    data.get(chunk);
+                    exitChunks[cy * chunksX + cx] = chunk;
+                }
+            }
+        }
+    }
+
+    /**
+     * キャッシュへ書き出す（MazeGraph(MazeLayout, ByteBuffer)で読み込める形式）
+     */
+    void write(DataOutputStream out) throws IOException {
+        for (byte[] chunk : exitChunks) {
+            if (chunk != NO_EXITS) {
+                out.write(chunk);
+            }
+        }
+    }
+
+    /**
+     * 1タイル分の出口マスク（下位4ビットがパックマン用、上位4ビットがゴースト用）
+     */
+    private int computeExits(MazeLayout layout, int x, int y) {
+        int tile = layout.getTile(x, y);
+        if (tile == Maze.WALL) {
+            return 0;
+        }
+        int pacmanMask = 0;
+        int ghostMask = 0;
+        for (int d = 0; d < 4; d++) {
+            int neighbor = neighborTile(layout, x, y, d);
+            if (neighbor < 0) {
+                continue;
+            }
+            int nx = neighbor % width;
+            int ny = neighbor / width;
+            if (isWalkable(layout, x, y) && isWalkable(layout, nx, ny)) {
+                pacmanMask |= 1 << d;
+            }
+            if (layout.getTile(nx, ny) != Maze.WALL) {
+                ghostMask |= 1 << d;
+            }
+        }
+        return pacmanMask | (ghostMask << 4);
+    }
+
+    /**
+     * 指定方向の隣接タイル番号を取得（トンネルでは反対側へ折り返す）
+     *
+     * @return タイル番号（迷路外の場合は-1）
+     */
+    private int neighborTile(MazeLayout layout, int x, int y, int dirIndex) {
+        Direction dir = Direction.fromIndex(dirIndex);
+        int nx = x + dir.getDx();
+        int ny = y + dir.getDy();
+        if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+            if (!layout.isTunnel(x, y)) {
+                return -1;
+            }
+            nx = (nx + width) % width;
+            ny = (ny + height) % height;
+        }
+        return ny * width + nx;
+    }
+
+    private static boolean isWalkable(MazeLayout layout, int x, int y) {
+        int tile = layout.getTile(x, y);
+        return tile != Maze.WALL && tile != Maze.GHOST_HOUSE_DOOR;
+    }
+
+    /**
+     * パックマンが指定タイルから進める方向のビットマスク
+     */
+    public int getPacmanExits(int x, int y) {
+        return getExits(x, y) & 0x0F;
+    }
+
+    /**
+     * ゴーストが指定タイルから進める方向のビットマスク
+     */
+    public int getGhostExits(int x, int y) {
+        return getExits(x, y) >>> 4;
+    }
+
+    private int getExits(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return 0;
+        }
+        return exitChunks[(y >> MazeLayout.CHUNK_SHIFT) * chunksX + (x >> MazeLayout.CHUNK_SHIFT)][
+                ((y & MazeLayout.CHUNK_MASK) << MazeLayout.CHUNK_SHIFT) | (x & MazeLayout.CHUNK_MASK)] & 0xFF;
+    }
+}
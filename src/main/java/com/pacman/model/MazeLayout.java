@@ -0,0 +1,549 @@
+package com.pacman.model;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * 迷路の不変なレイアウトテンプレート
+ * タイル配置と初期ペレット配置を保持し、複数のゲームインスタンスで共有される
+ * ゲームごとに変化するペレットの残り状態はMaze側のビットセットで管理する
+ *
+ * タイルと初期ペレット配置は32×32のチャンク単位で保持し、壁だけ・ペレットなしのチャンクは1つの配列を共有する
+ * 大きな迷路（最大4096×4096）でもメモリ使用量は通路のある領域にほぼ比例し、
+ * 1タイルの変更ではそのタイルを含むチャンクだけを複製する
+ */
+public final class MazeLayout {
+    /** 迷路の一辺の最大タイル数 */
+    public static final int MAX_SIZE = 4096;
+
+    /** チャンクの一辺のタイル数（2の累乗） */
+    public static final int CHUNK_SIZE = 32;
+    static final int CHUNK_SHIFT = 5;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** ペレットのビットセットの1チャンク分のワード数 */
+    static final int PELLET_CHUNK_WORDS = CHUNK_SIZE * CHUNK_SIZE / Long.SIZE;
+
+    // 壁だけのチャンク（WALL == 0 のため全要素0、全レイアウトで共有し書き換えない）
+    private static final byte[] WALL_CHUNK = new byte[CHUNK_SIZE * CHUNK_SIZE];
+
+    // ペレットのないチャンクのビットセット（全レイアウト・全迷路で共有し書き換えない）
+    static final long[] EMPTY_PELLET_CHUNK = new long[PELLET_CHUNK_WORDS];
+
+    // オリジナルのアーケード版に近いレイアウト（全インスタンスで共有）
+    private static final MazeLayout CLASSIC = new MazeLayout(createClassicTiles());
+
+    private final int width;
+    private final int height;
+
+    // チャンクごとのタイルタイプ（[チャンク行 * chunksX + チャンク列][チャンク内の行 * CHUNK_SIZE + 列]）
+    private final int chunksX;
+    private final int chunksY;
+    private final byte[][] chunks;
+
+    // トンネル（左右の端どうし・上下の端どうしをつなぐ行と列）
+    private final boolean[] tunnelRows;
+    private final boolean[] tunnelColumns;
+
+    // チャンクごとの初期ペレット配置のビットセット（ビット番号 = チャンク内の行 * CHUNK_SIZE + 列）
+    private final long[][] pelletChunks;
+    private final int pelletCount;
+
+    // ゴーストが通れるタイル数（壁以外）
+    private final int openTileCount;
+
+    // 開始位置・ゴーストハウスなどの位置
+    private final MazeMarkers markers;
+
+    // 壁配置から事前計算したナビゲーション情報
+    private final MazeGraph graph;
+
+    // 分岐点グラフ（最短経路長テーブルの構築時などに必要になってから構築）
+    private volatile JunctionGraph junctionGraph;
+
+    // 全タイル間の最短経路長（経路探索型のゴーストAIを使う場合のみ構築）
+    private volatile DistanceTable distanceTable;
+
+    // 内容ハッシュ（初回の取得時に計算、0は未計算）
+    private volatile long contentHash;
+
+    /**
+     * 行ごとのタイル配列からレイアウトを作成（左右・上下の端が両方とも通路の行・列をトンネルとする）
+     *
+     * @param rows タイルタイプの2次元配列（すべての行が同じ長さであること）
+     */
+    public MazeLayout(int[][] rows) {
+        this(rows.length == 0 ? 0 : rows[0].length, rows.length, toTiles(rows));
+    }
+
+    /**
+     * 行優先の1次元配列からレイアウトを作成（左右・上下の端が両方とも通路の行・列をトンネルとする）
+     *
+     * @param width  幅（タイル数）
+     * @param height 高さ（タイル数）
+     * @param tiles  タイルタイプ（インデックス = y * width + x）
+     */
+    public MazeLayout(int width, int height, byte[] tiles) {
+        this(width, height, tiles, MazeMarkers.classic());
+    }
+
+    /**
+     * 位置情報を指定して1次元配列からレイアウトを作成（左右・上下の端が両方とも通路の行・列をトンネルとする）
+     *
+     * @param width   幅（タイル数）
+     * @param height  高さ（タイル数）
+     * @param tiles   タイルタイプ（インデックス = y * width + x）
+     * @param markers 開始位置・ゴーストハウスなどの位置
+     */
+    public MazeLayout(int width, int height, byte[] tiles, MazeMarkers markers) {
+        this(width, height, tiles, findTunnelRows(width, height, tiles), findTunnelColumns(width, height, tiles),
+                markers);
+    }
+
+    /**
+     * トンネルを指定してレイアウトを作成
+     *
+     * @param width         幅（タイル数）
+     * @param height        高さ（タイル数）
+     * @param tiles         タイルタイプ（インデックス = y * width + x）
+     * @param tunnelRows    左端と右端をつなぐ行
+     * @param tunnelColumns 上端と下端をつなぐ列
+     */
+    public MazeLayout(int width, int height, byte[] tiles, int[] tunnelRows, int[] tunnelColumns) {
+        this(width, height, tiles, tunnelRows, tunnelColumns, MazeMarkers.classic());
+    }
+
+    /**
+     * トンネルと位置情報を指定してレイアウトを作成
+     *
+     * @param width         幅（タイル数）
+     * @param height        高さ（タイル数）
+     * @param tiles         タイルタイプ（インデックス = y * width + x）
+     * @param tunnelRows    左端と右端をつなぐ行
+     * @param tunnelColumns 上端と下端をつなぐ列
+     * @param markers       開始位置・ゴーストハウスなどの位置
+     */
+    public MazeLayout(int width, int height, byte[] tiles, int[] tunnelRows, int[] tunnelColumns,
+            MazeMarkers markers) {
+        this(width, height, tiles, tunnelRows, tunnelColumns, markers, MazeGraph::new);
+    }
+
+    /**
+     * ナビゲーション情報の作り方を指定してレイアウトを作成（キャッシュから読み込む場合に使用）
+     */
+    MazeLayout(int width, int height, byte[] tiles, int[] tunnelRows, int[] tunnelColumns, MazeMarkers markers,
+            Function<MazeLayout, MazeGraph> graphFactory) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("迷路レイアウトが空です");
+        }
+        if (width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("迷路が大きすぎます: " + width + "x" + height);
+        }
+        if (tiles.length != width * height) {
+            throw new IllegalArgumentException("タイル数が迷路のサイズと一致しません: " + tiles.length);
+        }
+        if (!markers.fitsIn(width, height)) {
+            throw new IllegalArgumentException("開始位置などが迷路の外にあります");
+        }
+        this.width = width;
+        this.height = height;
+        this.markers = markers;
+        chunksX = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+        chunksY = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+        chunks = new byte[chunksX * chunksY][];
+        pelletChunks = new long[chunksX * chunksY][];
+
+        int open = 0;
+        int pellets = 0;
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                byte[] chunk = null;
+                long[] pelletChunk = null;
+                int maxY = Math.min(CHUNK_SIZE, height - (cy << CHUNK_SHIFT));
+                int maxX = Math.min(CHUNK_SIZE, width - (cx << CHUNK_SHIFT));
+                for (int ty = 0; ty < maxY; ty++) {
+                    int row = ((cy << CHUNK_SHIFT) + ty) * width + (cx << CHUNK_SHIFT);
+                    for (int tx = 0; tx < maxX; tx++) {
+                        byte tile = tiles[row + tx];
+                        if (tile == Maze.WALL) {
+                            continue;
+                        }
+                        if (tile < Maze.WALL || tile > Maze.GHOST_HOUSE_DOOR) {
+                            throw new IllegalArgumentException("不正なタイルタイプです: " + tile);
+                        }
+                        if (chunk == null) {
+                            chunk = new byte[CHUNK_SIZE * CHUNK_SIZE];
+                        }
+                        int local = (ty << CHUNK_SHIFT) | tx;
+                        chunk[local] = tile;
+                        open++;
+                        if (isPelletTile(tile)) {
+                            if (pelletChunk == null) {
+                                pelletChunk = new long[PELLET_CHUNK_WORDS];
+                            }
+                            pelletChunk[local >>> 6] |= 1L << local;
+                            pellets++;
+                        }
+                    }
+                }
+                chunks[cy * chunksX + cx] = chunk != null ? chunk : WALL_CHUNK;
+                pelletChunks[cy * chunksX + cx] = pelletChunk != null ? pelletChunk : EMPTY_PELLET_CHUNK;
+            }
+        }
+        openTileCount = open;
+        pelletCount = pellets;
+
+        this.tunnelRows = new boolean[height];
+        for (int y : tunnelRows) {
+            if (y < 0 || y >= height || getTile(0, y) == Maze.WALL || getTile(width - 1, y) == Maze.WALL) {
+                throw new IllegalArgumentException("トンネルの両端が通路ではありません: 行 " + y);
+            }
+            this.tunnelRows[y] = true;
+        }
+        this.tunnelColumns = new boolean[width];
+        for (int x : tunnelColumns) {
+            if (x < 0 || x >= width || getTile(x, 0) == Maze.WALL || getTile(x, height - 1) == Maze.WALL) {
+                throw new IllegalArgumentException("トンネルの両端が通路ではありません: 列 " + x);
+            }
+            this.tunnelColumns[x] = true;
+        }
+
+        graph = graphFactory.apply(this);
+    }
+
+    /**
+     * 1タイルだけ差し替えたレイアウトを作成するコンストラクタ
+     * 変更したタイルを含むチャンクだけを複製し、他のチャンクは共有する
+     */
+    private MazeLayout(MazeLayout source, int x, int y, int tileType) {
+        width = source.width;
+        height = source.height;
+        chunksX = source.chunksX;
+        chunksY = source.chunksY;
+        tunnelRows = source.tunnelRows;
+        tunnelColumns = source.tunnelColumns;
+        markers = source.markers;
+
+        int oldTile = source.getTile(x, y);
+        int chunkIndex = (y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT);
+        chunks = source.chunks.clone();
+        chunks[chunkIndex] = source.chunks[chunkIndex].clone();
+        chunks[chunkIndex][((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK)] = (byte) tileType;
+        openTileCount = source.openTileCount
+                + (oldTile == Maze.WALL ? 1 : 0) - (tileType == Maze.WALL ? 1 : 0);
+
+        int local = ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+        pelletChunks = source.pelletChunks.clone();
+        long[] pelletChunk = pelletChunks[chunkIndex].clone();
+        if (isPelletTile(tileType)) {
+            pelletChunk[local >>> 6] |= 1L << local;
+        } else {
+            pelletChunk[local >>> 6] &= ~(1L << local);
+        }
+        pelletChunks[chunkIndex] = isEmpty(pelletChunk) ? EMPTY_PELLET_CHUNK : pelletChunk;
+        pelletCount = source.pelletCount
+                + (isPelletTile(tileType) ? 1 : 0) - (isPelletTile(oldTile) ? 1 : 0);
+        // 移動可能性が変わらなければナビゲーション情報は共有できる
+        graph = isPassageChange(oldTile, tileType) ? new MazeGraph(this) : source.graph;
+    }
+
+    /**
+     * オリジナルのレイアウトを取得
+     */
+    public static MazeLayout classic() {
+        return CLASSIC;
+    }
+
+    /**
+     * 指定座標のタイルだけを変更したレイアウトを作成
+     */
+    MazeLayout withTile(int x, int y, int tileType) {
+        return new MazeLayout(this, x, y, tileType);
+    }
+
+    private static byte[] toTiles(int[][] rows) {
+        if (rows.length == 0) {
+            return new byte[0];
+        }
+        int width = rows[0].length;
+        byte[] tiles = new byte[width * rows.length];
+        for (int y = 0; y < rows.length; y++) {
+            if (rows[y].length != width) {
+                throw new IllegalArgumentException("迷路レイアウトの行の長さが不揃いです: " + y);
+            }
+            for (int x = 0; x < width; x++) {
+                tiles[y * width + x] = (byte) rows[y][x];
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * 左端と右端が両方とも通路の行を列挙
+     */
+    static int[] findTunnelRows(int width, int height, byte[] tiles) {
+        if (width <= 0 || tiles.length != width * height) {
+            return new int[0];
+        }
+        int count = 0;
+        int[] rows = new int[height];
+        for (int y = 0; y < height; y++) {
+            if (tiles[y * width] != Maze.WALL && tiles[y * width + width - 1] != Maze.WALL) {
+                rows[count++] = y;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * 上端と下端が両方とも通路の列を列挙
+     */
+    static int[] findTunnelColumns(int width, int height, byte[] tiles) {
+        if (height <= 0 || tiles.length != width * height) {
+            return new int[0];
+        }
+        int count = 0;
+        int[] columns = new int[width];
+        int bottom = (height - 1) * width;
+        for (int x = 0; x < width; x++) {
+            if (tiles[x] != Maze.WALL && tiles[bottom + x] != Maze.WALL) {
+                columns[count++] = x;
+            }
+        }
+        return Arrays.copyOf(columns, count);
+    }
+
+    private static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isPelletTile(int tile) {
+        return tile == Maze.PELLET || tile == Maze.POWER_PELLET;
+    }
+
+    static boolean isPassageChange(int oldTile, int newTile) {
+        return (oldTile == Maze.WALL) != (newTile == Maze.WALL)
+                || (oldTile == Maze.GHOST_HOUSE_DOOR) != (newTile == Maze.GHOST_HOUSE_DOOR);
+    }
+
+    /**
+     * 範囲内かどうか判定
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * 指定座標の初期タイルタイプを取得（範囲外は壁）
+     */
+    public int getTile(int x, int y) {
+        if (!contains(x, y)) {
+            return Maze.WALL;
+        }
+        return chunks[(y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT)][((y & CHUNK_MASK) << CHUNK_SHIFT)
+                | (x & CHUNK_MASK)];
+    }
+
+    /**
+     * 指定チャンクが壁だけかどうか（描画や事前計算で丸ごと読み飛ばすため）
+     *
+     * @param chunkX チャンク列（x / CHUNK_SIZE）
+     * @param chunkY チャンク行（y / CHUNK_SIZE）
+     */
+    public boolean isWallChunk(int chunkX, int chunkY) {
+        return chunks[chunkY * chunksX + chunkX] == WALL_CHUNK;
+    }
+
+    /**
+     * トンネルの判定（トンネルとして指定した行の左右の端、列の上下の端）
+     */
+    public boolean isTunnel(int x, int y) {
+        if (!contains(x, y)) {
+            return false;
+        }
+        return (tunnelRows[y] && (x == 0 || x == width - 1))
+                || (tunnelColumns[x] && (y == 0 || y == height - 1));
+    }
+
+    /**
+     * 左端と右端をつなぐトンネルの行かどうか
+     */
+    public boolean isTunnelRow(int y) {
+        return y >= 0 && y < height && tunnelRows[y];
+    }
+
+    /**
+     * 上端と下端をつなぐトンネルの列かどうか
+     */
+    public boolean isTunnelColumn(int x) {
+        return x >= 0 && x < width && tunnelColumns[x];
+    }
+
+    /**
+     * 指定チャンクの初期ペレット配置のビットセット（共有されるため書き換えないこと）
+     *
+     * @param chunk チャンク番号（チャンク行 * getChunkCountX() + チャンク列）
+     */
+    long[] getPelletChunk(int chunk) {
+        return pelletChunks[chunk];
+    }
+
+    // ゲッターメソッド
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getChunkCountX() {
+        return chunksX;
+    }
+
+    public int getChunkCountY() {
+        return chunksY;
+    }
+
+    public int getPelletCount() {
+        return pelletCount;
+    }
+
+    /**
+     * 壁以外のタイル数
+     */
+    public int getOpenTileCount() {
+        return openTileCount;
+    }
+
+    public MazeGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * 開始位置・ゴーストハウスなどの位置
+     */
+    public MazeMarkers getMarkers() {
+        return markers;
+    }
+
+    /**
+     * 内容ハッシュ（迷路ファイルのバイナリ形式から求める、リプレイを記録した迷路の照合に使う）
+     * 同じ内容のレイアウトは、読み込み元や作成方法によらず同じ値になる
+     */
+    public long getContentHash() {
+        long hash = contentHash;
+        if (hash == 0) {
+            hash = MazeCache.contentHash(new MazeFile(this));
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * 分岐点グラフを取得（初回呼び出し時に構築し、以後はゲーム間で共有）
+     */
+    public JunctionGraph getJunctionGraph() {
+        JunctionGraph junctions = junctionGraph;
+        if (junctions == null) {
+            synchronized (this) {
+                junctions = junctionGraph;
+                if (junctions == null) {
+                    junctions = new JunctionGraph(this);
+                    junctionGraph = junctions;
+                }
+            }
+        }
+        return junctions;
+    }
+
+    /**
+     * キャッシュから読み込んだ分岐点グラフを設定
+     */
+    void setJunctionGraph(JunctionGraph junctions) {
+        junctionGraph = junctions;
+    }
+
+    /**
+     * 最短経路長テーブルを取得（初回呼び出し時に構築し、以後はゲーム間で共有）
+     * テーブルは分岐点数の2乗の大きさになるため、大きな迷路では構築しない
+     *
+     * @return テーブル（迷路が大きすぎて構築しない場合はnull）
+     */
+    public DistanceTable getDistanceTable() {
+        if (!DistanceTable.supports(this)) {
+            return null;
+        }
+        DistanceTable table = distanceTable;
+        if (table == null) {
+            synchronized (this) {
+                table = distanceTable;
+                if (table == null) {
+                    table = new DistanceTable(this);
+                    distanceTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 構築済みの最短経路長テーブルを取得（未構築ならnull、構築はしない）
+     */
+    DistanceTable peekDistanceTable() {
+        return distanceTable;
+    }
+
+    /**
+     * キャッシュから読み込んだ最短経路長テーブルを設定
+     */
+    void setDistanceTable(DistanceTable table) {
+        distanceTable = table;
+    }
+
+    /**
+     * オリジナルのパックマンの迷路に近いレイアウトを定義
+     */
+    private static int[][] createClassicTiles() {
+        // 0=壁, 1=通常ペレット, 2=パワーペレット, 3=空, 4=ゴーストハウス, 5=ゴーストハウスドア
+        return new int[][] {
+                // 28列 × 31行のレイアウト
+                { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
+                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
+                { 0, 2, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 2, 0 },
+                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
+                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
+                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
+                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
+                { 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 3, 0, 0, 3, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 3, 0, 0, 3, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 5, 5, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 4, 4, 4, 4, 4, 4, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 3, 3, 3, 3, 3, 3, 1, 3, 3, 3, 0, 4, 4, 4, 4, 4, 4, 0, 3, 3, 3, 1, 3, 3, 3, 3, 3, 3 }, // トンネル
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 4, 4, 4, 4, 4, 4, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 1, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 3, 0, 0, 1, 0, 0, 0, 0, 0, 0 },
+                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
+                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
+                { 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0 },
+                { 0, 2, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 1, 3, 3, 1, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 2, 0 },
+                { 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0 },
+                { 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 1, 0, 0, 0 },
+                { 0, 1, 1, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 0, 0, 1, 1, 1, 1, 1, 1, 0 },
+                { 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0 },
+                { 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0 },
+                { 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0 },
+                { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }
+        };
+    }
+}
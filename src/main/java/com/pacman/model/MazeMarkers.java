@@ -0,0 +1,113 @@
+package com.pacman.model;
+
+import java.util.Arrays;
+
+/**
+ * 迷路ごとに決まる特別な位置（開始位置・ゴーストハウス・出口・フルーツ）
+ * すべてMaze.packTileで詰めたタイル座標で保持する不変オブジェクト
+ */
+public final class MazeMarkers {
+    /** ゴーストの数（Blinky, Pinky, Inky, Clydeの順） */
+    public static final int GHOST_COUNT = 4;
+
+    // オリジナルの迷路の位置
+    private static final MazeMarkers CLASSIC = new MazeMarkers(
+            Maze.packTile(14, 23),
+            new int[] {
+                    Maze.packTile(14, 14), // Blinky (赤)
+                    Maze.packTile(14, 17), // Pinky (ピンク)
+                    Maze.packTile(12, 17), // Inky (青)
+                    Maze.packTile(16, 17) // Clyde (オレンジ)
+            },
+            Maze.packTile(14, 14),
+            Maze.packTile(14, 11),
+            Maze.packTile(14, 19));
+
+    private final int pacmanStart;
+    private final int[] ghostStarts;
+    private final int ghostHouse;
+    private final int houseExit;
+    private final int fruit;
+
+    /**
+     * コンストラクタ
+     *
+     * @param pacmanStart パックマンの開始位置
+     * @param ghostStarts ゴーストの開始位置（GHOST_COUNT個）
+     * @param ghostHouse  食べられたゴーストが戻る位置
+     * @param houseExit   ゴーストハウスの出口（ゴーストはここから通常移動を始める）
+     * @param fruit       フルーツの出現位置
+     */
+    public MazeMarkers(int pacmanStart, int[] ghostStarts, int ghostHouse, int houseExit, int fruit) {
+        if (ghostStarts.length != GHOST_COUNT) {
+            throw new IllegalArgumentException("ゴーストの開始位置は" + GHOST_COUNT + "個必要です: " + ghostStarts.length);
+        }
+        this.pacmanStart = pacmanStart;
+        this.ghostStarts = ghostStarts.clone();
+        this.ghostHouse = ghostHouse;
+        this.houseExit = houseExit;
+        this.fruit = fruit;
+    }
+
+    /**
+     * オリジナルの迷路の位置を取得
+     */
+    public static MazeMarkers classic() {
+        return CLASSIC;
+    }
+
+    /**
+     * すべての位置が指定サイズの迷路に収まっているか
+     */
+    boolean fitsIn(int width, int height) {
+        for (int ghost : ghostStarts) {
+            if (!fits(ghost, width, height)) {
+                return false;
+            }
+        }
+        return fits(pacmanStart, width, height) && fits(ghostHouse, width, height)
+                && fits(houseExit, width, height) && fits(fruit, width, height);
+    }
+
+    private static boolean fits(int tile, int width, int height) {
+        int x = Maze.tileX(tile);
+        int y = Maze.tileY(tile);
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    // ゲッターメソッド
+    public int getPacmanStart() {
+        return pacmanStart;
+    }
+
+    public int getGhostStart(int ghost) {
+        return ghostStarts[ghost];
+    }
+
+    public int getGhostHouse() {
+        return ghostHouse;
+    }
+
+    public int getHouseExit() {
+        return houseExit;
+    }
+
+    public int getFruit() {
+        return fruit;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof MazeMarkers)) {
+            return false;
+        }
+        MazeMarkers other = (MazeMarkers) obj;
+        return pacmanStart == other.pacmanStart && Arrays.equals(ghostStarts, other.ghostStarts)
+                && ghostHouse == other.ghostHouse && houseExit == other.houseExit && fruit == other.fruit;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((pacmanStart * 31 + Arrays.hashCode(ghostStarts)) * 31 + ghostHouse) * 31 + houseExit * 7 + fruit;
+    }
+}
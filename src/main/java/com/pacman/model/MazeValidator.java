@@ -0,0 +1,118 @@
+package com.pacman.model;
+
+import com.pacman.game.Direction;
+
+/**
+ * 迷路レイアウトの検証
+ * 左右対称であること、ゴーストハウスとトンネルがあること、
+ * パックマンの到達範囲に行き止まりがなく全ペレットがつながっていることを確認する
+ * 連結性はタイルを素集合（Union-Find）でまとめて判定する
+ */
+public final class MazeValidator {
+
+    private MazeValidator() {
+    }
+
+    /**
+     * レイアウトを検証
+     *
+     * @param layout 検証するレイアウト
+     * @param startX パックマンの開始位置のX座標
+     * @param startY パックマンの開始位置のY座標
+     * @return 問題がなければnull、あれば内容を表すメッセージ
+     */
+    public static String validate(MazeLayout layout, int startX, int startY) {
+        int width = layout.getWidth();
+        int height = layout.getHeight();
+        MazeGraph graph = layout.getGraph();
+
+        // 左右対称
+        boolean hasHouse = false;
+        boolean hasDoor = false;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int tile = layout.getTile(x, y);
+                if (tile != layout.getTile(width - 1 - x, y)) {
+                    return "左右対称ではありません: (" + x + ", " + y + ")";
+                }
+                hasHouse |= tile == Maze.GHOST_HOUSE;
+                hasDoor |= tile == Maze.GHOST_HOUSE_DOOR;
+            }
+        }
+        if (!hasHouse || !hasDoor) {
+            return "ゴーストハウスがありません";
+        }
+
+        boolean hasTunnel = false;
+        for (int y = 0; y < height && !hasTunnel; y++) {
+            hasTunnel = layout.isTunnel(0, y);
+        }
+        for (int x = 0; x < width && !hasTunnel; x++) {
+            hasTunnel = layout.isTunnel(x, 0);
+        }
+        if (!hasTunnel) {
+            return "トンネルがありません";
+        }
+
+        if (graph.getPacmanExits(startX, startY) == 0) {
+            return "パックマンの開始位置が通路ではありません";
+        }
+
+        // パックマンが通れる隣接タイルどうしを結合（右と下の出口だけ見れば全辺を一度ずつ扱える、トンネルは折り返し）
+        int[] parent = new int[width * height];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int exits = graph.getPacmanExits(x, y);
+                if ((exits & Direction.RIGHT.getMask()) != 0) {
+                    union(parent, y * width + x, y * width + (x + 1) % width);
+                }
+                if ((exits & Direction.DOWN.getMask()) != 0) {
+                    union(parent, y * width + x, ((y + 1) % height) * width + x);
+                }
+            }
+        }
+
+        // 開始位置と同じ集合にある通路に行き止まりがないこと、全ペレットが同じ集合にあること
+        int start = find(parent, startY * width + startX);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int tile = layout.getTile(x, y);
+                boolean reachable = find(parent, y * width + x) == start;
+                if (MazeLayout.isPelletTile(tile) && !reachable) {
+                    return "到達できないペレットがあります: (" + x + ", " + y + ")";
+                }
+                if (reachable && Integer.bitCount(graph.getPacmanExits(x, y)) < 2) {
+                    return "行き止まりがあります: (" + x + ", " + y + ")";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * レイアウトの位置情報にあるパックマンの開始位置で検証
+     */
+    public static String validate(MazeLayout layout) {
+        int start = layout.getMarkers().getPacmanStart();
+        return validate(layout, Maze.tileX(start), Maze.tileY(start));
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // 経路半減
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[rootA] = rootB;
+        }
+    }
+}
@@ -8,14 +8,18 @@ import java.awt.Point;
  * プレイヤーが操作するパックマンの状態と動作を管理
  */
 public class Pacman {
-    // 位置情報（グリッド座標）
-    private double x;
-    private double y;
+    // 位置情報（固定小数点、FixedPoint.ONEが1タイル）
+    private int x;
+    private int y;
+
+    // 前のティックの位置（描画の補間用、固定小数点）
+    private int previousX;
+    private int previousY;
 
     // 移動関連
     private Direction currentDirection;
     private Direction requestedDirection;
-    private double speed;
+    private int speed; // 1フレームあたりの移動量（固定小数点）
 
     // アニメーション関連
     private int animationFrame;
@@ -27,7 +31,7 @@ public class Pacman {
     private int lives;
 
     // 定数
-    private static final double BASE_SPEED = 0.125; // 基本移動速度（1フレームあたりのグリッド移動量）
+    private static final int BASE_SPEED = FixedPoint.ONE / 8; // 基本移動速度（1フレームあたり1/8タイル）
 
     /**
      * コンストラクタ
@@ -36,8 +40,10 @@ public class Pacman {
      * @param startY 開始Y座標
      */
     public Pacman(int startX, int startY) {
-        this.x = startX;
-        this.y = startY;
+        this.x = FixedPoint.fromTile(startX);
+        this.y = FixedPoint.fromTile(startY);
+        this.previousX = x;
+        this.previousY = y;
         this.currentDirection = Direction.LEFT; // 初期方向は左
         this.requestedDirection = Direction.NONE;
         this.speed = BASE_SPEED;
@@ -57,72 +63,51 @@ public class Pacman {
             return;
         }
 
-        // 方向転換の試行
-        if (requestedDirection != Direction.NONE && requestedDirection != currentDirection) {
-            if (canMove(maze, requestedDirection)) {
-                currentDirection = requestedDirection;
-                requestedDirection = Direction.NONE;
-            }
+        // 反転はタイルの途中でも即座に行える
+        if (requestedDirection != Direction.NONE && requestedDirection == currentDirection.opposite()) {
+            currentDirection = requestedDirection;
+            requestedDirection = Direction.NONE;
         }
 
-        // 現在の方向への移動
-        if (currentDirection != Direction.NONE && canMove(maze, currentDirection)) {
-            move(currentDirection);
-
-            // トンネル処理
-            handleTunnel(maze);
+        // 移動量をタイル中心ごとに区切って消費する（中心への到達は必ず正確に検出される）
+        MazeGraph graph = maze.getGraph();
+        int width = maze.getLayout().getWidth();
+        int height = maze.getLayout().getHeight();
+        int budget = speed;
+        boolean moved = false;
+        while (budget > 0) {
+            int toCenter = FixedPoint.distanceToCenter(x, y, currentDirection);
+            if (toCenter == 0) {
+                // タイル中心でのみ方向転換と壁判定を行う
+                int exits = graph.getPacmanExits(getGridX(), getGridY());
+                if (requestedDirection != Direction.NONE && (exits & requestedDirection.getMask()) != 0) {
+                    currentDirection = requestedDirection;
+                    requestedDirection = Direction.NONE;
+                }
+                if ((exits & currentDirection.getMask()) == 0) {
+                    break; // 壁に当たって停止
+                }
+                toCenter = FixedPoint.ONE;
+            }
 
-            // アニメーション更新
-            updateAnimation();
+            int step = Math.min(budget, toCenter);
+            x = FixedPoint.wrap(x + currentDirection.getDx() * step, width);
+            y = FixedPoint.wrap(y + currentDirection.getDy() * step, height);
+            budget -= step;
+            moved = true;
         }
-    }
-
-    /**
-     * 指定方向への移動が可能かチェック
-     */
-    private boolean canMove(Maze maze, Direction direction) {
-        double nextX = x + direction.getDx() * speed;
-        double nextY = y + direction.getDy() * speed;
-
-        // グリッド境界を越える場合の座標計算
-        int gridX1 = (int) Math.floor(nextX);
-        int gridY1 = (int) Math.floor(nextY);
-        int gridX2 = (int) Math.ceil(nextX);
-        int gridY2 = (int) Math.ceil(nextY);
-
-        // 四隅すべてが移動可能かチェック
-        return maze.isWalkable(gridX1, gridY1) &&
-                maze.isWalkable(gridX2, gridY1) &&
-                maze.isWalkable(gridX1, gridY2) &&
-                maze.isWalkable(gridX2, gridY2);
-    }
-
-    /**
-     * 実際の移動処理
-     */
-    private void move(Direction direction) {
-        x += direction.getDx() * speed;
-        y += direction.getDy() * speed;
 
-        // グリッドの中心に合わせる（滑らかな移動のため）
-        if (direction == Direction.LEFT || direction == Direction.RIGHT) {
-            y = Math.round(y);
-        } else if (direction == Direction.UP || direction == Direction.DOWN) {
-            x = Math.round(x);
+        if (moved) {
+            updateAnimation();
         }
     }
 
     /**
-     * トンネル処理（画面端のワープ）
+     * 現在の位置を前のティックの位置として記録（ティックの最初に呼ぶ）
      */
-    private void handleTunnel(Maze maze) {
-        if (maze.isTunnel((int) x, (int) y)) {
-            if (x < 0) {
-                x = Maze.WIDTH - 1;
-            } else if (x >= Maze.WIDTH) {
-                x = 0;
-            }
-        }
+    void storePreviousPosition() {
+        previousX = x;
+        previousY = y;
     }
 
     /**
@@ -149,9 +134,7 @@ public class Pacman {
      * @return 食べたペレットの種類（PELLET, POWER_PELLET, またはEMPTY）
      */
     public int eatPellet(Maze maze) {
-        int gridX = (int) Math.round(x);
-        int gridY = (int) Math.round(y);
-        return maze.consumePellet(gridX, gridY);
+        return maze.consumePellet(getGridX(), getGridY());
     }
 
     /**
@@ -166,27 +149,116 @@ public class Pacman {
      * パックマンをリスポーン
      */
     public void respawn(int startX, int startY) {
-        this.x = startX;
-        this.y = startY;
+        this.x = FixedPoint.fromTile(startX);
+        this.y = FixedPoint.fromTile(startY);
+        this.previousX = x;
+        this.previousY = y;
         this.currentDirection = Direction.LEFT;
         this.requestedDirection = Direction.NONE;
         this.alive = true;
         this.animationFrame = 0;
     }
 
+    /**
+     * スナップショットに保存する状態のサイズ（int数）
+     */
+    static final int STATE_SIZE = 9;
+
+    /**
+     * 状態をスナップショットへ書き込む
+     *
+     * @return 次の書き込み位置
+     */
+    int writeState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        data[offset++] = x;
+        data[offset++] = y;
+        data[offset++] = currentDirection.ordinal();
+        data[offset++] = requestedDirection.ordinal();
+        data[offset++] = speed;
+        data[offset++] = animationFrame;
+        data[offset++] = animationCounter;
+        data[offset++] = alive ? 1 : 0;
+        data[offset++] = lives;
+        return offset;
+    }
+
+    /**
+     * スナップショットから状態を復元する
+     *
+     * @return 次の読み込み位置
+     */
+    int readState(GameSnapshot snapshot, int offset) {
+        int[] data = snapshot.data;
+        x = data[offset++];
+        y = data[offset++];
+        currentDirection = GameSnapshot.DIRECTIONS[data[offset++]];
+        requestedDirection = GameSnapshot.DIRECTIONS[data[offset++]];
+        speed = data[offset++];
+        animationFrame = data[offset++];
+        animationCounter = data[offset++];
+        alive = data[offset++] != 0;
+        lives = data[offset++];
+        previousX = x;
+        previousY = y;
+        return offset;
+    }
+
     /**
      * 現在のグリッド座標を取得
      */
     public Point getGridPosition() {
-        return new Point((int) Math.round(x), (int) Math.round(y));
+        return new Point(getGridX(), getGridY());
+    }
+
+    /**
+     * 現在のグリッドX座標（オブジェクトを生成しない）
+     */
+    public int getGridX() {
+        return FixedPoint.toTile(x);
+    }
+
+    /**
+     * 現在のグリッドY座標（オブジェクトを生成しない）
+     */
+    public int getGridY() {
+        return FixedPoint.toTile(y);
     }
 
     // ゲッターメソッド
     public double getX() {
-        return x;
+        return FixedPoint.toDouble(x);
     }
 
     public double getY() {
+        return FixedPoint.toDouble(y);
+    }
+
+    /**
+     * 前のティックのX座標（描画の補間用）
+     */
+    public double getPreviousX() {
+        return FixedPoint.toDouble(previousX);
+    }
+
+    /**
+     * 前のティックのY座標（描画の補間用）
+     */
+    public double getPreviousY() {
+        return FixedPoint.toDouble(previousY);
+    }
+
+    /**
+     * 固定小数点のX座標
+     */
+    public int getFixedX() {
+        return x;
+    }
+
+    /**
+     * 固定小数点のY座標
+     */
+    public int getFixedY() {
         return y;
     }
 
@@ -216,6 +288,6 @@ public class Pacman {
     @Override
     public String toString() {
         return String.format("Pacman[x=%.2f, y=%.2f, dir=%s, lives=%d]",
-                x, y, currentDirection, lives);
+                getX(), getY(), currentDirection, lives);
     }
 }
\ No newline at end of file
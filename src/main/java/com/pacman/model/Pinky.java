@@ -2,7 +2,6 @@ package com.pacman.model;
 
 import com.pacman.game.Direction;
 import java.awt.Color;
-import java.awt.Point;
 
 /**
  * Pinky（ピンクゴースト）- "Speedy"
@@ -12,6 +11,7 @@ import java.awt.Point;
 public class Pinky extends Ghost {
 
     private static final int AHEAD_TILES = 4; // 先読みタイル数
+    private static final int SCATTER_TARGET = Maze.packTile(2, 0); // 左上コーナー
 
     public Pinky(int startX, int startY) {
         super("Pinky", Color.PINK, startX, startY);
@@ -22,8 +22,8 @@ public class Pinky extends Ghost {
      * Pinkyは左上コーナーを目指す
      */
     @Override
-    protected Point getScatterTarget() {
-        return new Point(2, 0);
+    protected int getScatterTarget() {
+        return SCATTER_TARGET;
     }
 
     /**
@@ -31,12 +31,11 @@ public class Pinky extends Ghost {
      * パックマンの向いている方向の4タイル先を狙う
      */
     @Override
-    protected Point getChaseTarget(Pacman pacman) {
-        Point pacmanPos = pacman.getGridPosition();
+    protected int getChaseTarget(Pacman pacman) {
         Direction pacmanDir = pacman.getCurrentDirection();
 
-        int targetX = pacmanPos.x;
-        int targetY = pacmanPos.y;
+        int targetX = pacman.getGridX();
+        int targetY = pacman.getGridY();
 
         // パックマンの向きに応じて4タイル先を計算
         switch (pacmanDir) {
@@ -59,7 +58,7 @@ public class Pinky extends Ghost {
                 break;
         }
 
-        return new Point(targetX, targetY);
+        return Maze.packTile(targetX, targetY);
     }
 
     /**
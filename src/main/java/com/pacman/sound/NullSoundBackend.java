@@ -0,0 +1,41 @@
+package com.pacman.sound;
+
+/**
+ * 何も鳴らさない音声出力（ヘッドレス・サウンドデバイスのない環境用）
+ * javax.soundを一切初期化しないため、シミュレーションは音声の処理時間を負担しない
+ */
+public final class NullSoundBackend implements SoundBackend {
+    /** 共有インスタンス（状態を持たない） */
+    public static final NullSoundBackend INSTANCE = new NullSoundBackend();
+
+    private NullSoundBackend() {
+    }
+
+    @Override
+    public void generateVirtualSounds() {
+    }
+
+    @Override
+    public void playSound(SoundManager.SoundType soundType) {
+    }
+
+    @Override
+    public void playBGM(SoundManager.SoundType bgmType) {
+    }
+
+    @Override
+    public void stopBGM() {
+    }
+
+    @Override
+    public void stopAllSounds() {
+    }
+
+    @Override
+    public void setSirenProgress(int progress, int elroyStage) {
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -0,0 +1,183 @@
+package com.pacman.sound;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 音を鳴らさずに、鳴らすはずだった音声イベントを数えて時刻付きで記録する音声出力
+ * javax.soundは初期化しないため、シミュレーションや検証で「何が鳴ったか」を確認するために使用する
+ * 1つのスレッド（ゲームのイベント処理スレッド）から使用すること
+ */
+public final class RecordingSoundBackend implements SoundBackend {
+    /** 効果音の再生（引数: SoundTypeの序数） */
+    public static final int PLAY_SOUND = 1;
+    /** BGMの再生（引数: SoundTypeの序数） */
+    public static final int PLAY_BGM = 2;
+    /** BGMの停止 */
+    public static final int STOP_BGM = 3;
+    /** すべての音声の停止 */
+    public static final int STOP_ALL = 4;
+    /** サイレンのパラメータ（引数: 進行度、Elroy段階） */
+    public static final int SIREN = 5;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final SoundManager.SoundType[] SOUND_TYPES = SoundManager.SoundType.values();
+
+    private final LongSupplier clock;
+
+    // 記録（イベントの種類・引数・時刻）
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private int[] arguments = new int[INITIAL_CAPACITY];
+    private int[] elroyStages = new int[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int eventCount;
+
+    // 効果音ごとの再生回数と、現在鳴っているはずのBGM
+    private final int[] playCounts = new int[SOUND_TYPES.length];
+    private SoundManager.SoundType currentBGM;
+
+    /**
+     * コンストラクタ（時刻はSystem.nanoTime）
+     */
+    public RecordingSoundBackend() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param clock 記録する時刻の取得元（ゲームのティック数などを指定できる）
+     */
+    public RecordingSoundBackend(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void generateVirtualSounds() {
+    }
+
+    @Override
+    public void playSound(SoundManager.SoundType soundType) {
+        playCounts[soundType.ordinal()]++;
+        record(PLAY_SOUND, soundType.ordinal(), 0);
+    }
+
+    @Override
+    public void playBGM(SoundManager.SoundType bgmType) {
+        currentBGM = bgmType;
+        record(PLAY_BGM, bgmType.ordinal(), 0);
+    }
+
+    @Override
+    public void stopBGM() {
+        currentBGM = null;
+        record(STOP_BGM, 0, 0);
+    }
+
+    @Override
+    public void stopAllSounds() {
+        currentBGM = null;
+        record(STOP_ALL, 0, 0);
+    }
+
+    @Override
+    public void setSirenProgress(int progress, int elroyStage) {
+        record(SIREN, progress, elroyStage);
+    }
+
+    @Override
+    public void dispose() {
+        currentBGM = null;
+    }
+
+    private void record(int kind, int argument, int elroyStage) {
+        if (eventCount == kinds.length) {
+            int capacity = kinds.length * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            arguments = Arrays.copyOf(arguments, capacity);
+            elroyStages = Arrays.copyOf(elroyStages, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+        kinds[eventCount] = kind;
+        arguments[eventCount] = argument;
+        elroyStages[eventCount] = elroyStage;
+        timestamps[eventCount] = clock.getAsLong();
+        eventCount++;
+    }
+
+    /**
+     * 記録を消去
+     */
+    public void clear() {
+        eventCount = 0;
+        Arrays.fill(playCounts, 0);
+        currentBGM = null;
+    }
+
+    /**
+     * 記録したイベント数
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * イベントの種類（PLAY_SOUNDなど）
+     */
+    public int getKind(int index) {
+        checkIndex(index);
+        return kinds[index];
+    }
+
+    /**
+     * イベントの引数（再生はSoundTypeの序数、SIRENは進行度）
+     */
+    public int getArgument(int index) {
+        checkIndex(index);
+        return arguments[index];
+    }
+
+    /**
+     * SIRENイベントのElroy段階
+     */
+    public int getElroyStage(int index) {
+        checkIndex(index);
+        return elroyStages[index];
+    }
+
+    /**
+     * イベントを記録した時刻
+     */
+    public long getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    /**
+     * 再生イベントのサウンドタイプ（PLAY_SOUND・PLAY_BGM以外はnull）
+     */
+    public SoundManager.SoundType getSoundType(int index) {
+        int kind = getKind(index);
+        return kind == PLAY_SOUND || kind == PLAY_BGM ? SOUND_TYPES[arguments[index]] : null;
+    }
+
+    /**
+     * 効果音を鳴らした回数
+     */
+    public int getPlayCount(SoundManager.SoundType soundType) {
+        return playCounts[soundType.ordinal()];
+    }
+
+    /**
+     * 現在鳴っているはずのBGM（停止中はnull）
+     */
+    public SoundManager.SoundType getCurrentBGM() {
+        return currentBGM;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= eventCount) {
+            throw new IndexOutOfBoundsException("イベント番号が範囲外です: " + index);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.pacman.sound;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ゲームの状態に合わせてサイレン音とパワーモード音をその場で合成するシンセサイザー
+ * AudioMixerのオーディオスレッドが合成周期ごとに呼び出し、音声データを事前に用意しない（メモリ使用量は一定）
+ *
+ * パラメータ（モード・進行度・Elroy段階）は1つのintにまとめてロックフリーで公開され、
+ * オーディオスレッドは周期の先頭で一度だけ読む
+ * 周波数と音量はサンプルごとに目標値へ滑らかに近づけるため、パラメータが変わっても音が途切れない
+ */
+public final class SirenSynth {
+    /** 停止 */
+    public static final int MODE_OFF = 0;
+    /** 通常のサイレン */
+    public static final int MODE_SIREN = 1;
+    /** パワーモード（ゴーストがイジケている間） */
+    public static final int MODE_POWER = 2;
+
+    /** 進行度の最大値（ペレットを食べ尽くした状態） */
+    public static final int MAX_PROGRESS = 1000;
+
+    // パラメータのビット配置（モード2ビット、Elroy段階2ビット、進行度）
+    private static final int MODE_MASK = 0x3;
+    private static final int ELROY_SHIFT = 2;
+    private static final int ELROY_MASK = 0x3;
+    private static final int PROGRESS_SHIFT = 4;
+
+    // 出力の大きさ（16ビットの振幅）
+    private static final float AMPLITUDE = 12000.0f;
+
+    // 目標値へ近づける割合（1サンプルあたり、約5ms・約20msの時定数）
+    private static final float VOLUME_SMOOTHING = 0.005f;
+    private static final float PITCH_SMOOTHING = 0.001f;
+
+    private static final double TWO_PI = Math.PI * 2.0;
+
+    private final AtomicInteger parameters = new AtomicInteger();
+    private final float sampleRate;
+
+    // 合成の状態（オーディオスレッド専用）
+    private double phase;
+    private double sweepPhase;
+    private float volume;
+    private float basePitch = 300.0f;
+    private int voiceMode = MODE_SIREN;
+
+    /**
+     * コンストラクタ
+     *
+     * @param sampleRate 出力のサンプリングレート
+     */
+    public SirenSynth(float sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 鳴らす音の種類を設定
+     */
+    public void setMode(int mode) {
+        update(MODE_MASK, mode & MODE_MASK);
+    }
+
+    /**
+     * レベルの進行状況を設定（サイレンの高さと速さに反映される）
+     *
+     * @param progress   食べたペレットの割合（0～MAX_PROGRESS）
+     * @param elroyStage BlinkyのElroy段階（0～2）
+     */
+    public void setProgress(int progress, int elroyStage) {
+        int clamped = Math.max(0, Math.min(MAX_PROGRESS, progress));
+        int elroy = Math.max(0, Math.min(ELROY_MASK, elroyStage));
+        update(~MODE_MASK, (clamped << PROGRESS_SHIFT) | (elroy << ELROY_SHIFT));
+    }
+
+    /**
+     * 指定したビットだけを書き換える（複数のスレッドから呼ばれても他のビットを壊さない）
+     */
+    private void update(int mask, int bits) {
+        while (true) {
+            int current = parameters.get();
+            int next = (current & ~mask) | bits;
+            if (current == next || parameters.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public int getMode() {
+        return parameters.get() & MODE_MASK;
+    }
+
+    /**
+     * 合成した音を加算（オーディオスレッドから呼ぶ）
+     *
+     * @param mix    加算先
+     * @param frames フレーム数
+     * @param gain   バスの音量
+     */
+    void render(float[] mix, int frames, float gain) {
+        int packed = parameters.get();
+        int mode = packed & MODE_MASK;
+        if (mode == MODE_OFF && volume < 1.0e-4f) {
+            volume = 0.0f;
+            return; // 無音
+        }
+        if (mode != MODE_OFF) {
+            voiceMode = mode; // 停止時は直前の音色のまま小さくする
+        }
+        int elroy = (packed >>> ELROY_SHIFT) & ELROY_MASK;
+        float progress = (packed >>> PROGRESS_SHIFT) / (float) MAX_PROGRESS;
+
+        // 周期ごとの目標値
+        float targetVolume = mode == MODE_OFF ? 0.0f : 1.0f;
+        float targetPitch;
+        float depth;
+        float sweepRate;
+        float brightness;
+        if (voiceMode == MODE_POWER) {
+            targetPitch = 400.0f;
+            depth = 0.25f;
+            sweepRate = 10.0f;
+            brightness = 0.0f;
+        } else {
+            // 残りペレットが減るほど高く速くなり、Elroy中はさらに上がって硬い音になる
+            targetPitch = 300.0f + 200.0f * progress + 40.0f * elroy;
+            depth = 0.15f;
+            sweepRate = 2.0f + 2.0f * progress + 1.5f * elroy;
+            brightness = 0.2f * elroy;
+        }
+        double sweepStep = sweepRate / sampleRate;
+        float scaledGain = AMPLITUDE * gain;
+
+        for (int i = 0; i < frames; i++) {
+            volume += (targetVolume - volume) * VOLUME_SMOOTHING;
+            basePitch += (targetPitch - basePitch) * PITCH_SMOOTHING;
+
+            sweepPhase += sweepStep;
+            if (sweepPhase >= 1.0) {
+                sweepPhase -= 1.0;
+            }
+            double frequency = basePitch * (1.0 + depth * Math.sin(TWO_PI * sweepPhase));
+
+            phase += frequency / sampleRate;
+            if (phase >= 1.0) {
+                phase -= 1.0;
+            }
+            double angle = TWO_PI * phase;
+            double sample = Math.sin(angle) + brightness * Math.sin(angle * 3.0);
+            mix[i] += (float) sample * volume * scaledGain;
+        }
+    }
+}
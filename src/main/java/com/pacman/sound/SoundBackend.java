@@ -0,0 +1,48 @@
+package com.pacman.sound;
+
+/**
+ * ゲームから見た音声出力の窓口
+ * 実際に音を鳴らすSoundManagerのほか、何もしないNullSoundBackend（ヘッドレス時）と、
+ * 鳴らすはずだった音を記録するだけのRecordingSoundBackend（シミュレーション・検証用）がある
+ *
+ * ゲームのイベント処理スレッドから呼ばれる（実装は呼び出し側を待たせないこと）
+ */
+public interface SoundBackend {
+    /**
+     * 効果音の準備（生成・読み込み）を開始
+     */
+    void generateVirtualSounds();
+
+    /**
+     * 効果音の再生
+     */
+    void playSound(SoundManager.SoundType soundType);
+
+    /**
+     * BGMの再生（ループ、再生中のBGMは止める）
+     */
+    void playBGM(SoundManager.SoundType bgmType);
+
+    /**
+     * BGMの停止
+     */
+    void stopBGM();
+
+    /**
+     * すべての音声を停止
+     */
+    void stopAllSounds();
+
+    /**
+     * サイレンのパラメータを設定
+     *
+     * @param progress   食べたペレットの割合（0～SirenSynth.MAX_PROGRESS）
+     * @param elroyStage BlinkyのElroy段階（0～2）
+     */
+    void setSirenProgress(int progress, int elroyStage);
+
+    /**
+     * リソースのクリーンアップ
+     */
+    void dispose();
+}
@@ -0,0 +1,253 @@
+package com.pacman.sound;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.pacman.sound.SoundGenerator.SoundEffect;
+
+/**
+ * SoundGeneratorで合成した効果音（PCM）のキャッシュ
+ * 初回は効果音ごとに並列で合成してディスクへ保存し、次回以降の起動ではファイルをメモリマップして読み込む
+ * 読み込み・合成はすべてExecutor上で行い、呼び出し側（EDT）は完了を待たない
+ *
+ * キャッシュファイル形式（リトルエンディアン）:
+ * マジック(4) 形式バージョン(4) 生成バージョン(4) サンプリングレート(4) 効果音数(4)
+ * 効果音ごとに 名前のハッシュ(4) サンプル数(4)、続けて全効果音のサンプル（16ビット）
+ */
+public final class SoundCache {
+    private static final String CACHE_DIRECTORY = "pacman_cache";
+    private static final String FILE_NAME = "sounds.pcm";
+
+    // ファイル識別子 "PMSC"
+    private static final int MAGIC = 0x504D5343;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+
+    private static SoundCache instance;
+
+    private final File file;
+    private final Executor executor;
+
+    // 効果音ごとの読み込み結果（最初の要求で全効果音の読み込みを開始する）
+    private final Map<SoundEffect, CompletableFuture<short[]>> sounds = new EnumMap<>(SoundEffect.class);
+
+    /**
+     * コンストラクタ
+     *
+     * @param file     キャッシュファイル（ディレクトリが存在しなければ保存時に作成）
+     * @param executor 読み込み・合成を行うExecutor
+     */
+    public SoundCache(File file, Executor executor) {
+        this.file = file;
+        this.executor = executor;
+    }
+
+    /**
+     * 共有インスタンスを取得（作業ディレクトリのpacman_cacheと共通プールを使用）
+     */
+    public static synchronized SoundCache getInstance() {
+        if (instance == null) {
+            instance = new SoundCache(new File(CACHE_DIRECTORY, FILE_NAME), ForkJoinPool.commonPool());
+        }
+        return instance;
+    }
+
+    /**
+     * 全効果音の読み込み・合成を開始（結果を待たずに戻る）
+     */
+    public synchronized void prefetch() {
+        if (sounds.isEmpty()) {
+            prepare();
+        }
+    }
+
+    /**
+     * 効果音のPCMを要求（合成済みなら完了済みのFutureを返す）
+     */
+    public synchronized CompletableFuture<short[]> request(SoundEffect effect) {
+        if (sounds.isEmpty()) {
+            prepare();
+        }
+        return sounds.get(effect);
+    }
+
+    /**
+     * キャッシュファイルの読み込みを開始し、読めなかった場合は効果音ごとに並列で合成する
+     */
+    private void prepare() {
+        SoundEffect[] effects = SoundEffect.values();
+        CompletableFuture<short[][]> cached = CompletableFuture.supplyAsync(this::read, executor);
+
+        CompletableFuture<?>[] all = new CompletableFuture<?>[effects.length];
+        for (SoundEffect effect : effects) {
+            int index = effect.ordinal();
+            CompletableFuture<short[]> sound = cached.thenComposeAsync(samples -> samples != null
+                    ? CompletableFuture.completedFuture(samples[index])
+                    : CompletableFuture.supplyAsync(() -> SoundGenerator.generatePcm(effect), executor),
+                    executor);
+            sounds.put(effect, sound);
+            all[index] = sound;
+        }
+
+        // 合成した場合はすべて揃ってから保存する
+        CompletableFuture.allOf(all).thenRunAsync(() -> {
+            if (cached.join() == null) {
+                short[][] samples = new short[effects.length][];
+                for (SoundEffect effect : effects) {
+                    samples[effect.ordinal()] = sounds.get(effect).join();
+                }
+                write(samples);
+            }
+        }, executor);
+    }
+
+    /**
+     * キャッシュファイルをメモリマップして読み込む
+     *
+     * @return 効果音の序数順のPCM（ファイルがない・古い・壊れている場合はnull）
+     */
+    private short[][] read() {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+                throw new IOException("キャッシュファイルの形式が違います");
+            }
+            if (mapped.getInt() != SoundGenerator.VERSION
+                    || mapped.getInt() != (int) AudioMixer.FORMAT.getSampleRate()) {
+                return null; // 生成方法が変わったため作り直す
+            }
+            SoundEffect[] effects = SoundEffect.values();
+            if (mapped.getInt() != effects.length) {
+                return null;
+            }
+            short[][] samples = new short[effects.length][];
+            for (SoundEffect effect : effects) {
+                if (mapped.getInt() != effect.name().hashCode()) {
+                    return null;
+                }
+                samples[effect.ordinal()] = new short[mapped.getInt()];
+            }
+            for (short[] pcm : samples) {
+                mapped.asShortBuffer().get(pcm);
+                mapped.position(mapped.position() + pcm.length * 2);
+            }
+            if (mapped.hasRemaining()) {
+                throw new IOException("余分なデータがあります");
+            }
+            return samples;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("サウンドキャッシュを読み込めません（再生成します）: " + file + " " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * キャッシュファイルへ保存（一時ファイルに書いてから置き換える）
+     */
+    private void write(short[][] samples) {
+        File directory = file.getAbsoluteFile().getParentFile();
+        File temporary = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("ディレクトリを作成できません: " + directory);
+            }
+            SoundEffect[] effects = SoundEffect.values();
+            int size = HEADER_SIZE + effects.length * 8;
+            for (short[] pcm : samples) {
+                size += pcm.length * 2;
+            }
+            ByteBuffer data = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            data.putInt(MAGIC);
+            data.putInt(VERSION);
+            data.putInt(SoundGenerator.VERSION);
+            data.putInt((int) AudioMixer.FORMAT.getSampleRate());
+            data.putInt(effects.length);
+            for (SoundEffect effect : effects) {
+                data.putInt(effect.name().hashCode());
+                data.putInt(samples[effect.ordinal()].length);
+            }
+            for (short[] pcm : samples) {
+                data.asShortBuffer().put(pcm);
+                data.position(data.position() + pcm.length * 2);
+            }
+
+            temporary = File.createTempFile("sounds", ".tmp", directory);
+            Files.write(temporary.toPath(), data.array());
+            try {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("サウンドキャッシュを保存できません: " + e.getMessage());
+            if (temporary != null) {
+                temporary.delete();
+            }
+        }
+    }
+
+    /**
+     * キャッシュファイル
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 合成した場合とキャッシュから読み込んだ場合の、全効果音が揃うまでの時間を計測
+     * 引数: [キャッシュファイル]
+     */
+    public static void main(String[] args) {
+        File target = new File(args.length > 0 ? args[0] : CACHE_DIRECTORY + File.separator + FILE_NAME);
+        target.delete();
+
+        long start = System.nanoTime();
+        for (SoundEffect effect : SoundEffect.values()) {
+            SoundGenerator.generatePcm(effect);
+        }
+        long sequential = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        SoundCache cold = new SoundCache(target, ForkJoinPool.commonPool());
+        cold.request(SoundEffect.PELLET);
+        long requested = System.nanoTime() - start;
+        awaitAll(cold);
+        long generated = System.nanoTime() - start;
+        while (!target.isFile()) {
+            Thread.onSpinWait(); // 保存は全効果音が揃った後に非同期で行われる
+        }
+
+        start = System.nanoTime();
+        SoundCache warm = new SoundCache(target, ForkJoinPool.commonPool());
+        awaitAll(warm);
+        long mapped = System.nanoTime() - start;
+
+        System.out.printf("逐次合成: %.2f ms%n", sequential / 1e6);
+        System.out.printf("並列合成: %.2f ms（呼び出し側の待ち %.3f ms、並列度 %d）%n", generated / 1e6,
+                requested / 1e6, ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("キャッシュ読み込み: %.2f ms（%d バイト）%n", mapped / 1e6, target.length());
+    }
+
+    private static void awaitAll(SoundCache cache) {
+        for (SoundEffect effect : SoundEffect.values()) {
+            cache.request(effect).join();
+        }
+    }
+}
@@ -18,6 +18,9 @@ public class SoundGenerator {
     private static final boolean SIGNED = true;
     private static final boolean BIG_ENDIAN = false;
 
+    /** 波形の生成方法のバージョン（変更したら上げると、SoundCacheの保存内容が作り直される） */
+    public static final int VERSION = 1;
+
     /**
      * サウンドエフェクトのタイプ
      */
@@ -45,38 +48,14 @@ public class SoundGenerator {
      * 指定されたサウンドエフェクトのClipを生成
      */
     public static Clip generateSoundClip(SoundEffect effect) {
-        try {
-            byte[] soundData = null;
-
-            switch (effect) {
-                case PELLET:
-                    soundData = generateSimpleTone(effect.frequency, effect.duration, 0.3f);
-                    break;
-                case POWER_PELLET:
-                    soundData = generatePowerPelletSound();
-                    break;
-                case GHOST_EAT:
-                    soundData = generateGhostEatSound();
-                    break;
-                case DEATH:
-                    soundData = generateDeathSound();
-                    break;
-                case LEVEL_CLEAR:
-                    soundData = generateLevelClearSound();
-                    break;
-                case FRUIT:
-                    soundData = generateFruitSound();
-                    break;
-                case SIREN:
-                    soundData = generateSirenSound();
-                    break;
-                case START:
-                    soundData = generateStartSound();
-                    break;
-                default:
-                    soundData = generateSimpleTone(effect.frequency, effect.duration, 0.5f);
-            }
+        return createClip(generateSoundData(effect));
+    }
 
+    /**
+     * 波形データ（16ビット リトルエンディアン）からClipを作成
+     */
+    private static Clip createClip(byte[] soundData) {
+        try {
             // AudioInputStreamを作成
             AudioFormat format = new AudioFormat(
                     SAMPLE_RATE,
@@ -102,6 +81,40 @@ public class SoundGenerator {
         }
     }
 
+    /**
+     * 指定されたサウンドエフェクトをAudioMixer用のPCMサンプル列として生成
+     */
+    public static short[] generatePcm(SoundEffect effect) {
+        byte[] soundData = generateSoundData(effect);
+        return AudioMixer.toSamples(soundData, soundData.length);
+    }
+
+    /**
+     * 指定されたサウンドエフェクトの波形データ（16ビット リトルエンディアン）を生成
+     */
+    private static byte[] generateSoundData(SoundEffect effect) {
+        switch (effect) {
+            case PELLET:
+                return generateSimpleTone(effect.frequency, effect.duration, 0.3f);
+            case POWER_PELLET:
+                return generatePowerPelletSound();
+            case GHOST_EAT:
+                return generateGhostEatSound();
+            case DEATH:
+                return generateDeathSound();
+            case LEVEL_CLEAR:
+                return generateLevelClearSound();
+            case FRUIT:
+                return generateFruitSound();
+            case SIREN:
+                return generateSirenSound();
+            case START:
+                return generateStartSound();
+            default:
+                return generateSimpleTone(effect.frequency, effect.duration, 0.5f);
+        }
+    }
+
     /**
      * シンプルなトーン音を生成
      */
@@ -338,6 +351,7 @@ public class SoundGenerator {
 
     /**
      * SoundManagerに生成したサウンドを登録
+     * 合成・キャッシュの読み込みはSoundCacheがバックグラウンドで行い、完了した効果音から順に登録される
      */
     public static void registerGeneratedSounds(SoundManager soundManager) {
         // 各サウンドタイプに対応する効果音を生成して登録
@@ -358,10 +372,31 @@ public class SoundGenerator {
     private static void registerSound(SoundManager soundManager,
             SoundManager.SoundType soundType,
             SoundEffect effect) {
-        Clip clip = generateSoundClip(effect);
-        if (clip != null) {
-            soundManager.setClip(soundType, clip);
-            System.out.println("Generated sound for: " + soundType);
-        }
+        SoundCache.getInstance().request(effect).whenComplete((pcm, error) -> {
+            if (error != null) {
+                System.err.println("サウンド生成エラー: " + soundType + " - " + error.getMessage());
+                return;
+            }
+            if (soundManager.isMixerActive()) {
+                // ミキサーで再生する場合はPCMのまま読み込む
+                soundManager.setSamples(soundType, pcm);
+                System.out.println("Generated sound for: " + soundType);
+                return;
+            }
+            Clip clip = createClip(toBytes(pcm));
+            if (clip != null) {
+                soundManager.setClip(soundType, clip);
+                System.out.println("Generated sound for: " + soundType);
+            }
+        });
+    }
+
+    /**
+     * サンプル列を16ビット リトルエンディアンの波形データに変換
+     */
+    private static byte[] toBytes(short[] pcm) {
+        byte[] soundData = new byte[pcm.length * 2];
+        ByteBuffer.wrap(soundData).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().put(pcm);
+        return soundData;
     }
 }
\ No newline at end of file
@@ -2,14 +2,17 @@ package com.pacman.sound;
 
 import javax.sound.sampled.*;
 import java.io.*;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ゲーム内のすべての音楽と効果音を管理するクラス
  * WAVファイル形式の音声ファイルを再生
+ * 出力ラインを開ける環境ではAudioMixerで合成し（同じ効果音を重ねて鳴らせる）、開けない場合はClipで再生する
+ * Clipも使えない（出力デバイスがない）場合は効果音を生成せず、何も鳴らさない
  */
-public class SoundManager {
+public class SoundManager implements SoundBackend {
     // サウンドタイプの定義
     public enum SoundType {
         GAME_START, // ゲーム開始音
@@ -26,13 +29,21 @@ public class SoundManager {
 
     // サウンドクリップのキャッシュ
     private Map<SoundType, Clip> soundClips;
-    private Map<SoundType, AudioInputStream> soundStreams;
 
     // 音量設定（0.0f ～ 1.0f）
     private float masterVolume = 0.7f;
     private float effectVolume = 0.8f;
     private float musicVolume = 0.6f;
 
+    // 同時に鳴らせる音の数（AudioMixer使用時）
+    private static final int MIXER_VOICES = 16;
+
+    // ソフトウェアミキサー（出力ラインを開けなかった場合はnull）
+    private volatile AudioMixer mixer;
+
+    // 生成したサウンドの登録を開始済みか（disposeまで再登録しない）
+    private boolean soundsRequested;
+
     // 現在再生中のBGM
     private Clip currentBGM;
     private boolean soundEnabled = true;
@@ -44,8 +55,7 @@ public class SoundManager {
      * プライベートコンストラクタ（シングルトンパターン）
      */
     private SoundManager() {
-        soundClips = new HashMap<>();
-        soundStreams = new HashMap<>();
+        soundClips = new ConcurrentHashMap<>(); // 生成したクリップはバックグラウンドから登録される
         // サウンドファイルの読み込みは実際のファイルが用意された時に行う
         // 現在は仮想的な実装として、実際の音声ファイルなしで動作するように設計
     }
@@ -63,10 +73,17 @@ public class SoundManager {
     /**
      * 効果音の再生
      */
+    @Override
     public void playSound(SoundType soundType) {
         if (!soundEnabled)
             return;
 
+        if (mixer != null) {
+            // コマンドを積むだけで、音量はオーディオスレッドがバスごとに掛ける
+            mixer.play(soundType.ordinal(), 1.0f);
+            return;
+        }
+
         try {
             Clip clip = soundClips.get(soundType);
             if (clip != null) {
@@ -87,10 +104,26 @@ public class SoundManager {
     /**
      * BGMの再生（ループ）
      */
+    @Override
     public void playBGM(SoundType bgmType) {
         if (!soundEnabled)
             return;
 
+        if (mixer != null) {
+            SirenSynth siren = mixer.getSiren();
+            if (!mixer.hasStream(bgmType.ordinal())
+                    && (bgmType == SoundType.SIREN || bgmType == SoundType.POWER_MODE)) {
+                // サイレンとパワーモードはゲームの状態に合わせてその場で合成する
+                mixer.stopMusic();
+                siren.setMode(bgmType == SoundType.SIREN ? SirenSynth.MODE_SIREN : SirenSynth.MODE_POWER);
+            } else {
+                // 読み込んだBGMファイル（ストリーミング）・PCMを再生する、再生中のBGMはミキサー側で止める
+                siren.setMode(SirenSynth.MODE_OFF);
+                mixer.playMusic(bgmType.ordinal(), 1.0f);
+            }
+            return;
+        }
+
         // 現在のBGMを停止
         stopBGM();
 
@@ -110,17 +143,41 @@ public class SoundManager {
     /**
      * BGMの停止
      */
+    @Override
     public void stopBGM() {
+        if (mixer != null) {
+            mixer.getSiren().setMode(SirenSynth.MODE_OFF);
+            mixer.stopMusic();
+        }
         if (currentBGM != null && currentBGM.isRunning()) {
             currentBGM.stop();
             currentBGM.setFramePosition(0);
         }
     }
 
+    /**
+     * サイレンのパラメータを設定（AudioMixer使用時のみ反映される）
+     *
+     * @param progress   食べたペレットの割合（0～SirenSynth.MAX_PROGRESS）
+     * @param elroyStage BlinkyのElroy段階（0～2）
+     */
+    @Override
+    public void setSirenProgress(int progress, int elroyStage) {
+        AudioMixer current = mixer;
+        if (current != null) {
+            current.getSiren().setProgress(progress, elroyStage);
+        }
+    }
+
     /**
      * すべての音声を停止
      */
+    @Override
     public void stopAllSounds() {
+        if (mixer != null) {
+            mixer.getSiren().setMode(SirenSynth.MODE_OFF);
+            mixer.stopAll();
+        }
         stopBGM();
         for (Clip clip : soundClips.values()) {
             if (clip.isRunning()) {
@@ -147,28 +204,118 @@ public class SoundManager {
 
     /**
      * サウンドファイルの読み込み（将来的な実装用）
+     * AudioMixer使用時、BGM（SIREN・POWER_MODE・INTERMISSION）はメモリに展開せずストリーミング再生する
      */
     public void loadSoundFile(SoundType soundType, String filePath) {
         try {
             File soundFile = new File(filePath);
-            if (soundFile.exists()) {
-                AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioStream);
-                soundClips.put(soundType, clip);
-                soundStreams.put(soundType, audioStream);
+            if (soundFile.exists() && mixer != null && isMusic(soundType)) {
+                mixer.loadStream(soundType.ordinal(), soundFile);
+            } else if (soundFile.exists() && mixer != null) {
+                // ミキサーの出力フォーマットへ変換してPCMとして読み込む
+                try (AudioInputStream source = AudioSystem.getAudioInputStream(soundFile);
+                        AudioInputStream converted = AudioSystem.getAudioInputStream(AudioMixer.FORMAT, source)) {
+                    byte[] data = converted.readAllBytes();
+                    setSamples(soundType, AudioMixer.toSamples(data, data.length));
+                }
+            } else if (soundFile.exists()) {
+                // Clipは開く時にすべて読み込むため、ストリームはその場で閉じる
+                try (AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundFile)) {
+                    Clip clip = AudioSystem.getClip();
+                    clip.open(audioStream);
+                    setClip(soundType, clip);
+                }
             }
         } catch (Exception e) {
             System.err.println("サウンドファイル読み込みエラー: " + filePath + " - " + e.getMessage());
         }
     }
 
+    /**
+     * ループ再生するBGMか
+     */
+    private static boolean isMusic(SoundType soundType) {
+        return soundType == SoundType.SIREN || soundType == SoundType.POWER_MODE
+                || soundType == SoundType.INTERMISSION;
+    }
+
     /**
      * 仮想サウンドの生成（実際のファイルがない場合のデモ用）
+     * 合成はバックグラウンドで行われ、完了した効果音から再生できるようになる
+     */
+    @Override
+    public synchronized void generateVirtualSounds() {
+        if (soundsRequested) {
+            return;
+        }
+        soundsRequested = true;
+        SoundCache.getInstance().prefetch();
+        // 出力ラインを開く処理もデバイスの探索に時間がかかるため、合成と並行してバックグラウンドで行う
+        CompletableFuture.runAsync(() -> {
+            if (openMixer()) {
+                // SoundGeneratorを使用して実際の効果音を生成
+                SoundGenerator.registerGeneratedSounds(this);
+            }
+        });
+    }
+
+    /**
+     * ミキサーの出力ラインを開く（開けない場合はClipでの再生を続ける）
+     *
+     * @return 効果音を鳴らせる場合はtrue
+     */
+    private synchronized boolean openMixer() {
+        if (!soundsRequested) {
+            return false; // 開く前にdisposeされた場合は何もしない
+        }
+        if (mixer != null) {
+            return true;
+        }
+        AudioMixer candidate = new AudioMixer(MIXER_VOICES);
+        try {
+            candidate.start();
+            mixer = candidate;
+            updateMixerGains();
+            return true;
+        } catch (LineUnavailableException | SecurityException e) {
+            // Clipも使えない環境では効果音ごとに失敗を繰り返さないよう、生成自体を行わない
+            if (!AudioSystem.isLineSupported(new DataLine.Info(Clip.class, AudioMixer.FORMAT))) {
+                System.err.println("出力デバイスがないため効果音を無効にします: " + e.getMessage());
+                return false;
+            }
+            System.err.println("オーディオミキサーを開けません（Clipで再生します）: " + e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * ミキサーのバス音量を現在の設定に合わせる
      */
-    public void generateVirtualSounds() {
-        // SoundGeneratorを使用して実際の効果音を生成
-        SoundGenerator.registerGeneratedSounds(this);
+    private void updateMixerGains() {
+        if (mixer != null) {
+            mixer.setBusGain(AudioMixer.BUS_EFFECT, effectVolume * masterVolume);
+            mixer.setBusGain(AudioMixer.BUS_MUSIC, musicVolume * masterVolume);
+        }
+    }
+
+    /**
+     * ミキサーで再生するPCMを設定（44.1kHz 16ビット モノラル）
+     *
+     * @param soundType サウンドタイプ
+     * @param samples   サンプル列
+     */
+    public void setSamples(SoundType soundType, short[] samples) {
+        AudioMixer current = mixer;
+        if (current != null) {
+            current.load(soundType.ordinal(), samples);
+        }
+    }
+
+    /**
+     * AudioMixerで再生しているかどうか
+     */
+    public boolean isMixerActive() {
+        return mixer != null;
     }
 
     /**
@@ -179,28 +326,29 @@ public class SoundManager {
      */
     public void setClip(SoundType soundType, Clip clip) {
         // 既存のクリップがある場合は閉じる
-        if (soundClips.containsKey(soundType)) {
-            Clip oldClip = soundClips.get(soundType);
+        Clip oldClip = soundClips.put(soundType, clip);
+        if (oldClip != null) {
             if (oldClip.isRunning()) {
                 oldClip.stop();
             }
             oldClip.close();
         }
-
-        soundClips.put(soundType, clip);
     }
 
     // ゲッター・セッター
     public void setMasterVolume(float volume) {
         this.masterVolume = Math.max(0.0f, Math.min(1.0f, volume));
+        updateMixerGains();
     }
 
     public void setEffectVolume(float volume) {
         this.effectVolume = Math.max(0.0f, Math.min(1.0f, volume));
+        updateMixerGains();
     }
 
     public void setMusicVolume(float volume) {
         this.musicVolume = Math.max(0.0f, Math.min(1.0f, volume));
+        updateMixerGains();
         // 現在再生中のBGMの音量を更新
         if (currentBGM != null && currentBGM.isRunning()) {
             setClipVolume(currentBGM, musicVolume * masterVolume);
@@ -221,22 +369,20 @@ public class SoundManager {
     /**
      * リソースのクリーンアップ
      */
-    public void dispose() {
+    @Override
+    public synchronized void dispose() {
         stopAllSounds();
 
-        for (Clip clip : soundClips.values()) {
-            clip.close();
+        if (mixer != null) {
+            mixer.close();
+            mixer = null;
         }
+        soundsRequested = false;
 
-        for (AudioInputStream stream : soundStreams.values()) {
-            try {
-                stream.close();
-            } catch (IOException e) {
-                // 無視
-            }
+        for (Clip clip : soundClips.values()) {
+            clip.close();
         }
 
         soundClips.clear();
-        soundStreams.clear();
     }
 }
\ No newline at end of file
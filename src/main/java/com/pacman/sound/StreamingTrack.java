@@ -0,0 +1,181 @@
+package com.pacman.sound;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * 音声ファイルを少しずつデコードしながら再生するBGMトラック
+ * デコードスレッドが固定サイズのリングバッファを満たし、オーディオスレッドがそこから読み出して合成する
+ * （単一生産者・単一消費者でロックなし、メモリ使用量は曲の長さに関係なく一定）
+ *
+ * 再生していない間はリングバッファに曲の先頭を用意しておくため、再生開始・曲の切り替えで無音が挟まらない
+ * 末尾に達したらファイルを開き直して続けて書き込むので、ループのつなぎ目にも隙間ができない
+ */
+final class StreamingTrack {
+    // リングバッファのサンプル数（約0.74秒）と、1回のデコードで読むバイト数
+    private static final int CAPACITY = 1 << 15;
+    private static final int MASK = CAPACITY - 1;
+    private static final int CHUNK_BYTES = 4096;
+
+    // 状態（PRIMEDの間だけオーディオスレッドが読み出す、REWINDの間はデコードスレッドが先頭から用意し直す）
+    private static final int PRIMED = 0;
+    private static final int REWIND = 1;
+
+    private final File file;
+    private final short[] ring = new short[CAPACITY];
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicInteger state = new AtomicInteger(REWIND);
+
+    // デコードスレッド専用
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+    private AudioInputStream stream;
+    private boolean failed;
+
+    // オーディオスレッド専用
+    private long underrunCount;
+
+    /**
+     * コンストラクタ（ファイルを一度開いて、ミキサーの出力フォーマットへ変換できることを確認する）
+     *
+     * @throws IOException                   ファイルが読めない場合
+     * @throws UnsupportedAudioFileException 音声ファイルとして読めない・変換できない場合
+     */
+    StreamingTrack(File file) throws IOException, UnsupportedAudioFileException {
+        this.file = file;
+        open().close();
+    }
+
+    private AudioInputStream open() throws IOException, UnsupportedAudioFileException {
+        AudioInputStream source = AudioSystem.getAudioInputStream(file);
+        try {
+            return AudioSystem.getAudioInputStream(AudioMixer.FORMAT, source);
+        } catch (IllegalArgumentException e) {
+            source.close();
+            throw new UnsupportedAudioFileException("出力フォーマットへ変換できません: " + source.getFormat());
+        }
+    }
+
+    /**
+     * リングバッファの空きをデコードして埋める（デコードスレッドから呼ぶ）
+     *
+     * @return 何か書き込んだ場合はtrue
+     */
+    synchronized boolean fill() {
+        if (failed) {
+            return false;
+        }
+        try {
+            boolean rewound = false;
+            if (state.get() == REWIND) {
+                // オーディオスレッドは読み出さないので、両方の位置をここで戻してよい
+                closeStream();
+                written.set(0);
+                read.set(0);
+                rewound = true;
+            }
+            boolean worked = false;
+            boolean emptySinceOpen = false;
+            while (true) {
+                if (stream == null) {
+                    stream = open();
+                    emptySinceOpen = true;
+                }
+                long position = written.get();
+                long free = CAPACITY - (position - read.get());
+                int bytes = (int) Math.min(free * 2, CHUNK_BYTES);
+                if (bytes < 2) {
+                    break;
+                }
+                int count = stream.read(chunk, 0, bytes);
+                if (count < 0) {
+                    if (emptySinceOpen) {
+                        throw new IOException("音声データがありません");
+                    }
+                    closeStream(); // 末尾に達したら先頭から続ける
+                    continue;
+                }
+                int samples = count / 2;
+                for (int i = 0; i < samples; i++) {
+                    ring[(int) ((position + i) & MASK)] = (short) ((chunk[i * 2] & 0xFF) | (chunk[i * 2 + 1] << 8));
+                }
+                written.lazySet(position + samples);
+                emptySinceOpen &= samples == 0;
+                worked |= samples > 0;
+            }
+            if (rewound) {
+                state.compareAndSet(REWIND, PRIMED);
+            }
+            return worked;
+        } catch (IOException | UnsupportedAudioFileException e) {
+            failed = true;
+            closeStream();
+            System.err.println("BGMファイルを再生できません: " + file + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * デコード中のファイルを閉じる（差し替え・ミキサー終了時）
+     */
+    synchronized void close() {
+        failed = true;
+        closeStream();
+    }
+
+    private void closeStream() {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // 無視
+            }
+            stream = null;
+        }
+    }
+
+    /**
+     * 用意できているサンプルを加算（オーディオスレッドから呼ぶ、足りない分は無音）
+     */
+    void mix(float[] mix, int frames, float gain) {
+        if (state.get() != PRIMED) {
+            return; // 先頭を用意し直している間は無音
+        }
+        long position = read.get();
+        int count = (int) Math.min(written.get() - position, frames);
+        for (int i = 0; i < count; i++) {
+            mix[i] += ring[(int) ((position + i) & MASK)] * gain;
+        }
+        read.lazySet(position + count);
+        if (count < frames) {
+            underrunCount++;
+        }
+    }
+
+    /**
+     * 再生をやめたトラックを先頭から用意し直すよう要求（オーディオスレッドから呼ぶ）
+     */
+    void rewind() {
+        state.set(REWIND);
+    }
+
+    /**
+     * デコードが間に合わずに無音を挟んだ回数
+     */
+    long getUnderrunCount() {
+        return underrunCount;
+    }
+
+    /**
+     * リングバッファが保持するサンプル数
+     */
+    static int getCapacity() {
+        return CAPACITY;
+    }
+}
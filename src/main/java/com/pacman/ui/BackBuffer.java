@@ -0,0 +1,128 @@
+package com.pacman.ui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * 画面全体の内容を保持する裏画面
+ * フレームごとにDirtyTrackerが求めた領域だけをGameRendererで描き直し、表示側はこの画像を転送する
+ * 画面の拡大率（HiDPI）に合わせた解像度で保持する
+ */
+final class BackBuffer {
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+
+    private final GameRenderer renderer;
+    private final DirtyTracker tracker = new DirtyTracker();
+    private final DirtyRegion region = new DirtyRegion(GameRenderer.PANEL_WIDTH, GameRenderer.PANEL_HEIGHT);
+    private final Rectangle rect = new Rectangle();
+
+    private BufferedImage image;
+    private double scaleX = 1.0;
+    private double scaleY = 1.0;
+
+    /**
+     * コンストラクタ
+     *
+     * @param renderer 描画に使うレンダラー
+     */
+    BackBuffer(GameRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * フレームの変化した部分を描き直す
+     *
+     * @param frame         描画するフレーム
+     * @param configuration 表示先の設定（nullの場合は拡大なしの通常の画像）
+     * @param showFPS       FPSを表示するか
+     * @param millis        アニメーションの時刻
+     * @param bounds        描き直した範囲を囲む矩形の書き込み先（何も描き直さなかった場合は大きさ0）
+     */
+    void update(RenderFrame frame, GraphicsConfiguration configuration, boolean showFPS, long millis,
+            Rectangle bounds) {
+        tracker.collect(frame, showFPS, region);
+        if (ensureImage(configuration)) {
+            region.markAll();
+        }
+        if (!region.isEmpty()) {
+            Graphics2D g = image.createGraphics();
+            try {
+                g.scale(scaleX, scaleY);
+                for (int i = 0; i < region.getCount(); i++) {
+                    region.getRect(i, rect);
+                    // 領域ごとに描画状態（クリップ・色・合成方法など）を分ける
+                    Graphics2D rg = (Graphics2D) g.create();
+                    try {
+                        rg.clip(rect);
+                        rg.setColor(BACKGROUND_COLOR);
+                        rg.fillRect(rect.x, rect.y, rect.width, rect.height);
+                        renderer.render(rg, frame, 1.0f, millis);
+                    } finally {
+                        rg.dispose();
+                    }
+                }
+            } finally {
+                g.dispose();
+            }
+        }
+        region.getBounds(bounds);
+    }
+
+    /**
+     * 画像がなければ作成し、拡大率が変わっていれば作り直す
+     *
+     * @return 作成した（内容がない）場合はtrue
+     */
+    private boolean ensureImage(GraphicsConfiguration configuration) {
+        double sx = 1.0;
+        double sy = 1.0;
+        if (configuration != null) {
+            AffineTransform transform = configuration.getDefaultTransform();
+            sx = transform.getScaleX();
+            sy = transform.getScaleY();
+        }
+        if (image != null && sx == scaleX && sy == scaleY) {
+            return false;
+        }
+        int width = (int) Math.ceil(GameRenderer.PANEL_WIDTH * sx);
+        int height = (int) Math.ceil(GameRenderer.PANEL_HEIGHT * sy);
+        image = configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        scaleX = sx;
+        scaleY = sy;
+        return true;
+    }
+
+    /**
+     * 裏画面の内容を転送（論理座標の0, 0から画面の大きさで描く）
+     *
+     * @return まだ一度も描いていない場合はfalse
+     */
+    boolean draw(Graphics2D g) {
+        if (image == null) {
+            return false;
+        }
+        g.drawImage(image, 0, 0, GameRenderer.PANEL_WIDTH, GameRenderer.PANEL_HEIGHT, null);
+        return true;
+    }
+
+    /**
+     * 直前の更新で描き直した領域
+     */
+    DirtyRegion getRegion() {
+        return region;
+    }
+
+    /**
+     * 裏画面の画像（まだ作成していない場合はnull）
+     */
+    BufferedImage getImage() {
+        return image;
+    }
+}
@@ -0,0 +1,106 @@
+package com.pacman.ui;
+
+/**
+ * 迷路の表示範囲を管理するカメラ
+ * 画面より大きな迷路ではパックマンを中心に追従し、迷路の端ではスクロールを止める
+ * 画面に収まる迷路では常に迷路の左上を表示する（従来の表示と同じ）
+ */
+public class Camera {
+    // 表示範囲の大きさ（ピクセル）
+    private final int viewWidth;
+    private final int viewHeight;
+    private final int tileSize;
+
+    // 表示範囲の左上の迷路上の位置（ピクセル）
+    private int offsetX;
+    private int offsetY;
+
+    // 迷路の大きさ（タイル数）
+    private int mazeWidth;
+    private int mazeHeight;
+
+    /**
+     * コンストラクタ
+     *
+     * @param viewWidth  表示範囲の幅（ピクセル）
+     * @param viewHeight 表示範囲の高さ（ピクセル）
+     * @param tileSize   1タイルの大きさ（ピクセル）
+     */
+    public Camera(int viewWidth, int viewHeight, int tileSize) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * 指定位置が表示範囲の中心になるように移動（迷路の外は表示しない）
+     *
+     * @param tileX      追従する位置のX座標（タイル単位）
+     * @param tileY      追従する位置のY座標（タイル単位）
+     * @param mazeWidth  迷路の幅（タイル数）
+     * @param mazeHeight 迷路の高さ（タイル数）
+     */
+    public void follow(double tileX, double tileY, int mazeWidth, int mazeHeight) {
+        this.mazeWidth = mazeWidth;
+        this.mazeHeight = mazeHeight;
+        offsetX = clamp((int) ((tileX + 0.5) * tileSize) - viewWidth / 2, mazeWidth * tileSize - viewWidth);
+        offsetY = clamp((int) ((tileY + 0.5) * tileSize) - viewHeight / 2, mazeHeight * tileSize - viewHeight);
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    /**
+     * 迷路が表示範囲より大きく、スクロールが必要かどうか
+     */
+    public boolean isScrolling() {
+        return mazeWidth * tileSize > viewWidth || mazeHeight * tileSize > viewHeight;
+    }
+
+    /**
+     * 指定タイルが表示範囲に（一部でも）入っているか
+     */
+    public boolean isVisible(double tileX, double tileY) {
+        double px = tileX * tileSize - offsetX;
+        double py = tileY * tileSize - offsetY;
+        return px > -tileSize && px < viewWidth && py > -tileSize && py < viewHeight;
+    }
+
+    /**
+     * 表示範囲の最初のタイル列
+     */
+    public int getFirstTileX() {
+        return offsetX / tileSize;
+    }
+
+    /**
+     * 表示範囲の最後のタイル列（迷路内に収める）
+     */
+    public int getLastTileX() {
+        return Math.min(mazeWidth - 1, (offsetX + viewWidth - 1) / tileSize);
+    }
+
+    /**
+     * 表示範囲の最初のタイル行
+     */
+    public int getFirstTileY() {
+        return offsetY / tileSize;
+    }
+
+    /**
+     * 表示範囲の最後のタイル行（迷路内に収める）
+     */
+    public int getLastTileY() {
+        return Math.min(mazeHeight - 1, (offsetY + viewHeight - 1) / tileSize);
+    }
+
+    // ゲッターメソッド
+    public int getOffsetX() {
+        return offsetX;
+    }
+
+    public int getOffsetY() {
+        return offsetY;
+    }
+}
@@ -0,0 +1,199 @@
+package com.pacman.ui;
+
+import java.awt.Rectangle;
+
+/**
+ * 描き直しが必要な画面の領域（少数の矩形の集まり）
+ * 重なる矩形や近い矩形はまとめ、数が上限に達した場合は広がりが最も小さくなる矩形へまとめる
+ * 画面の外にはみ出す部分は切り捨てる
+ */
+public final class DirtyRegion {
+    // 保持する矩形の最大数
+    private static final int MAX_RECTS = 8;
+
+    // まとめることで増える面積がこれ以下なら、離れていても1つの矩形にする（絵柄のマス2つ分のピクセル数）
+    private static final int MERGE_SLACK = 40 * 40 * 2;
+
+    private final int width;
+    private final int height;
+
+    // 矩形ごとの左上と右下（右下は含まない）
+    private final int[] left = new int[MAX_RECTS];
+    private final int[] top = new int[MAX_RECTS];
+    private final int[] right = new int[MAX_RECTS];
+    private final int[] bottom = new int[MAX_RECTS];
+    private int count;
+    private boolean full;
+
+    /**
+     * コンストラクタ
+     *
+     * @param width  画面の幅（ピクセル）
+     * @param height 画面の高さ（ピクセル）
+     */
+    public DirtyRegion(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * 領域を空にする
+     */
+    public void clear() {
+        count = 0;
+        full = false;
+    }
+
+    /**
+     * 画面全体を描き直す
+     */
+    public void markAll() {
+        left[0] = 0;
+        top[0] = 0;
+        right[0] = width;
+        bottom[0] = height;
+        count = 1;
+        full = true;
+    }
+
+    /**
+     * 矩形を追加
+     */
+    public void add(int x, int y, int w, int h) {
+        if (full) {
+            return;
+        }
+        int x1 = Math.max(0, x);
+        int y1 = Math.max(0, y);
+        int x2 = Math.min(width, x + w);
+        int y2 = Math.min(height, y + h);
+        if (x1 >= x2 || y1 >= y2) {
+            return;
+        }
+
+        // 重なる・近い矩形を取り込む（広がった結果さらに他の矩形と近くなる場合があるため最初から調べ直す）
+        int i = 0;
+        while (i < count) {
+            if (mergedGrowth(i, x1, y1, x2, y2) <= MERGE_SLACK) {
+                x1 = Math.min(x1, left[i]);
+                y1 = Math.min(y1, top[i]);
+                x2 = Math.max(x2, right[i]);
+                y2 = Math.max(y2, bottom[i]);
+                remove(i);
+                i = 0;
+            } else {
+                i++;
+            }
+        }
+
+        if (count == MAX_RECTS) {
+            // 上限に達した場合は、まとめて広がる面積が最も小さい矩形と1つにする
+            int best = 0;
+            long bestGrowth = Long.MAX_VALUE;
+            for (i = 0; i < count; i++) {
+                long growth = mergedGrowth(i, x1, y1, x2, y2);
+                if (growth < bestGrowth) {
+                    bestGrowth = growth;
+                    best = i;
+                }
+            }
+            int mergedLeft = Math.min(x1, left[best]);
+            int mergedTop = Math.min(y1, top[best]);
+            int mergedRight = Math.max(x2, right[best]);
+            int mergedBottom = Math.max(y2, bottom[best]);
+            remove(best);
+            add(mergedLeft, mergedTop, mergedRight - mergedLeft, mergedBottom - mergedTop);
+            return;
+        }
+
+        left[count] = x1;
+        top[count] = y1;
+        right[count] = x2;
+        bottom[count] = y2;
+        count++;
+        if (x1 == 0 && y1 == 0 && x2 == width && y2 == height) {
+            full = true;
+        }
+    }
+
+    /**
+     * 矩形iと指定した矩形をまとめた場合に、2つの面積の和より増える面積
+     */
+    private long mergedGrowth(int i, int x1, int y1, int x2, int y2) {
+        long merged = (long) (Math.max(x2, right[i]) - Math.min(x1, left[i]))
+                * (Math.max(y2, bottom[i]) - Math.min(y1, top[i]));
+        return merged - (long) (x2 - x1) * (y2 - y1) - (long) (right[i] - left[i]) * (bottom[i] - top[i]);
+    }
+
+    private void remove(int i) {
+        count--;
+        left[i] = left[count];
+        top[i] = top[count];
+        right[i] = right[count];
+        bottom[i] = bottom[count];
+    }
+
+    /**
+     * 描き直す領域がないか
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * 画面全体を描き直すか
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * 矩形の数
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * i番目の矩形を取得
+     *
+     * @param rect 書き込む矩形
+     */
+    public void getRect(int i, Rectangle rect) {
+        rect.setBounds(left[i], top[i], right[i] - left[i], bottom[i] - top[i]);
+    }
+
+    /**
+     * すべての矩形を囲む矩形を取得（空の場合は大きさ0）
+     *
+     * @param rect 書き込む矩形
+     */
+    public void getBounds(Rectangle rect) {
+        if (count == 0) {
+            rect.setBounds(0, 0, 0, 0);
+            return;
+        }
+        int x1 = left[0];
+        int y1 = top[0];
+        int x2 = right[0];
+        int y2 = bottom[0];
+        for (int i = 1; i < count; i++) {
+            x1 = Math.min(x1, left[i]);
+            y1 = Math.min(y1, top[i]);
+            x2 = Math.max(x2, right[i]);
+            y2 = Math.max(y2, bottom[i]);
+        }
+        rect.setBounds(x1, y1, x2 - x1, y2 - y1);
+    }
+
+    /**
+     * 矩形の面積の合計（ピクセル数、重なりは二重に数える）
+     */
+    public long getArea() {
+        long area = 0;
+        for (int i = 0; i < count; i++) {
+            area += (long) (right[i] - left[i]) * (bottom[i] - top[i]);
+        }
+        return area;
+    }
+}
@@ -0,0 +1,158 @@
+package com.pacman.ui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Random;
+
+import com.pacman.effects.EffectManager;
+import com.pacman.game.Direction;
+import com.pacman.game.GameContext;
+import com.pacman.game.GameEngine;
+import com.pacman.game.GameState;
+import com.pacman.model.Game;
+import com.pacman.util.GameSettings;
+
+/**
+ * 変化した領域だけを描き直した裏画面が、毎回画面全体を描き直した結果とピクセル単位で一致することを確認する回帰チェック
+ * ヘッドレスのゲームを入力・一時停止・エフェクトを交えて進め、ティックごとに画面外の画像へ両方の方法で描いて比べる
+ * 一致しないティックがあった場合は終了コード1で終了する
+ *
+ * 実行例: java -Djava.awt.headless=true -cp target/classes com.pacman.ui.DirtyRegionCheck [ティック数]
+ */
+public final class DirtyRegionCheck {
+    private static final int DEFAULT_TICKS = 20_000;
+
+    // 方向入力・一時停止・エフェクトを起こす間隔（ティック）
+    private static final int INPUT_INTERVAL = 17;
+    private static final int PAUSE_INTERVAL = 1_500;
+    private static final int PAUSE_TICKS = 60;
+    private static final int EFFECT_INTERVAL = 90;
+
+    private static final Direction[] INPUTS = {
+            Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT
+    };
+
+    private DirtyRegionCheck() {
+    }
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+
+        // 設定ファイルに依存しないよう、ゲームと描画の両方にデフォルト設定を使う
+        GameSettings settings = GameSettings.createDefaults();
+        GameEngine engine = new GameEngine(GameContext.headless(settings).withSeed(1));
+        Game game = engine.getGame();
+        Random random = new Random(1);
+        boolean showFPS = settings.isShowFPS();
+
+        GameRenderer renderer = new GameRenderer(settings);
+        RenderFrame frame = new RenderFrame();
+        BackBuffer partial = new BackBuffer(renderer);
+        BufferedImage full = new BufferedImage(GameRenderer.PANEL_WIDTH, GameRenderer.PANEL_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        Rectangle bounds = new Rectangle();
+
+        long fullPixels = (long) GameRenderer.PANEL_WIDTH * GameRenderer.PANEL_HEIGHT;
+        long repaintedPixels = 0;
+        int fullRepaints = 0;
+        int mismatchedTicks = 0;
+        long partialNanos = 0;
+        long fullNanos = 0;
+
+        for (int tick = 0; tick < ticks; tick++) {
+            drive(engine, game, random, tick);
+
+            frame.capture(game);
+            // 時間で動くアニメーションはティックから決めた時刻で描き、両方の描画で揃える
+            long millis = tick * (long) Game.GAME_SPEED;
+
+            long start = System.nanoTime();
+            partial.update(frame, null, showFPS, millis, bounds);
+            partialNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Graphics2D g = full.createGraphics();
+            try {
+                g.setColor(Color.BLACK);
+                g.fillRect(0, 0, full.getWidth(), full.getHeight());
+                renderer.render(g, frame, 1.0f, millis);
+            } finally {
+                g.dispose();
+            }
+            fullNanos += System.nanoTime() - start;
+
+            DirtyRegion region = partial.getRegion();
+            repaintedPixels += region.getArea();
+            if (region.isFull()) {
+                fullRepaints++;
+            }
+
+            int differences = countDifferences(partial.getImage(), full);
+            if (differences > 0) {
+                if (mismatchedTicks == 0) {
+                    System.err.printf("ティック%d（%s）で%dピクセルが一致しません%n",
+                            tick, frame.getState(), differences);
+                }
+                mismatchedTicks++;
+            }
+        }
+
+        System.out.printf("ticks: %d, mismatched: %d, full repaints: %d, repainted area: %.1f%%%n",
+                ticks, mismatchedTicks, fullRepaints, 100.0 * repaintedPixels / (fullPixels * ticks));
+        System.out.printf("render time per tick: partial %.1f us, full %.1f us%n",
+                partialNanos / 1000.0 / ticks, fullNanos / 1000.0 / ticks);
+
+        if (mismatchedTicks > 0) {
+            System.err.println("部分的な描き直しの結果が全体の描き直しと一致しません");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 1ティック分の入力を与えて進める
+     */
+    private static void drive(GameEngine engine, Game game, Random random, int tick) {
+        if (engine.isGameOver()) {
+            engine.reset();
+        }
+        if (tick % INPUT_INTERVAL == 0) {
+            engine.input(INPUTS[random.nextInt(INPUTS.length)]);
+        }
+        int phase = tick % PAUSE_INTERVAL;
+        if ((phase == PAUSE_INTERVAL - PAUSE_TICKS || phase == 0) && tick > 0
+                && (engine.getState() == GameState.PLAYING || engine.getState() == GameState.PAUSED)) {
+            engine.togglePause();
+        }
+
+        // ヘッドレスではエフェクトが作られないため、パックマンの位置に直接起こす
+        if (tick % EFFECT_INTERVAL == 0 && engine.getState() == GameState.PLAYING) {
+            EffectManager effects = game.getEffectManager();
+            float x = (float) (game.getPacman().getX() * GameRenderer.TILE_SIZE + GameRenderer.TILE_SIZE / 2);
+            float y = (float) (game.getPacman().getY() * GameRenderer.TILE_SIZE + GameRenderer.MAZE_TOP);
+            if (random.nextBoolean()) {
+                effects.createExplosion(x, y, Color.CYAN, 12);
+            } else {
+                effects.addScorePopup(x, y, 200 << random.nextInt(4));
+            }
+        }
+        engine.step();
+    }
+
+    /**
+     * 2つの画像で異なるピクセルの数
+     */
+    private static int countDifferences(BufferedImage a, BufferedImage b) {
+        int[] pixelsA = ((DataBufferInt) a.getRaster().getDataBuffer()).getData();
+        int[] pixelsB = ((DataBufferInt) b.getRaster().getDataBuffer()).getData();
+        int differences = 0;
+        for (int i = 0; i < pixelsA.length; i++) {
+            if (pixelsA[i] != pixelsB[i]) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+}
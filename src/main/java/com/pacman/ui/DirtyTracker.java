@@ -0,0 +1,234 @@
+package com.pacman.ui;
+
+import java.awt.Rectangle;
+
+import com.pacman.game.GameState;
+import com.pacman.model.Maze;
+import com.pacman.model.MazeLayout;
+
+/**
+ * 前回描いたフレームと新しいフレームを比べ、描き直しが必要な領域を求める
+ * 動いた絵柄（前回と今回の位置）、食べられたペレット、スコア表示の変化、エフェクトの範囲を集め、
+ * 時間で動くアニメーション（パワーペレットの点滅・ゴーストの波・死亡アニメーション）は毎回含める
+ * 状態の切り替わり・フェード中・スクロールする迷路など、部分的に描き直せない場合は画面全体とする
+ *
+ * GameRendererが補間なし（alpha = 1）で描く場合の位置を前提とする
+ */
+final class DirtyTracker {
+    private static final int TILE_SIZE = GameRenderer.TILE_SIZE;
+
+    // 絵柄のマス（タイルの左上からはみ出す分の余白を含む）
+    private static final int SPRITE_SIZE = SpriteAtlas.cellSize(TILE_SIZE);
+    private static final int SPRITE_PADDING = SpriteAtlas.padding(TILE_SIZE);
+
+    // パワーペレットのグローが描かれる範囲（タイル中心からの距離、アンチエイリアスの分を含む）
+    private static final int GLOW_RADIUS = GameRenderer.POWER_PELLET_GLOW + 1;
+
+    // スウォームのゴーストがこれより多い場合は個別に追わず全体を描き直す
+    private static final int MAX_TRACKED_SWARM = 64;
+
+    private static final int INITIAL_GHOST_CAPACITY = 4;
+
+    // 前回のフレームを記録済みか
+    private boolean valid;
+
+    // 前回の全体の状態
+    private GameState state;
+    private MazeLayout layout;
+    private boolean showFPS;
+    private int score;
+    private int highScore;
+    private int level;
+    private int lives;
+    private int fps;
+    private float fadeAlpha;
+
+    // 前回のペレット
+    private Maze pellets;
+
+    // 前回描いた絵柄の位置（タイルの左上、ピクセル）
+    private int pacmanX;
+    private int pacmanY;
+    private int ghostCount;
+    private int[] ghostX = new int[INITIAL_GHOST_CAPACITY];
+    private int[] ghostY = new int[INITIAL_GHOST_CAPACITY];
+    private int swarmCount;
+    private int[] swarmX = new int[0];
+    private int[] swarmY = new int[0];
+    private boolean fruitShown;
+    private int fruitX; // 中心
+    private int fruitY;
+
+    // 前回のエフェクトの範囲
+    private boolean hadEffects;
+    private final Rectangle effectBounds = new Rectangle();
+    private final Rectangle scratch = new Rectangle();
+
+    /**
+     * 新しいフレームで描き直す領域を求め、そのフレームを次の比較の基準として記録する
+     *
+     * @param frame   新しいフレーム
+     * @param showFPS FPSを表示するか
+     * @param region  描き直す領域の書き込み先（最初に空にする）
+     */
+    void collect(RenderFrame frame, boolean showFPS, DirtyRegion region) {
+        region.clear();
+        if (needsFullRepaint(frame, showFPS)) {
+            region.markAll();
+        } else {
+            addChanges(frame, showFPS, region);
+        }
+        remember(frame, showFPS);
+    }
+
+    /**
+     * 部分的に描き直せないか
+     */
+    private boolean needsFullRepaint(RenderFrame frame, boolean showFPS) {
+        MazeLayout current = frame.maze.getLayout();
+        float fade = frame.effects.getFadeAlpha();
+        return !valid
+                || frame.state != state
+                || frame.state == GameState.LEVEL_CLEAR // 迷路の点滅と背景のアニメーション
+                || current != layout // 壁の配置が変わった
+                || current.getWidth() > Maze.WIDTH || current.getHeight() > Maze.HEIGHT // スクロールする迷路
+                || showFPS != this.showFPS
+                || fade > 0.0f || fade != fadeAlpha // フェードは画面全体にかかる
+                || frame.swarmCount > MAX_TRACKED_SWARM || frame.swarmCount != swarmCount;
+    }
+
+    /**
+     * 前回のフレームから変わった部分を追加
+     */
+    private void addChanges(RenderFrame frame, boolean showFPS, DirtyRegion region) {
+        // スコア・ハイスコア・レベル・残機
+        if (frame.score != score || frame.highScore != highScore || frame.level != level || frame.lives != lives) {
+            region.add(0, 0, GameRenderer.PANEL_WIDTH, GameRenderer.HUD_HEIGHT);
+        }
+        if (showFPS && frame.fps != fps) {
+            region.add(GameRenderer.PANEL_WIDTH - GameRenderer.FPS_WIDTH,
+                    GameRenderer.PANEL_HEIGHT - GameRenderer.FPS_HEIGHT,
+                    GameRenderer.FPS_WIDTH, GameRenderer.FPS_HEIGHT);
+        }
+
+        // 食べられたペレットと、点滅し続けるパワーペレット
+        Maze maze = frame.maze;
+        MazeLayout mazeLayout = maze.getLayout();
+        for (int y = 0; y < mazeLayout.getHeight(); y++) {
+            for (int x = 0; x < mazeLayout.getWidth(); x++) {
+                int tile = maze.getTile(x, y);
+                int previous = pellets.getTile(x, y);
+                if (tile == Maze.POWER_PELLET || previous == Maze.POWER_PELLET) {
+                    addGlow(region, x, y);
+                } else if (tile != previous) {
+                    region.add(x * TILE_SIZE, y * TILE_SIZE + GameRenderer.MAZE_TOP, TILE_SIZE, TILE_SIZE);
+                }
+            }
+        }
+
+        // パックマン（死亡アニメーションは時間で変わるため、動いていなくても毎回含める）
+        addSprite(region, pacmanX, pacmanY);
+        addSprite(region, GameRenderer.pixelX(frame.pacmanX), GameRenderer.pixelY(frame.pacmanY));
+
+        // ゴースト（波のアニメーションがあるため毎回含める）
+        for (int i = 0; i < ghostCount; i++) {
+            addSprite(region, ghostX[i], ghostY[i]);
+        }
+        for (int i = 0; i < frame.ghostCount; i++) {
+            addSprite(region, GameRenderer.pixelX(frame.ghostX[i]), GameRenderer.pixelY(frame.ghostY[i]));
+        }
+        for (int i = 0; i < swarmCount; i++) {
+            addSprite(region, swarmX[i], swarmY[i]);
+            addSprite(region, GameRenderer.pixelX(frame.swarmX[i]), GameRenderer.pixelY(frame.swarmY[i]));
+        }
+
+        // フルーツ（上下に揺れる）
+        if (fruitShown) {
+            addSprite(region, fruitX - TILE_SIZE / 2, fruitY - TILE_SIZE / 2);
+        }
+        if (frame.fruitShown) {
+            addSprite(region, GameRenderer.fruitCenterX(frame) - TILE_SIZE / 2,
+                    GameRenderer.fruitCenterY(frame) - TILE_SIZE / 2);
+        }
+
+        // エフェクト（消えた分を消すため前回の範囲も含める）
+        if (hadEffects) {
+            region.add(effectBounds.x, effectBounds.y, effectBounds.width, effectBounds.height);
+        }
+        if (frame.effects.computeBounds(scratch)) {
+            region.add(scratch.x, scratch.y, scratch.width, scratch.height);
+        }
+    }
+
+    /**
+     * タイルの左上（ピクセル）に描かれる絵柄の範囲を追加
+     */
+    private static void addSprite(DirtyRegion region, int x, int y) {
+        region.add(x - SPRITE_PADDING, y - SPRITE_PADDING, SPRITE_SIZE, SPRITE_SIZE);
+    }
+
+    /**
+     * パワーペレットのグローの範囲を追加
+     */
+    private static void addGlow(DirtyRegion region, int tileX, int tileY) {
+        int centerX = tileX * TILE_SIZE + TILE_SIZE / 2;
+        int centerY = tileY * TILE_SIZE + GameRenderer.MAZE_TOP + TILE_SIZE / 2;
+        region.add(centerX - GLOW_RADIUS, centerY - GLOW_RADIUS, GLOW_RADIUS * 2, GLOW_RADIUS * 2);
+    }
+
+    /**
+     * 次の比較の基準としてフレームを記録
+     */
+    private void remember(RenderFrame frame, boolean showFPS) {
+        state = frame.state;
+        layout = frame.maze.getLayout();
+        this.showFPS = showFPS;
+        score = frame.score;
+        highScore = frame.highScore;
+        level = frame.level;
+        lives = frame.lives;
+        fps = frame.fps;
+        fadeAlpha = frame.effects.getFadeAlpha();
+
+        if (pellets == null || pellets.getLayout().getWidth() != layout.getWidth()
+                || pellets.getLayout().getHeight() != layout.getHeight()) {
+            pellets = new Maze(layout);
+        }
+        pellets.copyFrom(frame.maze);
+
+        pacmanX = GameRenderer.pixelX(frame.pacmanX);
+        pacmanY = GameRenderer.pixelY(frame.pacmanY);
+
+        int count = frame.ghostCount;
+        if (ghostX.length < count) {
+            ghostX = new int[count];
+            ghostY = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            ghostX[i] = GameRenderer.pixelX(frame.ghostX[i]);
+            ghostY[i] = GameRenderer.pixelY(frame.ghostY[i]);
+        }
+        ghostCount = count;
+
+        // 多すぎる場合は全体を描き直すため記録しない
+        count = frame.swarmCount <= MAX_TRACKED_SWARM ? frame.swarmCount : 0;
+        if (swarmX.length < count) {
+            swarmX = new int[count];
+            swarmY = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            swarmX[i] = GameRenderer.pixelX(frame.swarmX[i]);
+            swarmY[i] = GameRenderer.pixelY(frame.swarmY[i]);
+        }
+        swarmCount = frame.swarmCount;
+
+        fruitShown = frame.fruitShown;
+        if (fruitShown) {
+            fruitX = GameRenderer.fruitCenterX(frame);
+            fruitY = GameRenderer.fruitCenterY(frame);
+        }
+
+        hadEffects = frame.effects.computeBounds(effectBounds);
+        valid = true;
+    }
+}
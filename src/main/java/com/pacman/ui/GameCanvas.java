@@ -0,0 +1,201 @@
+package com.pacman.ui;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+import com.pacman.model.Game;
+import com.pacman.util.GameSettings;
+
+/**
+ * 専用の描画スレッドからBufferStrategyへ直接描画する（アクティブレンダリング）キャンバス
+ * シミュレーション（Swingタイマー）はティックごとにpublishでRenderFrameを写し取り、
+ * 描画スレッドは画面の更新周期ごとにTripleBufferから最新のフレームを受け取って描画・表示する
+ * どちらも相手を待たないため、描画が遅れてもティックは遅れず、repaintの統合による揺らぎもない
+ * 描画の頻度はティックの頻度とは独立しており、動くものは前のティックとの間を表示時刻で補間して描く
+ * （120Hzや144Hzの画面でも、ティックと描画の周期がずれても滑らかに動く）
+ *
+ * キー入力はGamePanelが受け取るため、このキャンバスはフォーカスを持たない
+ */
+public class GameCanvas extends Canvas {
+    // BufferStrategyのバッファ数（可能ならページフリップ、できなければ転送になる）
+    private static final int BUFFER_COUNT = 2;
+
+    // 画面の更新周期が取得できない場合のフレームレート
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+
+    private final TripleBuffer<RenderFrame> frames = new TripleBuffer<>(RenderFrame::new);
+    private final GameRenderer renderer;
+
+    // 描画スレッド
+    private volatile Thread renderThread;
+    private volatile boolean running;
+
+    // 描画スレッドだけが更新する計測値
+    private volatile long renderedFrames;
+    private volatile long skippedFrames;
+
+    /**
+     * コンストラクタ
+     *
+     * @param settings 描画に使う設定
+     */
+    public GameCanvas(GameSettings settings) {
+        renderer = new GameRenderer(settings);
+        setPreferredSize(new Dimension(GameRenderer.PANEL_WIDTH, GameRenderer.PANEL_HEIGHT));
+        setBackground(BACKGROUND_COLOR);
+        setIgnoreRepaint(true);
+        setFocusable(false);
+    }
+
+    /**
+     * ゲームの現在の状態を写し取って描画スレッドへ公開（ゲームを更新しているスレッドから呼ぶ）
+     */
+    public void publish(Game game) {
+        frames.getWriteBuffer().capture(game);
+        frames.publish();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        startRendering();
+    }
+
+    @Override
+    public void removeNotify() {
+        stopRendering();
+        super.removeNotify();
+    }
+
+    /**
+     * BufferStrategyを作成して描画スレッドを開始（ネイティブのピアができた後に呼ぶ）
+     */
+    private synchronized void startRendering() {
+        if (running) {
+            return;
+        }
+        createBufferStrategy(BUFFER_COUNT);
+        running = true;
+        Thread thread = new Thread(this::renderLoop, "Pacman-Render");
+        thread.setDaemon(true);
+        renderThread = thread;
+        thread.start();
+    }
+
+    /**
+     * 描画スレッドを停止して終了を待つ
+     */
+    private synchronized void stopRendering() {
+        running = false;
+        Thread thread = renderThread;
+        renderThread = null;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy != null) {
+            strategy.dispose();
+        }
+    }
+
+    /**
+     * 描画ループ（画面の更新周期に合わせて、絶対時刻の締め切りで進める）
+     */
+    private void renderLoop() {
+        long period = 1_000_000_000L / getRefreshRate();
+        long deadline = System.nanoTime();
+        while (running) {
+            frames.update();
+            RenderFrame frame = frames.getReadBuffer();
+            if (frame.isCaptured()) {
+                renderFrame(frame);
+            }
+
+            deadline += period;
+            long wait = deadline - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+            } else if (wait < -period) {
+                // 1周期以上遅れた分は取り戻さずに締め切りを今に合わせる
+                skippedFrames += -wait / period;
+                deadline = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * 1フレームを描画して表示（描画中にバッファの内容が失われた場合は描き直す）
+     */
+    private void renderFrame(RenderFrame frame) {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            return;
+        }
+        float alpha = frame.interpolation(System.nanoTime());
+        try {
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        g.setColor(BACKGROUND_COLOR);
+                        g.fillRect(0, 0, getWidth(), getHeight());
+                        renderer.render(g, frame, alpha);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            renderedFrames++;
+        } catch (IllegalStateException e) {
+            // 終了処理でピアが破棄された直後は描画できない
+            if (running) {
+                System.err.println("描画に失敗しました: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 表示中の画面の更新周期（取得できなければ60Hz）
+     */
+    private int getRefreshRate() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration != null) {
+            DisplayMode mode = configuration.getDevice().getDisplayMode();
+            if (mode != null && mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return mode.getRefreshRate();
+            }
+        }
+        return DEFAULT_REFRESH_RATE;
+    }
+
+    /**
+     * 描画したフレーム数
+     */
+    public long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    /**
+     * 描画が間に合わずに飛ばした周期の数
+     */
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+}
@@ -0,0 +1,523 @@
+package com.pacman.ui;
+
+import com.pacman.game.*;
+import com.pacman.model.*;
+import com.pacman.util.GameSettings;
+import java.awt.*;
+
+/**
+ * RenderFrameに写し取ったゲームの状態を描画するクラス
+ * ゲームのオブジェクトには触れないため、EDT（GamePanel）からも専用の描画スレッド（GameCanvas）からも使える
+ * 1つのインスタンスは1つのスレッドからだけ使用すること（カメラや画像キャッシュを保持する）
+ */
+public class GameRenderer {
+    // 描画定数
+    static final int TILE_SIZE = 20;
+    static final int PANEL_WIDTH = Maze.WIDTH * TILE_SIZE;
+    static final int PANEL_HEIGHT = (Maze.HEIGHT + 3) * TILE_SIZE; // スコア表示用の余白
+
+    // 迷路の上端（スコア表示の下）
+    static final int MAZE_TOP = TILE_SIZE * 2;
+
+    // スコア・残機の表示が収まる高さと、FPS表示が収まる右下の範囲
+    static final int HUD_HEIGHT = 52;
+    static final int FPS_WIDTH = 64;
+    static final int FPS_HEIGHT = 26;
+
+    // パワーペレットの大きさと点滅による増減（グローは中心からこの大きさの分だけ広がる）
+    private static final int POWER_PELLET_SIZE = 12;
+    private static final int POWER_PELLET_PULSE = 2;
+    static final int POWER_PELLET_GLOW = POWER_PELLET_SIZE + POWER_PELLET_PULSE;
+
+    // 色定数
+    private static final Color PELLET_COLOR = new Color(255, 255, 255);
+
+    // スウォームのゴーストの性格ごとの色（Blinky, Pinky, Inky, Clydeと同じ）
+    private static final Color[] SWARM_COLORS = {
+            Color.RED, Color.PINK, new Color(0, 255, 255), Color.ORANGE
+    };
+
+    // フォント
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font READY_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font GAME_OVER_FONT = new Font("Arial", Font.BOLD, 32);
+    private static final Font FPS_FONT = new Font("Arial", Font.PLAIN, 12);
+
+    private final GameSettings settings;
+
+    // 迷路の表示範囲（画面より大きな迷路ではパックマンに追従してスクロール）
+    private final Camera camera = new Camera(PANEL_WIDTH, Maze.HEIGHT * TILE_SIZE, TILE_SIZE);
+
+    // 壁・ドア・通常ペレットを事前に描画したチャンク画像（スコア表示分のオフセット付き）
+    private final MazeLayer mazeLayer = new MazeLayer(TILE_SIZE, TILE_SIZE * 2);
+
+    // パックマン・ゴースト・フルーツの絵柄
+    private final SpriteAtlas sprites = new SpriteAtlas(TILE_SIZE);
+
+    // アニメーション用
+    private float wallPulseAnimation = 0;
+    private boolean levelClearFlash = false;
+
+    // 描画中のフレームの補間の割合（0で前のティック、1で写し取った時点）
+    private float alpha = 1.0f;
+
+    // 描画中のフレームの時刻（時間で動くアニメーションはすべてこれを使い、1フレームの中でずれないようにする）
+    private long animationMillis;
+
+    /**
+     * コンストラクタ
+     *
+     * @param settings 表示設定（FPS表示の有無）を読む設定
+     */
+    public GameRenderer(GameSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * 1フレームを写し取った時点の位置で描画（背景は呼び出し側で塗っておく）
+     */
+    public void render(Graphics2D g2d, RenderFrame frame) {
+        render(g2d, frame, 1.0f);
+    }
+
+    /**
+     * 1フレームを前のティックとの間を補間した位置で描画（背景は呼び出し側で塗っておく）
+     *
+     * @param alpha 補間の割合（0で前のティック、1で写し取った時点、RenderFrame.interpolationで求める）
+     */
+    public void render(Graphics2D g2d, RenderFrame frame, float alpha) {
+        render(g2d, frame, alpha, System.currentTimeMillis());
+    }
+
+    /**
+     * 1フレームを指定した時刻のアニメーションで描画
+     * 同じフレームを領域ごとに分けて描く場合は、すべての領域に同じ時刻を渡す
+     *
+     * @param millis アニメーションの時刻（System.currentTimeMillis）
+     */
+    void render(Graphics2D g2d, RenderFrame frame, float alpha, long millis) {
+        this.alpha = alpha;
+        this.animationMillis = millis;
+
+        // アンチエイリアシング有効化
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // アニメーション更新
+        updateAnimations(frame);
+
+        // カメラの更新（スクロールする場合は迷路の表示領域に限定して座標をずらす）
+        MazeLayout layout = frame.maze.getLayout();
+        camera.follow(RenderFrame.lerp(frame.pacmanPreviousX, frame.pacmanX, alpha),
+                RenderFrame.lerp(frame.pacmanPreviousY, frame.pacmanY, alpha),
+                layout.getWidth(), layout.getHeight());
+        Shape previousClip = g2d.getClip();
+        boolean scrolling = camera.isScrolling();
+        if (scrolling) {
+            g2d.clipRect(0, TILE_SIZE * 2, PANEL_WIDTH, Maze.HEIGHT * TILE_SIZE);
+            g2d.translate(-camera.getOffsetX(), -camera.getOffsetY());
+        }
+
+        // 迷路の描画
+        drawMaze(g2d, frame);
+
+        // フルーツの描画
+        drawFruit(g2d, frame);
+
+        // パックマンの描画
+        drawPacman(g2d, frame);
+
+        // ゴーストの描画
+        drawGhosts(g2d, frame);
+        drawSwarm(g2d, frame);
+
+        // エフェクトの描画
+        frame.effects.render(g2d, alpha);
+
+        if (scrolling) {
+            g2d.translate(camera.getOffsetX(), camera.getOffsetY());
+            g2d.setClip(previousClip);
+        }
+
+        // UI要素の描画
+        drawUI(g2d, frame);
+
+        // FPS表示
+        if (settings.isShowFPS()) {
+            drawFPS(g2d, frame);
+        }
+
+        // 状態に応じたオーバーレイ
+        drawStateOverlay(g2d, frame);
+    }
+
+    /**
+     * アニメーションの更新
+     */
+    private void updateAnimations(RenderFrame frame) {
+        // 壁のパルスアニメーション（パワーペレット取得時）
+        wallPulseAnimation = (float) (Math.sin(animationMillis * 0.005) * 0.5 + 0.5);
+
+        // レベルクリア時のフラッシュ
+        if (frame.state == GameState.LEVEL_CLEAR) {
+            levelClearFlash = (animationMillis / 200) % 2 == 0;
+        } else {
+            levelClearFlash = false;
+        }
+    }
+
+    /**
+     * 迷路の描画
+     * 壁・ドア・通常ペレットはキャッシュしたチャンク画像を転送し、点滅するパワーペレットだけをその上に描く
+     */
+    private void drawMaze(Graphics2D g, RenderFrame frame) {
+        Maze maze = frame.maze;
+        MazeLayout layout = maze.getLayout();
+
+        // 表示範囲にかかるチャンクだけを描画し、パワーペレットは範囲内のタイルに限って調べる
+        int firstX = camera.getFirstTileX();
+        int lastX = camera.getLastTileX();
+        int firstY = camera.getFirstTileY();
+        int lastY = camera.getLastTileY();
+
+        // 領域を指定して描き直す場合は、クリップにかかるタイルだけに絞る（グローがはみ出す分を1タイル広げる）
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) {
+            firstX = Math.max(firstX, Math.floorDiv(clip.x, TILE_SIZE) - 1);
+            lastX = Math.min(lastX, Math.floorDiv(clip.x + clip.width - 1, TILE_SIZE) + 1);
+            firstY = Math.max(firstY, Math.floorDiv(clip.y - MAZE_TOP, TILE_SIZE) - 1);
+            lastY = Math.min(lastY, Math.floorDiv(clip.y + clip.height - 1 - MAZE_TOP, TILE_SIZE) + 1);
+        }
+        for (int chunkY = firstY / MazeLayout.CHUNK_SIZE; chunkY <= lastY / MazeLayout.CHUNK_SIZE; chunkY++) {
+            for (int chunkX = firstX / MazeLayout.CHUNK_SIZE; chunkX <= lastX / MazeLayout.CHUNK_SIZE; chunkX++) {
+                mazeLayer.drawChunk(g, maze, chunkX, chunkY, levelClearFlash);
+                if (layout.isWallChunk(chunkX, chunkY)) {
+                    continue;
+                }
+                drawPowerPellets(g, maze,
+                        Math.max(firstX, chunkX * MazeLayout.CHUNK_SIZE),
+                        Math.min(lastX, chunkX * MazeLayout.CHUNK_SIZE + MazeLayout.CHUNK_SIZE - 1),
+                        Math.max(firstY, chunkY * MazeLayout.CHUNK_SIZE),
+                        Math.min(lastY, chunkY * MazeLayout.CHUNK_SIZE + MazeLayout.CHUNK_SIZE - 1));
+            }
+        }
+    }
+
+    /**
+     * 指定範囲に残っているパワーペレットを描画
+     */
+    private void drawPowerPellets(Graphics2D g, Maze maze, int fromX, int toX, int fromY, int toY) {
+        for (int y = fromY; y <= toY; y++) {
+            for (int x = fromX; x <= toX; x++) {
+                if (maze.getTile(x, y) == Maze.POWER_PELLET) {
+                    // スコア表示分のオフセット
+                    drawPowerPellet(g, x * TILE_SIZE, y * TILE_SIZE + TILE_SIZE * 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * パワーペレットの描画（大きく点滅）
+     */
+    private void drawPowerPellet(Graphics2D g, int x, int y) {
+        int size = POWER_PELLET_SIZE + (int) (Math.sin(animationMillis * 0.005) * POWER_PELLET_PULSE);
+
+        // グロー効果
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
+        g.setColor(Color.YELLOW);
+        g.fillOval(x + TILE_SIZE / 2 - size, y + TILE_SIZE / 2 - size, size * 2, size * 2);
+
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        g.setColor(PELLET_COLOR);
+        g.fillOval(x + TILE_SIZE / 2 - size / 2, y + TILE_SIZE / 2 - size / 2, size, size);
+    }
+
+    /**
+     * フルーツの描画
+     */
+    private void drawFruit(Graphics2D g, RenderFrame frame) {
+        if (frame.fruitShown) {
+            sprites.drawFruit(g, frame.fruitType, fruitCenterX(frame), fruitCenterY(frame));
+        }
+    }
+
+    /**
+     * タイル単位のX座標から、絵柄を描くタイルの左上のX座標（ピクセル）を求める
+     */
+    static int pixelX(double tileX) {
+        return (int) (tileX * TILE_SIZE);
+    }
+
+    /**
+     * タイル単位のY座標から、絵柄を描くタイルの左上のY座標（ピクセル、スコア表示分のオフセット付き）を求める
+     */
+    static int pixelY(double tileY) {
+        return (int) (tileY * TILE_SIZE) + MAZE_TOP;
+    }
+
+    /**
+     * フルーツを描く中心のX座標（ピクセル）
+     */
+    static int fruitCenterX(RenderFrame frame) {
+        return frame.fruitX * TILE_SIZE + TILE_SIZE / 2;
+    }
+
+    /**
+     * フルーツを描く中心のY座標（ピクセル、上下の揺れを含む）
+     */
+    static int fruitCenterY(RenderFrame frame) {
+        return (int) (frame.fruitY * TILE_SIZE + TILE_SIZE / 2 + frame.fruitOffset);
+    }
+
+    /**
+     * パックマンの描画（改良版）
+     */
+    private void drawPacman(Graphics2D g, RenderFrame frame) {
+        if (!frame.pacmanAlive && frame.state == GameState.PACMAN_DIED) {
+            // 死亡アニメーション
+            drawPacmanDeath(g, frame);
+        } else {
+            // 通常の描画
+            int x = pixelX(RenderFrame.lerp(frame.pacmanPreviousX, frame.pacmanX, alpha));
+            int y = pixelY(RenderFrame.lerp(frame.pacmanPreviousY, frame.pacmanY, alpha));
+            sprites.drawPacman(g, x, y, frame.pacmanFrame, frame.pacmanDirection);
+        }
+    }
+
+    /**
+     * パックマンの死亡アニメーション
+     */
+    private void drawPacmanDeath(Graphics2D g, RenderFrame frame) {
+        int x = pixelX(frame.pacmanX);
+        int y = pixelY(frame.pacmanY);
+
+        // 徐々に消えていくアニメーション
+        int animProgress = Math.min(90, (int) (animationMillis % 1000) / 11);
+        sprites.drawPacmanDeath(g, x, y, animProgress);
+    }
+
+    /**
+     * ゴーストの描画（改良版）
+     */
+    private void drawGhosts(Graphics2D g, RenderFrame frame) {
+        // 波打つ下部のアニメーションは全ゴースト共通
+        int waveFrame = SpriteAtlas.ghostWaveFrame(animationMillis);
+
+        for (int i = 0; i < frame.ghostCount; i++) {
+            int x = pixelX(RenderFrame.lerp(frame.ghostPreviousX[i], frame.ghostX[i], alpha));
+            int y = pixelY(RenderFrame.lerp(frame.ghostPreviousY[i], frame.ghostY[i], alpha));
+            Ghost.GhostState state = frame.ghostStates[i];
+
+            if (state == Ghost.GhostState.EATEN) {
+                // 目玉だけ描画
+                sprites.drawGhostEyes(g, x, y, frame.ghostDirections[i], true);
+            } else {
+                sprites.drawGhost(g, x, y, frame.ghostColors[i],
+                        state == Ghost.GhostState.FRIGHTENED, frame.ghostDirections[i], waveFrame);
+            }
+        }
+    }
+
+    /**
+     * スウォームモードのゴーストを描画（数千体を描くため影やアニメーションは省略）
+     */
+    private void drawSwarm(Graphics2D g, RenderFrame frame) {
+        for (int i = 0; i < frame.swarmCount; i++) {
+            double swarmX = RenderFrame.lerp(frame.swarmPreviousX[i], frame.swarmX[i], alpha);
+            double swarmY = RenderFrame.lerp(frame.swarmPreviousY[i], frame.swarmY[i], alpha);
+            if (!camera.isVisible(swarmX, swarmY)) {
+                continue;
+            }
+            int x = pixelX(swarmX);
+            int y = pixelY(swarmY);
+            byte state = frame.swarmStates[i];
+
+            if (state == GhostSwarm.EATEN) {
+                sprites.drawGhostEyes(g, x, y, Direction.NONE, false);
+                continue;
+            }
+
+            Color color;
+            if (state == GhostSwarm.FRIGHTENED) {
+                int timer = frame.swarmFrightenedTimers[i];
+                color = timer < 100 && (timer / 10) % 2 == 0 ? Color.WHITE : Color.BLUE;
+            } else {
+                color = SWARM_COLORS[frame.swarmPersonalities[i]];
+            }
+            sprites.drawSwarmGhost(g, x, y, color);
+        }
+    }
+
+    /**
+     * UI要素の描画（画面上端からHUD_HEIGHTの範囲に収まる）
+     */
+    private void drawUI(Graphics2D g, RenderFrame frame) {
+        if (!g.hitClip(0, 0, PANEL_WIDTH, HUD_HEIGHT)) {
+            return;
+        }
+        g.setColor(Color.WHITE);
+        g.setFont(SCORE_FONT);
+
+        // スコア
+        g.drawString("SCORE: " + frame.score, 10, 25);
+
+        // ハイスコア
+        g.drawString("HIGH: " + frame.highScore, PANEL_WIDTH / 2 - 40, 25);
+
+        // レベル
+        g.drawString("LEVEL: " + frame.level, PANEL_WIDTH - 100, 25);
+
+        // 残機（パックマンアイコンで表示）
+        g.drawString("LIVES: ", 10, 45);
+        for (int i = 0; i < frame.lives; i++) {
+            int lifeX = 70 + i * 25;
+            int lifeY = 35;
+            g.setColor(Color.YELLOW);
+            g.fillArc(lifeX, lifeY, 15, 15, 30, 300);
+        }
+
+        // パワーペレット効果の残り時間バー（表示中のみ）
+        drawPowerPelletTimer(g);
+    }
+
+    /**
+     * パワーペレット効果の残り時間表示
+     */
+    private void drawPowerPelletTimer(Graphics2D g) {
+        // 実装には内部タイマーへのアクセスが必要
+        // 現在は省略
+    }
+
+    /**
+     * FPS表示（右下のFPS_WIDTH×FPS_HEIGHTの範囲に収まる）
+     */
+    private void drawFPS(Graphics2D g, RenderFrame frame) {
+        if (!g.hitClip(PANEL_WIDTH - FPS_WIDTH, PANEL_HEIGHT - FPS_HEIGHT, FPS_WIDTH, FPS_HEIGHT)) {
+            return;
+        }
+        g.setColor(Color.GREEN);
+        g.setFont(FPS_FONT);
+        g.drawString("FPS: " + frame.fps, PANEL_WIDTH - 60, PANEL_HEIGHT - 10);
+    }
+
+    /**
+     * 状態に応じたオーバーレイ描画
+     */
+    private void drawStateOverlay(Graphics2D g, RenderFrame frame) {
+        switch (frame.state) {
+            case READY:
+                drawReadyMessage(g);
+                break;
+            case PAUSED:
+                drawPausedMessage(g);
+                break;
+            case GAME_OVER:
+                drawGameOverMessage(g, frame);
+                break;
+            case LEVEL_CLEAR:
+                drawLevelClearMessage(g);
+                break;
+        }
+    }
+
+    /**
+     * READY メッセージ
+     */
+    private void drawReadyMessage(Graphics2D g) {
+        if (!g.hitClip(0, PANEL_HEIGHT / 2 - 30, PANEL_WIDTH, 60)) {
+            return;
+        }
+
+        // 半透明の背景
+        g.setColor(new Color(0, 0, 0, 128));
+        g.fillRect(0, PANEL_HEIGHT / 2 - 30, PANEL_WIDTH, 60);
+
+        g.setColor(Color.YELLOW);
+        g.setFont(READY_FONT);
+        String message = "READY!";
+        FontMetrics fm = g.getFontMetrics();
+        int x = (PANEL_WIDTH - fm.stringWidth(message)) / 2;
+        int y = PANEL_HEIGHT / 2;
+        g.drawString(message, x, y);
+    }
+
+    /**
+     * PAUSED メッセージ
+     */
+    private void drawPausedMessage(Graphics2D g) {
+        // 半透明の背景
+        g.setColor(new Color(0, 0, 0, 192));
+        g.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+
+        g.setColor(Color.YELLOW);
+        g.setFont(READY_FONT);
+        String message = "PAUSED";
+        FontMetrics fm = g.getFontMetrics();
+        int x = (PANEL_WIDTH - fm.stringWidth(message)) / 2;
+        int y = PANEL_HEIGHT / 2;
+        g.drawString(message, x, y);
+
+        // サブメッセージ
+        g.setFont(SCORE_FONT);
+        g.setColor(Color.WHITE);
+        String submsg = "Press P to resume";
+        x = (PANEL_WIDTH - g.getFontMetrics().stringWidth(submsg)) / 2;
+        g.drawString(submsg, x, y + 30);
+    }
+
+    /**
+     * GAME OVER メッセージ
+     */
+    private void drawGameOverMessage(Graphics2D g, RenderFrame frame) {
+        // 暗い背景
+        g.setColor(new Color(0, 0, 0, 192));
+        g.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+
+        g.setColor(Color.RED);
+        g.setFont(GAME_OVER_FONT);
+        String message = "GAME OVER";
+        FontMetrics fm = g.getFontMetrics();
+        int x = (PANEL_WIDTH - fm.stringWidth(message)) / 2;
+        int y = PANEL_HEIGHT / 2;
+        g.drawString(message, x, y);
+
+        g.setFont(SCORE_FONT);
+        g.setColor(Color.WHITE);
+        String restart = "Press SPACE to restart";
+        x = (PANEL_WIDTH - g.getFontMetrics().stringWidth(restart)) / 2;
+        g.drawString(restart, x, y + 40);
+
+        // 最終スコア
+        String finalScore = "Final Score: " + frame.score;
+        x = (PANEL_WIDTH - g.getFontMetrics().stringWidth(finalScore)) / 2;
+        g.drawString(finalScore, x, y + 70);
+    }
+
+    /**
+     * LEVEL CLEAR メッセージ
+     */
+    private void drawLevelClearMessage(Graphics2D g) {
+        // アニメーション効果のある背景
+        float alpha = (float) (Math.sin(animationMillis * 0.005) * 0.2 + 0.3);
+        g.setColor(new Color(0, 0, 0, (int) (alpha * 255)));
+        g.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+
+        // 虹色のテキスト効果
+        g.setFont(READY_FONT);
+        String message = "LEVEL CLEAR!";
+        FontMetrics fm = g.getFontMetrics();
+        int x = (PANEL_WIDTH - fm.stringWidth(message)) / 2;
+        int y = PANEL_HEIGHT / 2;
+
+        // グラデーション効果
+        for (int i = 0; i < message.length(); i++) {
+            float hue = (float) ((animationMillis * 0.001 + i * 0.1) % 1.0);
+            g.setColor(Color.getHSBColor(hue, 1.0f, 1.0f));
+            g.drawString(message.substring(i, i + 1),
+                    x + fm.stringWidth(message.substring(0, i)), y);
+        }
+    }
+}
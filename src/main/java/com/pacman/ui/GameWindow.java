@@ -29,6 +29,12 @@ public class GameWindow extends JFrame {
     public GameWindow() {
         settings = GameSettings.getInstance();
 
+        // アクティブレンダリングのキャンバス（重量コンポーネント）の上にメニューを表示できるようにする
+        if (settings.isActiveRendering()) {
+            JPopupMenu.setDefaultLightWeightPopupEnabled(false);
+            ToolTipManager.sharedInstance().setLightWeightPopupEnabled(false);
+        }
+
         initializeWindow();
         createMenuBar();
         initializeGamePanel();
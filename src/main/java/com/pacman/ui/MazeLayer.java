@@ -0,0 +1,262 @@
+package com.pacman.ui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.pacman.model.Maze;
+import com.pacman.model.MazeLayout;
+
+/**
+ * 迷路の変化しない部分（壁・ゴーストハウスのドア・通常ペレット）を事前に描画しておく画像キャッシュ
+ * チャンク（MazeLayout.CHUNK_SIZE四方）ごとに互換イメージへ一度だけ描画し、毎フレームは転送するだけにする
+ * 食べられた（または復活した）通常ペレットは、そのタイルだけを画像上で描き直す
+ *
+ * 画像は表示されたチャンクの分だけ作成し、壁だけのチャンクは1枚を共有する（大きな迷路でも表示範囲程度のメモリで済む）
+ * レベルクリア時の白い壁は別の画像としてキャッシュし、レイアウトか描画倍率が変わった時だけすべて作り直す
+ * 点滅するパワーペレットは含めないため、呼び出し側で毎フレーム描画すること
+ */
+public class MazeLayer {
+    // 保持するチャンク画像の上限（通常色・フラッシュ色の合計、古いものから捨てる）
+    private static final int MAX_CACHED_CHUNKS = 32;
+
+    // 壁だけのチャンクで共有する画像のキー
+    private static final long WALL_CHUNK_KEY = -2;
+
+    private static final Color WALL_COLOR = new Color(33, 33, 222);
+    private static final Color[] WALL_COLORS = { WALL_COLOR, WALL_COLOR.brighter(), WALL_COLOR.darker() };
+    private static final Color[] FLASH_COLORS = { Color.WHITE, Color.WHITE.brighter(), Color.WHITE.darker() };
+    private static final Color DOOR_COLOR = Color.PINK;
+    private static final Color PELLET_COLOR = Color.WHITE;
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+
+    private final int tileSize;
+    private final int offsetY;
+    private final int chunkPixels;
+
+    // キャッシュの前提（変わったら作り直す）
+    private MazeLayout layout;
+    private double scale;
+    private GraphicsConfiguration configuration;
+
+    private final Map<Long, Chunk> chunks = new LinkedHashMap<Long, Chunk>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+            if (size() > MAX_CACHED_CHUNKS) {
+                eldest.getValue().image.flush();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * キャッシュしたチャンク画像と、描き込んである通常ペレットの位置（チャンク内のタイル番号のビット）
+     */
+    private static final class Chunk {
+        final BufferedImage image;
+        final long[] pellets = new long[MazeLayout.CHUNK_SIZE * MazeLayout.CHUNK_SIZE / 64];
+
+        Chunk(BufferedImage image) {
+            this.image = image;
+        }
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param tileSize 1タイルの大きさ（ピクセル）
+     * @param offsetY  迷路の上端の位置（スコア表示分の余白、ピクセル）
+     */
+    public MazeLayer(int tileSize, int offsetY) {
+        this.tileSize = tileSize;
+        this.offsetY = offsetY;
+        this.chunkPixels = tileSize * MazeLayout.CHUNK_SIZE;
+    }
+
+    /**
+     * チャンクの壁・ドア・通常ペレットを描画（キャッシュになければ作成し、ペレットの増減は画像へ反映する）
+     *
+     * @param g      描画先（迷路の座標系、スクロール分の平行移動は済ませておく）
+     * @param maze   迷路
+     * @param chunkX チャンク列
+     * @param chunkY チャンク行
+     * @param flash  レベルクリア時の白い壁で描くか
+     */
+    public void drawChunk(Graphics2D g, Maze maze, int chunkX, int chunkY, boolean flash) {
+        MazeLayout layout = maze.getLayout();
+        validate(g, layout);
+
+        // 迷路の内側に収まる壁だけのチャンクは共有画像を使う
+        boolean shared = layout.isWallChunk(chunkX, chunkY)
+                && (chunkX + 1) * MazeLayout.CHUNK_SIZE <= layout.getWidth()
+                && (chunkY + 1) * MazeLayout.CHUNK_SIZE <= layout.getHeight();
+        long key = ((shared ? WALL_CHUNK_KEY : ((long) chunkY << 32) | chunkX) << 1) | (flash ? 1 : 0);
+        Chunk chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = render(maze, chunkX, chunkY, shared, flash);
+            chunks.put(key, chunk);
+        } else if (!shared) {
+            updatePellets(chunk, maze, chunkX, chunkY);
+        }
+        g.drawImage(chunk.image, chunkX * chunkPixels, chunkY * chunkPixels + offsetY, chunkPixels, chunkPixels, null);
+    }
+
+    /**
+     * レイアウト・描画倍率・描画先のデバイスが変わっていればキャッシュを捨てる
+     */
+    private void validate(Graphics2D g, MazeLayout layout) {
+        double currentScale = g.getTransform().getScaleX();
+        GraphicsConfiguration currentConfiguration = g.getDeviceConfiguration();
+        if (layout != this.layout || currentScale != scale || currentConfiguration != configuration) {
+            invalidate();
+            this.layout = layout;
+            this.scale = currentScale;
+            this.configuration = currentConfiguration;
+        }
+    }
+
+    /**
+     * キャッシュした画像をすべて破棄
+     */
+    public void invalidate() {
+        for (Chunk chunk : chunks.values()) {
+            chunk.image.flush();
+        }
+        chunks.clear();
+        layout = null;
+    }
+
+    /**
+     * チャンクの画像を作成（描画倍率に合わせた解像度で、背景ごと不透明に描く）
+     */
+    private Chunk render(Maze maze, int chunkX, int chunkY, boolean shared, boolean flash) {
+        MazeLayout layout = maze.getLayout();
+        int size = (int) Math.ceil(chunkPixels * scale);
+        BufferedImage image = configuration != null
+                ? configuration.createCompatibleImage(size, size, Transparency.OPAQUE)
+                : new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Chunk chunk = new Chunk(image);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(BACKGROUND_COLOR);
+            g.fillRect(0, 0, size, size);
+            g.scale(scale, scale);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            Color[] wallColors = flash ? FLASH_COLORS : WALL_COLORS;
+            int fromX = chunkX * MazeLayout.CHUNK_SIZE;
+            int fromY = chunkY * MazeLayout.CHUNK_SIZE;
+            int toX = shared ? fromX + MazeLayout.CHUNK_SIZE : Math.min(layout.getWidth(), fromX + MazeLayout.CHUNK_SIZE);
+            int toY = shared ? fromY + MazeLayout.CHUNK_SIZE : Math.min(layout.getHeight(), fromY + MazeLayout.CHUNK_SIZE);
+            for (int y = fromY; y < toY; y++) {
+                for (int x = fromX; x < toX; x++) {
+                    int tile = shared ? Maze.WALL : maze.getTile(x, y);
+                    int localX = (x - fromX) * tileSize;
+                    int localY = (y - fromY) * tileSize;
+                    if (tile == Maze.WALL) {
+                        drawWall(g, localX, localY, wallColors);
+                    } else if (tile == Maze.GHOST_HOUSE_DOOR) {
+                        drawGhostHouseDoor(g, localX, localY);
+                    } else if (tile == Maze.PELLET) {
+                        drawPellet(g, localX, localY);
+                        int index = (y - fromY) * MazeLayout.CHUNK_SIZE + (x - fromX);
+                        chunk.pellets[index >>> 6] |= 1L << index;
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return chunk;
+    }
+
+    /**
+     * 画像に描き込んだ通常ペレットと迷路の状態が違うタイルだけを描き直す
+     */
+    private void updatePellets(Chunk chunk, Maze maze, int chunkX, int chunkY) {
+        MazeLayout layout = maze.getLayout();
+        int fromX = chunkX * MazeLayout.CHUNK_SIZE;
+        int fromY = chunkY * MazeLayout.CHUNK_SIZE;
+        int toX = Math.min(layout.getWidth(), fromX + MazeLayout.CHUNK_SIZE);
+        int toY = Math.min(layout.getHeight(), fromY + MazeLayout.CHUNK_SIZE);
+        Graphics2D g = null;
+        try {
+            for (int y = fromY; y < toY; y++) {
+                for (int x = fromX; x < toX; x++) {
+                    int index = (y - fromY) * MazeLayout.CHUNK_SIZE + (x - fromX);
+                    boolean drawn = (chunk.pellets[index >>> 6] & (1L << index)) != 0;
+                    boolean present = maze.getTile(x, y) == Maze.PELLET;
+                    if (drawn == present) {
+                        continue;
+                    }
+                    if (g == null) {
+                        g = chunk.image.createGraphics();
+                        g.scale(scale, scale);
+                    }
+                    // ペレットのタイルには壁がかからないため、タイルごと塗り直してよい
+                    int localX = (x - fromX) * tileSize;
+                    int localY = (y - fromY) * tileSize;
+                    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                    g.setColor(BACKGROUND_COLOR);
+                    g.fillRect(localX, localY, tileSize, tileSize);
+                    if (present) {
+                        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                        drawPellet(g, localX, localY);
+                    }
+                    chunk.pellets[index >>> 6] ^= 1L << index;
+                }
+            }
+        } finally {
+            if (g != null) {
+                g.dispose();
+            }
+        }
+    }
+
+    /**
+     * 壁の描画（改良版）
+     */
+    private void drawWall(Graphics2D g, int x, int y, Color[] wallColors) {
+        g.setColor(wallColors[0]);
+        g.fillRect(x + 2, y + 2, tileSize - 4, tileSize - 4);
+
+        // 簡単な3D効果
+        g.setColor(wallColors[1]);
+        g.drawLine(x + 2, y + 2, x + tileSize - 3, y + 2);
+        g.drawLine(x + 2, y + 2, x + 2, y + tileSize - 3);
+
+        // 影効果
+        g.setColor(wallColors[2]);
+        g.drawLine(x + tileSize - 3, y + 3, x + tileSize - 3, y + tileSize - 3);
+        g.drawLine(x + 3, y + tileSize - 3, x + tileSize - 3, y + tileSize - 3);
+    }
+
+    /**
+     * ゴーストハウスのドア描画
+     */
+    private void drawGhostHouseDoor(Graphics2D g, int x, int y) {
+        g.setColor(DOOR_COLOR);
+        g.fillRect(x + 4, y + tileSize / 2 - 2, tileSize - 8, 4);
+    }
+
+    /**
+     * 通常ペレットの描画
+     */
+    private void drawPellet(Graphics2D g, int x, int y) {
+        g.setColor(PELLET_COLOR);
+        g.fillOval(x + tileSize / 2 - 2, y + tileSize / 2 - 2, 4, 4);
+    }
+
+    /**
+     * キャッシュしているチャンク画像の数
+     */
+    public int getCachedChunkCount() {
+        return chunks.size();
+    }
+}
@@ -0,0 +1,249 @@
+package com.pacman.ui;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+import com.pacman.effects.EffectFrame;
+import com.pacman.game.Direction;
+import com.pacman.game.GameState;
+import com.pacman.model.Fruit;
+import com.pacman.model.Game;
+import com.pacman.model.Ghost;
+import com.pacman.model.GhostSwarm;
+import com.pacman.model.Maze;
+import com.pacman.model.Pacman;
+
+/**
+ * 1ティック分の描画に必要なゲームの状態を写し取ったもの
+ * シミュレーションのスレッドでcaptureし、公開した後は描画スレッドが読むだけにする（Gameのオブジェクトへは触れない）
+ * TripleBufferで使い回すため、配列や迷路の複製は作り直さずに上書きする
+ *
+ * 動くものは前のティックの位置も持ち、描画側はinterpolationで求めた割合で両者の間に描く
+ * トンネルのワープや復活などで1ティックに1タイルを超えて動いた場合は補間せず、現在の位置に描く
+ */
+public final class RenderFrame {
+    private static final int INITIAL_GHOST_CAPACITY = 4;
+
+    // 1ティックの長さ（ナノ秒）
+    private static final long TICK_NANOS = Game.GAME_SPEED * 1_000_000L;
+
+    // 1ティックでこれより大きく動いた場合は補間しない（タイル単位、通常の移動は最大でも1/4タイル）
+    private static final double MAX_INTERPOLATION_DISTANCE = 1.0;
+
+    // 写し取ったことがあるか（最初のティックより前はfalse）
+    boolean captured;
+    long tick;
+    long capturedNanos;
+
+    // ゲーム全体
+    GameState state;
+    int score;
+    int highScore;
+    int level;
+    int fps;
+
+    // 迷路（レイアウトは共有し、ペレットの状態だけを写す）
+    Maze maze;
+
+    // パックマン
+    double pacmanX;
+    double pacmanY;
+    double pacmanPreviousX;
+    double pacmanPreviousY;
+    boolean pacmanAlive;
+    int pacmanFrame;
+    Direction pacmanDirection;
+    int lives;
+
+    // ゴースト
+    int ghostCount;
+    double[] ghostX = new double[INITIAL_GHOST_CAPACITY];
+    double[] ghostY = new double[INITIAL_GHOST_CAPACITY];
+    double[] ghostPreviousX = new double[INITIAL_GHOST_CAPACITY];
+    double[] ghostPreviousY = new double[INITIAL_GHOST_CAPACITY];
+    Ghost.GhostState[] ghostStates = new Ghost.GhostState[INITIAL_GHOST_CAPACITY];
+    Color[] ghostColors = new Color[INITIAL_GHOST_CAPACITY];
+    Direction[] ghostDirections = new Direction[INITIAL_GHOST_CAPACITY];
+
+    // スウォームモードのゴースト（無効時は0体）
+    int swarmCount;
+    double[] swarmX = new double[0];
+    double[] swarmY = new double[0];
+    double[] swarmPreviousX = new double[0];
+    double[] swarmPreviousY = new double[0];
+    byte[] swarmStates = new byte[0];
+    byte[] swarmPersonalities = new byte[0];
+    int[] swarmFrightenedTimers = new int[0];
+
+    // フルーツ（点滅で消えている間は非表示）
+    boolean fruitShown;
+    Fruit.FruitType fruitType;
+    int fruitX;
+    int fruitY;
+    float fruitOffset;
+
+    // エフェクト
+    final EffectFrame effects = new EffectFrame();
+
+    /**
+     * ゲームの現在の状態を写し取る（ゲームを更新しているスレッドから呼ぶ）
+     */
+    public void capture(Game game) {
+        tick = game.getTickCount();
+        capturedNanos = System.nanoTime();
+        state = game.getState();
+        score = game.getScore();
+        highScore = game.getHighScore();
+        level = game.getLevel();
+        fps = game.getCurrentFPS();
+
+        Maze source = game.getMaze();
+        if (maze == null || maze.getLayout().getWidth() != source.getLayout().getWidth()
+                || maze.getLayout().getHeight() != source.getLayout().getHeight()) {
+            maze = new Maze(source.getLayout());
+        }
+        maze.copyFrom(source);
+
+        Pacman pacman = game.getPacman();
+        pacmanX = pacman.getX();
+        pacmanY = pacman.getY();
+        pacmanPreviousX = pacman.getPreviousX();
+        pacmanPreviousY = pacman.getPreviousY();
+        if (jumped(pacmanPreviousX, pacmanPreviousY, pacmanX, pacmanY)) {
+            pacmanPreviousX = pacmanX;
+            pacmanPreviousY = pacmanY;
+        }
+        pacmanAlive = pacman.isAlive();
+        pacmanFrame = pacman.getAnimationFrame();
+        pacmanDirection = pacman.getCurrentDirection();
+        lives = pacman.getLives();
+
+        captureGhosts(game.getGhosts());
+        captureSwarm(game.getSwarm());
+
+        Fruit fruit = game.getFruit();
+        fruitShown = fruit != null && fruit.isShown();
+        if (fruitShown) {
+            fruitType = fruit.getType();
+            fruitX = fruit.getX();
+            fruitY = fruit.getY();
+            fruitOffset = fruit.getAnimationOffset();
+        }
+
+        game.getEffectManager().capture(effects);
+        captured = true;
+    }
+
+    private void captureGhosts(List<Ghost> ghosts) {
+        int count = ghosts.size();
+        if (ghostX.length < count) {
+            ghostX = Arrays.copyOf(ghostX, count);
+            ghostY = Arrays.copyOf(ghostY, count);
+            ghostPreviousX = Arrays.copyOf(ghostPreviousX, count);
+            ghostPreviousY = Arrays.copyOf(ghostPreviousY, count);
+            ghostStates = Arrays.copyOf(ghostStates, count);
+            ghostColors = Arrays.copyOf(ghostColors, count);
+            ghostDirections = Arrays.copyOf(ghostDirections, count);
+        }
+        for (int i = 0; i < count; i++) {
+            Ghost ghost = ghosts.get(i);
+            ghostX[i] = ghost.getX();
+            ghostY[i] = ghost.getY();
+            ghostPreviousX[i] = ghost.getPreviousX();
+            ghostPreviousY[i] = ghost.getPreviousY();
+            if (jumped(ghostPreviousX[i], ghostPreviousY[i], ghostX[i], ghostY[i])) {
+                ghostPreviousX[i] = ghostX[i];
+                ghostPreviousY[i] = ghostY[i];
+            }
+            ghostStates[i] = ghost.getState();
+            ghostColors[i] = ghost.getCurrentColor();
+            ghostDirections[i] = ghost.getCurrentDirection();
+        }
+        ghostCount = count;
+    }
+
+    private void captureSwarm(GhostSwarm swarm) {
+        int count = swarm != null ? swarm.getCount() : 0;
+        if (swarmX.length < count) {
+            swarmX = new double[count];
+            swarmY = new double[count];
+            swarmPreviousX = new double[count];
+            swarmPreviousY = new double[count];
+            swarmStates = new byte[count];
+            swarmPersonalities = new byte[count];
+            swarmFrightenedTimers = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            swarmX[i] = swarm.getX(i);
+            swarmY[i] = swarm.getY(i);
+            swarmPreviousX[i] = swarm.getPreviousX(i);
+            swarmPreviousY[i] = swarm.getPreviousY(i);
+            if (jumped(swarmPreviousX[i], swarmPreviousY[i], swarmX[i], swarmY[i])) {
+                swarmPreviousX[i] = swarmX[i];
+                swarmPreviousY[i] = swarmY[i];
+            }
+            swarmStates[i] = swarm.getState(i);
+            swarmPersonalities[i] = (byte) swarm.getPersonality(i);
+            swarmFrightenedTimers[i] = swarm.getFrightenedTimer(i);
+        }
+        swarmCount = count;
+    }
+
+    /**
+     * 前のティックから補間できないほど離れた位置へ移ったか（トンネルのワープ・復活・巻き戻しなど）
+     */
+    private static boolean jumped(double previousX, double previousY, double x, double y) {
+        return Math.abs(x - previousX) > MAX_INTERPOLATION_DISTANCE
+                || Math.abs(y - previousY) > MAX_INTERPOLATION_DISTANCE;
+    }
+
+    /**
+     * 前のティックから写し取った時点までの補間の割合
+     *
+     * @param nanos 描画する時刻（System.nanoTime）
+     * @return 0（前のティック）から1（写し取った時点）の値
+     */
+    public float interpolation(long nanos) {
+        long elapsed = nanos - capturedNanos;
+        if (elapsed <= 0) {
+            return 0.0f;
+        }
+        if (elapsed >= TICK_NANOS) {
+            return 1.0f;
+        }
+        return (float) elapsed / TICK_NANOS;
+    }
+
+    /**
+     * 前のティックの値と現在の値の間を補間
+     */
+    static double lerp(double previous, double current, float alpha) {
+        return previous + (current - previous) * alpha;
+    }
+
+    /**
+     * 一度でも写し取ったか
+     */
+    public boolean isCaptured() {
+        return captured;
+    }
+
+    /**
+     * 写し取った時点のティック数
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * 写し取った時刻（System.nanoTime）
+     */
+    public long getCapturedNanos() {
+        return capturedNanos;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+}
@@ -0,0 +1,545 @@
+package com.pacman.ui;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+
+import com.pacman.game.Direction;
+import com.pacman.model.Fruit;
+
+/**
+ * パックマン・ゴースト・フルーツの絵柄をまとめたスプライトアトラス
+ * 口の開き・向き・ゴーストの色と状態・波打つ下部の形・目の向き・フルーツの種類ごとに、初めて使われた時に一度だけ描画し、
+ * 以降は1枚の画像からの転送だけで描く
+ *
+ * 描画結果はBufferedImageのシートに保持し、転送にはその写しのVolatileImage（使える環境ではビデオメモリ上）を使う
+ * VolatileImageの内容が失われた時はシートから写し直し、作成できない環境ではシートから直接転送する
+ * 描画倍率か描画先のデバイスが変わった時はすべて作り直す
+ */
+public class SpriteAtlas {
+    // シートの列数と、最初に確保する行数（足りなくなったら倍にする）
+    private static final int COLUMNS = 16;
+    private static final int INITIAL_ROWS = 4;
+
+    // パックマンの口の開き（Pacmanのアニメーションフレーム数）と死亡アニメーションの段階数
+    private static final int PACMAN_FRAMES = 4;
+    private static final int DEATH_FRAMES = 91;
+
+    // 波打つ下部（3つの山それぞれの上下のずれ-2～2の組み合わせ）
+    private static final int WAVES = 3;
+    private static final int WAVE_STEPS = 5;
+    private static final int WAVE_FRAMES = WAVE_STEPS * WAVE_STEPS * WAVE_STEPS;
+
+    // ゴーストの目の種類（向き5種類と怯えモードの顔）
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int FRIGHTENED_FACE = DIRECTIONS.length;
+    private static final int EYE_VARIANTS = DIRECTIONS.length + 1;
+
+    private static final Fruit.FruitType[] FRUIT_TYPES = Fruit.FruitType.values();
+
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 50);
+    private static final Color HIGHLIGHT_COLOR = new Color(255, 255, 200);
+
+    private final int tileSize;
+    // 1マスの大きさと、マスの中でタイルの左上が来る位置（影や揺れがタイルからはみ出す分の余白）
+    private final int cellSize;
+    private final int padding;
+
+    // 絵柄ごとのマス番号（-1は未作成）
+    private final int[] pacmanCells = new int[PACMAN_FRAMES * DIRECTIONS.length];
+    private final int[] deathCells = new int[DEATH_FRAMES];
+    private final int[] eyeCells = new int[DIRECTIONS.length * 2];
+    private final int[] fruitCells = new int[FRUIT_TYPES.length];
+    private ColorSprites[] palette = new ColorSprites[8];
+    private int paletteSize;
+
+    // シート（描画結果の原本）と転送用の写し
+    private BufferedImage sheet;
+    private VolatileImage accelerated;
+    private boolean acceleratedStale;
+    private boolean accelerationAvailable = true;
+    private int cellPixels;
+    private int cellCount;
+
+    // キャッシュの前提（変わったら作り直す）
+    private double scale;
+    private GraphicsConfiguration configuration;
+
+    /**
+     * 色ごとのゴーストの絵柄（目の種類×波の形、スウォーム用の簡略版）
+     */
+    private static final class ColorSprites {
+        final Color color;
+        final int[] ghostCells = new int[EYE_VARIANTS * WAVE_FRAMES];
+        int swarmCell = -1;
+
+        ColorSprites(Color color) {
+            this.color = color;
+            Arrays.fill(ghostCells, -1);
+        }
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param tileSize 1タイルの大きさ（ピクセル）
+     */
+    public SpriteAtlas(int tileSize) {
+        this.tileSize = tileSize;
+        this.cellSize = cellSize(tileSize);
+        this.padding = padding(tileSize);
+        clearCells();
+    }
+
+    /**
+     * 描画される絵柄1つの大きさ（ピクセル）
+     */
+    static int cellSize(int tileSize) {
+        return tileSize * 2;
+    }
+
+    /**
+     * 絵柄がタイルの左上からはみ出す幅（ピクセル、影や揺れの分）
+     */
+    static int padding(int tileSize) {
+        return tileSize / 2;
+    }
+
+    /**
+     * ゴーストの波打つ下部の形を時刻から求める（フレームごとに一度呼び、drawGhostへ渡す）
+     */
+    public static int ghostWaveFrame(long timeMillis) {
+        int frame = 0;
+        for (int i = 0; i < WAVES; i++) {
+            // 下部の山はそれぞれ位相をずらして最大2ピクセル上下する（切り捨てで-2～2）
+            int offset = (int) Math.floor(Math.sin(timeMillis * 0.01 + i * 30) * 2);
+            frame = frame * WAVE_STEPS + offset + 2;
+        }
+        return frame;
+    }
+
+    /**
+     * パックマンを描画
+     *
+     * @param x         タイルの左上（ピクセル）
+     * @param y         タイルの左上（ピクセル）
+     * @param frame     口の開閉アニメーションのフレーム（0～3）
+     * @param direction 向き
+     */
+    public void drawPacman(Graphics2D g, int x, int y, int frame, Direction direction) {
+        validate(g);
+        int key = Math.floorMod(frame, PACMAN_FRAMES) * DIRECTIONS.length + direction.ordinal();
+        if (pacmanCells[key] < 0) {
+            Graphics2D sg = beginCell(pacmanCells[key] = allocateCell());
+            try {
+                renderPacman(sg, key / DIRECTIONS.length, direction);
+            } finally {
+                endCell(sg);
+            }
+        }
+        blit(g, pacmanCells[key], x, y);
+    }
+
+    /**
+     * パックマンの死亡アニメーションを描画
+     *
+     * @param progress 消えていく進み具合（0～90）
+     */
+    public void drawPacmanDeath(Graphics2D g, int x, int y, int progress) {
+        validate(g);
+        int key = Math.max(0, Math.min(DEATH_FRAMES - 1, progress));
+        if (deathCells[key] < 0) {
+            Graphics2D sg = beginCell(deathCells[key] = allocateCell());
+            try {
+                sg.setColor(Color.YELLOW);
+                sg.fillArc(2, 2, tileSize - 4, tileSize - 4, 90 - key, 360 - (key * 2));
+            } finally {
+                endCell(sg);
+            }
+        }
+        blit(g, deathCells[key], x, y);
+    }
+
+    /**
+     * ゴースト本体を描画（影付き）
+     *
+     * @param color      体の色
+     * @param frightened 怯えモードの顔で描くか（白い体は半透明にする）
+     * @param direction  目の向き（怯えモードでは使わない）
+     * @param waveFrame  ghostWaveFrameで求めた下部の形
+     */
+    public void drawGhost(Graphics2D g, int x, int y, Color color, boolean frightened, Direction direction,
+            int waveFrame) {
+        validate(g);
+        ColorSprites sprites = spritesFor(color);
+        int variant = frightened ? FRIGHTENED_FACE : direction.ordinal();
+        int key = variant * WAVE_FRAMES + waveFrame;
+        if (sprites.ghostCells[key] < 0) {
+            Graphics2D sg = beginCell(sprites.ghostCells[key] = allocateCell());
+            try {
+                renderGhost(sg, color, variant, waveFrame);
+            } finally {
+                endCell(sg);
+            }
+        }
+        blit(g, sprites.ghostCells[key], x, y);
+    }
+
+    /**
+     * ゴーストの目だけを描画（食べられたゴースト）
+     *
+     * @param shadow 影を付けるか
+     */
+    public void drawGhostEyes(Graphics2D g, int x, int y, Direction direction, boolean shadow) {
+        validate(g);
+        int key = direction.ordinal() * 2 + (shadow ? 1 : 0);
+        if (eyeCells[key] < 0) {
+            Graphics2D sg = beginCell(eyeCells[key] = allocateCell());
+            try {
+                if (shadow) {
+                    renderShadow(sg);
+                }
+                renderEyes(sg, direction);
+            } finally {
+                endCell(sg);
+            }
+        }
+        blit(g, eyeCells[key], x, y);
+    }
+
+    /**
+     * スウォームモードのゴーストを描画（影・目・波のない簡略版）
+     */
+    public void drawSwarmGhost(Graphics2D g, int x, int y, Color color) {
+        validate(g);
+        ColorSprites sprites = spritesFor(color);
+        if (sprites.swarmCell < 0) {
+            Graphics2D sg = beginCell(sprites.swarmCell = allocateCell());
+            try {
+                sg.setColor(color);
+                sg.fillArc(2, 2, tileSize - 4, tileSize / 2 - 2, 0, 180);
+                sg.fillRect(2, tileSize / 2, tileSize - 4, tileSize / 2 - 4);
+            } finally {
+                endCell(sg);
+            }
+        }
+        blit(g, sprites.swarmCell, x, y);
+    }
+
+    /**
+     * フルーツを描画
+     *
+     * @param centerX 中心（ピクセル）
+     * @param centerY 中心（ピクセル）
+     */
+    public void drawFruit(Graphics2D g, Fruit.FruitType type, int centerX, int centerY) {
+        validate(g);
+        int key = type.ordinal();
+        if (fruitCells[key] < 0) {
+            Graphics2D sg = beginCell(fruitCells[key] = allocateCell());
+            try {
+                Fruit.drawShape(sg, type, tileSize / 2, tileSize / 2, tileSize);
+            } finally {
+                endCell(sg);
+            }
+        }
+        blit(g, fruitCells[key], centerX - tileSize / 2, centerY - tileSize / 2);
+    }
+
+    /**
+     * パックマンの絵柄（影・体・ハイライト）
+     */
+    private void renderPacman(Graphics2D g, int frame, Direction direction) {
+        renderShadow(g);
+
+        g.setColor(Color.YELLOW);
+
+        // 口の開閉アニメーション
+        int mouthAngle = 45 - (frame * 15);
+        int startAngle = getStartAngle(direction, mouthAngle);
+
+        g.fillArc(2, 2, tileSize - 4, tileSize - 4, startAngle, 360 - (mouthAngle * 2));
+
+        // ハイライト効果
+        g.setColor(HIGHLIGHT_COLOR);
+        g.fillArc(4, 4, tileSize / 2, tileSize / 2, startAngle + 20, 40);
+    }
+
+    /**
+     * 方向に応じた口の開始角度を計算
+     */
+    private int getStartAngle(Direction direction, int mouthAngle) {
+        switch (direction) {
+            case RIGHT:
+                return mouthAngle;
+            case UP:
+                return 90 + mouthAngle;
+            case LEFT:
+                return 180 + mouthAngle;
+            case DOWN:
+                return 270 + mouthAngle;
+            default:
+                return mouthAngle;
+        }
+    }
+
+    /**
+     * ゴーストの絵柄（影・体・波打つ下部・目）
+     */
+    private void renderGhost(Graphics2D g, Color color, int variant, int waveFrame) {
+        renderShadow(g);
+
+        // 怯えモードの残り時間が少ない時の白色点滅を強調
+        if (variant == FRIGHTENED_FACE && Color.WHITE.equals(color)) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f));
+        }
+
+        g.setColor(color);
+
+        // 体
+        g.fillArc(2, 2, tileSize - 4, tileSize / 2 - 2, 0, 180);
+        g.fillRect(2, tileSize / 2, tileSize - 4, tileSize / 2 - 2);
+
+        // 波打つ下部
+        int steps = waveFrame;
+        for (int i = WAVES - 1; i >= 0; i--) {
+            int offset = steps % WAVE_STEPS - 2;
+            steps /= WAVE_STEPS;
+            g.fillArc(3 + i * 5, tileSize - 6 + offset, 5, 6, 0, 180);
+        }
+
+        g.setComposite(AlphaComposite.SrcOver);
+
+        // 目
+        if (variant != FRIGHTENED_FACE) {
+            renderEyes(g, DIRECTIONS[variant]);
+        } else {
+            // 怯えモードの目
+            g.setColor(Color.WHITE);
+            g.fillRect(5, 6, 3, 3);
+            g.fillRect(12, 6, 3, 3);
+        }
+    }
+
+    /**
+     * ゴーストの目（瞳は進む方向へ寄せる）
+     */
+    private void renderEyes(Graphics2D g, Direction direction) {
+        // 白目
+        g.setColor(Color.WHITE);
+        g.fillOval(4, 5, 6, 6);
+        g.fillOval(10, 5, 6, 6);
+
+        // 瞳（白目の中で進む方向の端へ寄せる、向きがない場合は従来の位置）
+        int pupilX = direction.getDx() < 0 ? 4 : direction.getDx() > 0 ? 7 : 6;
+        int pupilY = direction.getDy() < 0 ? 5 : direction.getDy() > 0 ? 8 : 7;
+        g.setColor(Color.BLUE);
+        g.fillOval(pupilX, pupilY, 3, 3);
+        g.fillOval(pupilX + 6, pupilY, 3, 3);
+    }
+
+    private void renderShadow(Graphics2D g) {
+        g.setColor(SHADOW_COLOR);
+        g.fillOval(2, tileSize - 4, tileSize - 4, 6);
+    }
+
+    /**
+     * 色に対応する絵柄の表を取得（初めての色なら追加する）
+     */
+    private ColorSprites spritesFor(Color color) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i].color == color) {
+                return palette[i];
+            }
+        }
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i].color.equals(color)) {
+                return palette[i];
+            }
+        }
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, paletteSize * 2);
+        }
+        ColorSprites sprites = new ColorSprites(color);
+        palette[paletteSize++] = sprites;
+        return sprites;
+    }
+
+    /**
+     * 描画倍率・描画先のデバイスが変わっていればすべて作り直す
+     */
+    private void validate(Graphics2D g) {
+        double currentScale = g.getTransform().getScaleX();
+        GraphicsConfiguration currentConfiguration = g.getDeviceConfiguration();
+        if (sheet == null || currentScale != scale || currentConfiguration != configuration) {
+            invalidate();
+            scale = currentScale;
+            configuration = currentConfiguration;
+            cellPixels = (int) Math.ceil(cellSize * scale);
+            sheet = createSheet(INITIAL_ROWS);
+        }
+    }
+
+    /**
+     * 作成した絵柄をすべて破棄
+     */
+    public void invalidate() {
+        if (sheet != null) {
+            sheet.flush();
+            sheet = null;
+        }
+        if (accelerated != null) {
+            accelerated.flush();
+            accelerated = null;
+        }
+        accelerationAvailable = true;
+        cellCount = 0;
+        clearCells();
+    }
+
+    private void clearCells() {
+        Arrays.fill(pacmanCells, -1);
+        Arrays.fill(deathCells, -1);
+        Arrays.fill(eyeCells, -1);
+        Arrays.fill(fruitCells, -1);
+        Arrays.fill(palette, null);
+        paletteSize = 0;
+    }
+
+    private BufferedImage createSheet(int rows) {
+        int width = COLUMNS * cellPixels;
+        int height = rows * cellPixels;
+        return configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * 空いているマスを確保（シートが一杯なら行数を倍にして描画済みの分を写す）
+     */
+    private int allocateCell() {
+        int rows = sheet.getHeight() / cellPixels;
+        if (cellCount == rows * COLUMNS) {
+            BufferedImage grown = createSheet(rows * 2);
+            Graphics2D g = grown.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(sheet, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+            sheet.flush();
+            sheet = grown;
+            if (accelerated != null) {
+                accelerated.flush();
+                accelerated = null;
+            }
+        }
+        return cellCount++;
+    }
+
+    /**
+     * マスへ描画を始める（タイルの左上を原点とした座標系にする）
+     */
+    private Graphics2D beginCell(int cell) {
+        Graphics2D g = sheet.createGraphics();
+        int cellX = (cell % COLUMNS) * cellPixels;
+        int cellY = (cell / COLUMNS) * cellPixels;
+        g.clipRect(cellX, cellY, cellPixels, cellPixels);
+        g.translate(cellX, cellY);
+        g.scale(scale, scale);
+        g.translate(padding, padding);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g;
+    }
+
+    private void endCell(Graphics2D g) {
+        g.dispose();
+        acceleratedStale = true;
+    }
+
+    /**
+     * マスを描画先へ転送
+     */
+    private void blit(Graphics2D g, int cell, int x, int y) {
+        Image source = transferSource();
+        int sourceX = (cell % COLUMNS) * cellPixels;
+        int sourceY = (cell / COLUMNS) * cellPixels;
+        int left = x - padding;
+        int top = y - padding;
+        g.drawImage(source, left, top, left + cellSize, top + cellSize,
+                sourceX, sourceY, sourceX + cellPixels, sourceY + cellPixels, null);
+    }
+
+    /**
+     * 転送元の画像（VolatileImageを検証し、必要ならシートから写し直す）
+     */
+    private Image transferSource() {
+        if (!accelerationAvailable) {
+            return sheet;
+        }
+        int status = accelerated != null ? accelerated.validate(configuration) : VolatileImage.IMAGE_INCOMPATIBLE;
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (accelerated != null) {
+                accelerated.flush();
+            }
+            accelerated = createAccelerated();
+            if (accelerated == null) {
+                return sheet;
+            }
+            accelerated.validate(configuration);
+            acceleratedStale = true;
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            acceleratedStale = true;
+        }
+        if (acceleratedStale) {
+            Graphics2D g = accelerated.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(sheet, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+            acceleratedStale = false;
+        }
+        if (accelerated.contentsLost()) {
+            acceleratedStale = true;
+            return sheet; // 次のフレームで写し直す
+        }
+        return accelerated;
+    }
+
+    private VolatileImage createAccelerated() {
+        try {
+            if (configuration != null) {
+                return configuration.createCompatibleVolatileImage(sheet.getWidth(), sheet.getHeight(),
+                        Transparency.TRANSLUCENT);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("VolatileImageを作成できないため通常の画像から描画します: " + e.getMessage());
+        }
+        accelerationAvailable = false;
+        return null;
+    }
+
+    /**
+     * 作成した絵柄の数
+     */
+    public int getSpriteCount() {
+        return cellCount;
+    }
+
+    /**
+     * 転送にVolatileImageを使っているか
+     */
+    public boolean isAccelerated() {
+        return accelerationAvailable && accelerated != null;
+    }
+}
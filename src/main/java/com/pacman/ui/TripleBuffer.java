@@ -0,0 +1,72 @@
+package com.pacman.ui;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 1つの書き込みスレッドと1つの読み出しスレッドの間で、最新の値を受け渡すトリプルバッファ
+ * 書き込み側・読み出し側・受け渡し用の3つを入れ替えるだけなので、どちらも相手を待たない
+ *
+ * 書き込み側はgetWriteBufferの中身を書き換えてからpublishし、以後その中身には触れない
+ * 読み出し側はupdateで最新の値を受け取り、次のupdateまでgetReadBufferの中身を読む（書き込み側はこれに触れない）
+ * 読み出しが追いつかない間に公開された古い値は読まれずに上書きされる
+ */
+public final class TripleBuffer<T> {
+    // 受け渡し用のバッファ番号（下位2ビット）と、まだ読まれていない値があるか
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(2);
+
+    // それぞれのスレッド専用のバッファ番号
+    private int writeIndex = 0;
+    private int readIndex = 1;
+
+    /**
+     * コンストラクタ
+     *
+     * @param factory 3つのバッファの生成方法
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = factory.get();
+        }
+    }
+
+    /**
+     * 次に公開する値を書き込むバッファ（書き込みスレッドから呼ぶ）
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    /**
+     * 書き込んだバッファを公開し、受け渡し用だったバッファを次の書き込み先にする（書き込みスレッドから呼ぶ）
+     */
+    public void publish() {
+        writeIndex = middle.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * 公開された新しい値があれば読み出し用のバッファと入れ替える（読み出しスレッドから呼ぶ）
+     *
+     * @return 新しい値を受け取った場合はtrue
+     */
+    public boolean update() {
+        if ((middle.get() & FRESH) == 0) {
+            return false;
+        }
+        readIndex = middle.getAndSet(readIndex) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * 最後にupdateで受け取った値（読み出しスレッドから呼ぶ）
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer() {
+        return (T) buffers[readIndex];
+    }
+}
@@ -23,11 +23,13 @@ public class SettingsDialog extends JDialog {
 
     // ゲーム設定
     private JComboBox<GameSettings.Difficulty> difficultyCombo;
+    private JComboBox<GameSettings.GhostAI> ghostAICombo;
     private JTextField playerNameField;
 
     // 表示設定
     private JCheckBox showFPSCheckBox;
     private JCheckBox particleEffectsCheckBox;
+    private JCheckBox activeRenderingCheckBox;
 
     // コントロール設定
     private JButton upKeyButton;
@@ -214,6 +216,27 @@ public class SettingsDialog extends JDialog {
         difficultyInfo.setBorder(BorderFactory.createTitledBorder("Difficulty Info"));
         panel.add(difficultyInfo, gbc);
 
+        // ゴーストAI
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.gridwidth = 1;
+        panel.add(new JLabel("Ghost AI:"), gbc);
+
+        gbc.gridx = 1;
+        ghostAICombo = new JComboBox<>(GameSettings.GhostAI.values());
+        ghostAICombo.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value,
+                    int index, boolean isSelected, boolean cellHasFocus) {
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value instanceof GameSettings.GhostAI) {
+                    setText(((GameSettings.GhostAI) value).getDisplayName());
+                }
+                return this;
+            }
+        });
+        panel.add(ghostAICombo, gbc);
+
         return panel;
     }
 
@@ -235,6 +258,12 @@ public class SettingsDialog extends JDialog {
         particleEffectsCheckBox.setAlignmentX(Component.LEFT_ALIGNMENT);
         panel.add(particleEffectsCheckBox);
 
+        panel.add(Box.createVerticalStrut(10));
+
+        activeRenderingCheckBox = new JCheckBox("Active Rendering Thread (restart required)");
+        activeRenderingCheckBox.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(activeRenderingCheckBox);
+
         panel.add(Box.createVerticalGlue());
 
         return panel;
@@ -384,10 +413,12 @@ public class SettingsDialog extends JDialog {
         // ゲーム設定
         playerNameField.setText(settings.getPlayerName());
         difficultyCombo.setSelectedItem(settings.getDifficulty());
+        ghostAICombo.setSelectedItem(settings.getGhostAI());
 
         // 表示設定
         showFPSCheckBox.setSelected(settings.isShowFPS());
         particleEffectsCheckBox.setSelected(settings.isParticleEffectsEnabled());
+        activeRenderingCheckBox.setSelected(settings.isActiveRendering());
 
         // コントロール設定
         tempUpKey = settings.getKeyUp();
@@ -415,10 +446,12 @@ public class SettingsDialog extends JDialog {
         // ゲーム設定
         settings.setPlayerName(playerNameField.getText());
         settings.setDifficulty((GameSettings.Difficulty) difficultyCombo.getSelectedItem());
+        settings.setGhostAI((GameSettings.GhostAI) ghostAICombo.getSelectedItem());
 
         // 表示設定
         settings.setShowFPS(showFPSCheckBox.isSelected());
         settings.setParticleEffectsEnabled(particleEffectsCheckBox.isSelected());
+        settings.setActiveRendering(activeRenderingCheckBox.isSelected());
 
         // コントロール設定
         settings.setKeyUp(tempUpKey);
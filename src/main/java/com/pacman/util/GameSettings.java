@@ -20,9 +20,14 @@ public class GameSettings {
     private static final String KEY_DIFFICULTY = "game.difficulty";
     private static final String KEY_LIVES = "game.starting_lives";
     private static final String KEY_GHOST_SPEED = "game.ghost_speed_multiplier";
+    private static final String KEY_GHOST_AI = "game.ghost_ai";
+    private static final String KEY_SWARM_SIZE = "game.swarm_size";
+    private static final String KEY_SWARM_PARALLEL = "game.swarm_parallel";
+    private static final String KEY_MAZE_FILE = "game.maze_file";
     private static final String KEY_SHOW_FPS = "display.show_fps";
     private static final String KEY_FULLSCREEN = "display.fullscreen";
     private static final String KEY_PARTICLE_EFFECTS = "display.particle_effects";
+    private static final String KEY_ACTIVE_RENDERING = "display.active_rendering";
 
     private static final String KEY_PLAYER_NAME = "player.default_name";
     private static final String KEY_KEY_UP = "controls.up";
@@ -60,9 +65,28 @@ public class GameSettings {
         }
     }
 
+    // ゴーストの目標への進み方
+    public enum GhostAI {
+        ARCADE("Arcade"), // 隣接タイルから目標への直線距離で選ぶ（オリジナル準拠）
+        SHORTEST_PATH("Shortest Path"); // 事前計算した最短経路長で選ぶ
+
+        private final String displayName;
+
+        GhostAI(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
     // プロパティオブジェクト
     private Properties properties;
 
+    // ファイルへ永続化するか（スナップショットはメモリ上のみ）
+    private final boolean persistent;
+
     // シングルトンインスタンス
     private static GameSettings instance;
 
@@ -70,10 +94,24 @@ public class GameSettings {
      * プライベートコンストラクタ（シングルトンパターン）
      */
     private GameSettings() {
+        persistent = true;
         properties = new Properties();
         loadSettings();
     }
 
+    /**
+     * スナップショット用コンストラクタ（ファイルの読み書きを行わない）
+     */
+    private GameSettings(Properties source) {
+        persistent = false;
+        properties = new Properties();
+        if (source == null) {
+            setDefaultSettings();
+        } else {
+            properties.putAll(source);
+        }
+    }
+
     /**
      * シングルトンインスタンスの取得
      */
@@ -84,6 +122,21 @@ public class GameSettings {
         return instance;
     }
 
+    /**
+     * デフォルト値のみを持つ、ファイルに依存しない設定を作成
+     */
+    public static GameSettings createDefaults() {
+        return new GameSettings(null);
+    }
+
+    /**
+     * 現在の設定を複製したスナップショットを作成
+     * スナップショットへの変更や保存は元の設定・ファイルに影響しない
+     */
+    public GameSettings snapshot() {
+        return new GameSettings(properties);
+    }
+
     /**
      * 設定ファイルから読み込み
      */
@@ -108,6 +161,10 @@ public class GameSettings {
      * 設定ファイルへ保存
      */
     public void saveSettings() {
+        if (!persistent) {
+            return;
+        }
+
         try (FileOutputStream fos = new FileOutputStream(SETTINGS_FILE)) {
             properties.store(fos, "Pacman Game Settings");
         } catch (IOException e) {
@@ -129,11 +186,16 @@ public class GameSettings {
         properties.setProperty(KEY_DIFFICULTY, Difficulty.NORMAL.name());
         properties.setProperty(KEY_LIVES, "3");
         properties.setProperty(KEY_GHOST_SPEED, "1.0");
+        properties.setProperty(KEY_GHOST_AI, GhostAI.ARCADE.name());
+        properties.setProperty(KEY_SWARM_SIZE, "0");
+        properties.setProperty(KEY_SWARM_PARALLEL, "true");
+        properties.setProperty(KEY_MAZE_FILE, "");
 
         // 表示設定
         properties.setProperty(KEY_SHOW_FPS, "false");
         properties.setProperty(KEY_FULLSCREEN, "false");
         properties.setProperty(KEY_PARTICLE_EFFECTS, "true");
+        properties.setProperty(KEY_ACTIVE_RENDERING, "false");
 
         // プレイヤー設定
         properties.setProperty(KEY_PLAYER_NAME, "PLAYER");
@@ -180,6 +242,37 @@ public class GameSettings {
         return Float.parseFloat(properties.getProperty(KEY_GHOST_SPEED, "1.0"));
     }
 
+    public GhostAI getGhostAI() {
+        String aiStr = properties.getProperty(KEY_GHOST_AI, GhostAI.ARCADE.name());
+        try {
+            return GhostAI.valueOf(aiStr);
+        } catch (IllegalArgumentException e) {
+            return GhostAI.ARCADE;
+        }
+    }
+
+    /**
+     * スウォームモードで追加するゴースト数（0でスウォームモード無効）
+     */
+    public int getSwarmSize() {
+        try {
+            return Math.max(0, Integer.parseInt(properties.getProperty(KEY_SWARM_SIZE, "0")));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public boolean isSwarmParallel() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_SWARM_PARALLEL, "true"));
+    }
+
+    /**
+     * 迷路ファイルのパス（空の場合はオリジナルの迷路）
+     */
+    public String getMazeFile() {
+        return properties.getProperty(KEY_MAZE_FILE, "").trim();
+    }
+
     public boolean isShowFPS() {
         return Boolean.parseBoolean(properties.getProperty(KEY_SHOW_FPS, "false"));
     }
@@ -192,6 +285,13 @@ public class GameSettings {
         return Boolean.parseBoolean(properties.getProperty(KEY_PARTICLE_EFFECTS, "true"));
     }
 
+    /**
+     * 専用の描画スレッドとBufferStrategyで描画するか（変更は次回起動時に反映）
+     */
+    public boolean isActiveRendering() {
+        return Boolean.parseBoolean(properties.getProperty(KEY_ACTIVE_RENDERING, "false"));
+    }
+
     public String getPlayerName() {
         return properties.getProperty(KEY_PLAYER_NAME, "PLAYER");
     }
@@ -237,6 +337,22 @@ public class GameSettings {
         properties.setProperty(KEY_GHOST_SPEED, String.valueOf(difficulty.getSpeedMultiplier()));
     }
 
+    public void setGhostAI(GhostAI ghostAI) {
+        properties.setProperty(KEY_GHOST_AI, ghostAI.name());
+    }
+
+    public void setSwarmSize(int size) {
+        properties.setProperty(KEY_SWARM_SIZE, String.valueOf(Math.max(0, size)));
+    }
+
+    public void setSwarmParallel(boolean parallel) {
+        properties.setProperty(KEY_SWARM_PARALLEL, String.valueOf(parallel));
+    }
+
+    public void setMazeFile(String path) {
+        properties.setProperty(KEY_MAZE_FILE, path);
+    }
+
     public void setShowFPS(boolean show) {
         properties.setProperty(KEY_SHOW_FPS, String.valueOf(show));
     }
@@ -249,6 +365,10 @@ public class GameSettings {
         properties.setProperty(KEY_PARTICLE_EFFECTS, String.valueOf(enabled));
     }
 
+    public void setActiveRendering(boolean active) {
+        properties.setProperty(KEY_ACTIVE_RENDERING, String.valueOf(active));
+    }
+
     public void setPlayerName(String name) {
         properties.setProperty(KEY_PLAYER_NAME, name);
     }
@@ -39,6 +39,9 @@ public class GameStatistics implements Serializable {
     private transient int sessionGhostsEaten;
     private transient LocalDateTime sessionStartTime;
 
+    // ファイルへ永続化するか（シミュレーション用のインスタンスはメモリ上のみ）
+    private transient boolean persistent;
+
     // シングルトンインスタンス
     private static GameStatistics instance;
 
@@ -83,8 +86,20 @@ public class GameStatistics implements Serializable {
      * プライベートコンストラクタ（シングルトンパターン）
      */
     private GameStatistics() {
+        this(true);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param persistent trueの場合は統計ファイルの読み込み・保存を行う
+     */
+    private GameStatistics(boolean persistent) {
+        this.persistent = persistent;
         initializeStatistics();
-        loadStatistics();
+        if (persistent) {
+            loadStatistics();
+        }
     }
 
     /**
@@ -97,6 +112,14 @@ public class GameStatistics implements Serializable {
         return instance;
     }
 
+    /**
+     * ファイルに永続化しない独立したインスタンスを作成
+     * 並列シミュレーションで各ゲームが個別の統計を持つために使用
+     */
+    public static GameStatistics createInMemory() {
+        return new GameStatistics(false);
+    }
+
     /**
      * 統計の初期化
      */
@@ -144,6 +167,10 @@ public class GameStatistics implements Serializable {
      * 統計ファイルへ保存
      */
     public void saveStatistics() {
+        if (!persistent) {
+            return;
+        }
+
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(STATS_FILE))) {
             oos.writeObject(this);
         } catch (IOException e) {
@@ -64,6 +64,9 @@ public class HighScoreManager {
     // ハイスコアリスト
     private List<ScoreEntry> highScores;
 
+    // ファイルへ永続化するか（シミュレーション用のインスタンスはメモリ上のみ）
+    private final boolean persistent;
+
     // シングルトンインスタンス
     private static HighScoreManager instance;
 
@@ -71,8 +74,22 @@ public class HighScoreManager {
      * プライベートコンストラクタ（シングルトンパターン）
      */
     private HighScoreManager() {
+        this(true);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param persistent trueの場合はハイスコアファイルの読み込み・保存を行う
+     */
+    private HighScoreManager(boolean persistent) {
+        this.persistent = persistent;
         highScores = new ArrayList<>();
-        loadHighScores();
+        if (persistent) {
+            loadHighScores();
+        } else {
+            initializeDefaultScores();
+        }
     }
 
     /**
@@ -85,6 +102,13 @@ public class HighScoreManager {
         return instance;
     }
 
+    /**
+     * ファイルに永続化しない独立したインスタンスを作成
+     */
+    public static HighScoreManager createInMemory() {
+        return new HighScoreManager(false);
+    }
+
     /**
      * ハイスコアファイルから読み込み
      */
@@ -109,6 +133,10 @@ public class HighScoreManager {
      * ハイスコアファイルへ保存
      */
     private void saveHighScores() {
+        if (!persistent) {
+            return;
+        }
+
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(HIGH_SCORE_FILE))) {
             oos.writeObject(highScores);
         } catch (IOException e) {